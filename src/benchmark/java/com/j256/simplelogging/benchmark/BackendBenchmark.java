@@ -0,0 +1,124 @@
+package com.j256.simplelogging.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.j256.simplelogging.LogBackendFactory;
+import com.j256.simplelogging.LogBackendType;
+import com.j256.simplelogging.Logger;
+import com.j256.simplelogging.backend.AsyncLogBackend.AsyncLogBackendFactory;
+import com.j256.simplelogging.backend.LocalLogBackend;
+
+/**
+ * Benchmarks for each of the backends that can run in a plain JVM. ANDROID, LAMBDA, and the reflection based LOG4J
+ * need their runtimes so they are not included. Console output is discarded and the local-log is written to a
+ * temporary file so the terminal doesn't dominate the numbers.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * @author graywatson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BackendBenchmark {
+
+	@Param({ "LOCAL", "CONSOLE", "LOGBACK", "LOG4J2", "SLF4J", "COMMONS_LOGGING", "JAVA_UTIL", "NULL", "ASYNC_LOCAL" })
+	public String backend;
+
+	private static final String ASYNC_PREFIX = "ASYNC_";
+
+	private PrintStream origOut;
+	private PrintStream origErr;
+	private File logFile;
+	private AsyncLogBackendFactory asyncFactory;
+	private Logger logger;
+	private String host = "host.example.com";
+	private Integer port = 8080;
+	private Throwable throwable;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		origOut = System.out;
+		origErr = System.err;
+		PrintStream nullStream = new PrintStream(new NullOutputStream());
+		System.setOut(nullStream);
+		System.setErr(nullStream);
+		logFile = File.createTempFile(getClass().getSimpleName(), ".log");
+		LocalLogBackend.openLogFile(logFile.getPath());
+
+		LogBackendFactory factory;
+		if (backend.startsWith(ASYNC_PREFIX)) {
+			asyncFactory =
+					new AsyncLogBackendFactory(LogBackendType.valueOf(backend.substring(ASYNC_PREFIX.length())));
+			factory = asyncFactory;
+		} else {
+			factory = LogBackendType.valueOf(backend);
+		}
+		logger = new Logger(factory.createLogBackend(getClass().getName()));
+		throwable = new Exception("benchmark exception");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (asyncFactory != null) {
+			// write the queued messages and stop the writer thread so they don't leak into the next trial
+			asyncFactory.close();
+			asyncFactory = null;
+		}
+		LocalLogBackend.openLogFile(null);
+		logFile.delete();
+		System.setOut(origOut);
+		System.setErr(origErr);
+	}
+
+	@Benchmark
+	public void enabledTwoArgs() {
+		logger.error("connected to host '{}' port {}", host, port);
+	}
+
+	@Benchmark
+	public void enabledThrowable() {
+		logger.error(throwable, "connected to host '{}' port {}", host, port);
+	}
+
+	@Benchmark
+	public void disabledTwoArgs() {
+		logger.trace("connected to host '{}' port {}", host, port);
+	}
+
+	/**
+	 * Output stream which discards all of the output.
+	 */
+	private static class NullOutputStream extends OutputStream {
+		@Override
+		public void write(int b) {
+			// no-op
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			// no-op
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.j256.simplelogging.benchmark;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogBackend;
+
+/**
+ * Log backend which hands the formatted messages to the JMH blackhole so we measure the cost of the logging facade and
+ * not of any IO.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * @author graywatson
+ */
+public class BlackholeLogBackend implements LogBackend {
+
+	private final Blackhole blackhole;
+	private final Level level;
+
+	public BlackholeLogBackend(Blackhole blackhole, Level level) {
+		this.blackhole = blackhole;
+		this.level = level;
+	}
+
+	@Override
+	public boolean isLevelEnabled(Level level) {
+		return this.level.isEnabled(level);
+	}
+
+	@Override
+	public void log(Level level, String message) {
+		blackhole.consume(message);
+	}
+
+	@Override
+	public void log(Level level, String message, Throwable throwable) {
+		blackhole.consume(message);
+		blackhole.consume(throwable);
+	}
+}
@@ -0,0 +1,90 @@
+package com.j256.simplelogging.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.j256.simplelogging.FluentLogger;
+import com.j256.simplelogging.Level;
+
+/**
+ * Benchmarks for the {@link FluentLogger} method chains with the level enabled and disabled.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * @author graywatson
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FluentLoggerBenchmark {
+
+	private FluentLogger fluentLogger;
+	private String host = "host.example.com";
+	private int port = 8080;
+	private long id = 1234567890L;
+	private double elapsed = 12.5;
+	private Object[] argArray;
+
+	@Setup
+	public void setup(Blackhole blackhole) {
+		// INFO enabled but DEBUG and TRACE disabled
+		fluentLogger = new FluentLogger(new BlackholeLogBackend(blackhole, Level.INFO));
+		argArray = new Object[] { host, port, id, elapsed };
+	}
+
+	@Benchmark
+	public void enabledNoArgs() {
+		fluentLogger.atInfo().msg("connected to host").log();
+	}
+
+	@Benchmark
+	public void enabledObjectArg() {
+		fluentLogger.atInfo().msg("connected to host '{}'").arg(host).log();
+	}
+
+	@Benchmark
+	public void enabledPrimitiveArgs() {
+		fluentLogger.atInfo().msg("connected to host '{}' port {} id {} elapsed {}").arg(host).arg(port).arg(id)
+				.arg(elapsed).log();
+	}
+
+	@Benchmark
+	public void enabledArgsArray() {
+		fluentLogger.atInfo().msg("connected to host '{}' port {} id {} elapsed {}").args(argArray).log();
+	}
+
+	@Benchmark
+	public void enabledAppendMsg() {
+		fluentLogger.atInfo().msg("connected to host '{}'").appendMsg(" port {}").arg(host).arg(port).log();
+	}
+
+	@Benchmark
+	public void enabledArgsOnly() {
+		fluentLogger.atInfo().arg(host).arg(port).log();
+	}
+
+	@Benchmark
+	public void disabledPrimitiveArgs() {
+		fluentLogger.atTrace().msg("connected to host '{}' port {} id {} elapsed {}").arg(host).arg(port).arg(id)
+				.arg(elapsed).log();
+	}
+
+	@Benchmark
+	public void disabledAtLevel() {
+		fluentLogger.atLevel(Level.DEBUG).msg("connected to host '{}'").arg(host).log();
+	}
+}
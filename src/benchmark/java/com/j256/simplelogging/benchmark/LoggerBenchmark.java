@@ -0,0 +1,128 @@
+package com.j256.simplelogging.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.Logger;
+
+/**
+ * Benchmarks for the {@link Logger} overloads with the level enabled and disabled. Messages are sent to a
+ * {@link BlackholeLogBackend} so only the facade and formatting costs are measured.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * @author graywatson
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggerBenchmark {
+
+	private Logger logger;
+	private String arg0 = "host.example.com";
+	private Integer arg1 = 8080;
+	private Long arg2 = 1234567890L;
+	private Boolean arg3 = Boolean.TRUE;
+	private int port = 8080;
+	private Object[] argArray;
+	private Throwable throwable;
+
+	@Setup
+	public void setup(Blackhole blackhole) {
+		// INFO enabled but DEBUG and TRACE disabled
+		logger = new Logger(new BlackholeLogBackend(blackhole, Level.INFO));
+		argArray = new Object[] { arg0, arg1, arg2, arg3 };
+		throwable = new Exception("benchmark exception");
+	}
+
+	@Benchmark
+	public void infoNoArgs() {
+		logger.info("connected to host");
+	}
+
+	@Benchmark
+	public void infoOneArg() {
+		logger.info("connected to host '{}'", arg0);
+	}
+
+	@Benchmark
+	public void infoTwoArgs() {
+		logger.info("connected to host '{}' port {}", arg0, arg1);
+	}
+
+	@Benchmark
+	public void infoThreeArgs() {
+		logger.info("connected to host '{}' port {} id {}", arg0, arg1, arg2);
+	}
+
+	@Benchmark
+	public void infoFourArgs() {
+		logger.info("connected to host '{}' port {} id {} secure {}", arg0, arg1, arg2, arg3);
+	}
+
+	@Benchmark
+	public void infoArray() {
+		logger.info("connected to host '{}' port {} id {} secure {}", argArray);
+	}
+
+	@Benchmark
+	public void infoArgsVarargs() {
+		logger.infoArgs("connected to host '{}' port {} id {} secure {}", arg0, arg1, arg2, arg3);
+	}
+
+	@Benchmark
+	public void infoArrayAsSingleArg() {
+		logger.info("connected with args {}", (Object) argArray);
+	}
+
+	@Benchmark
+	public void infoThrowable() {
+		logger.info(throwable, "connected to host '{}' port {}", arg0, arg1);
+	}
+
+	@Benchmark
+	public void infoPrimitiveArg() {
+		// uses the primitive overload so the int is not boxed
+		logger.info("port {}", port);
+	}
+
+	@Benchmark
+	public void disabledNoArgs() {
+		logger.trace("connected to host");
+	}
+
+	@Benchmark
+	public void disabledFourArgs() {
+		logger.trace("connected to host '{}' port {} id {} secure {}", arg0, arg1, arg2, arg3);
+	}
+
+	@Benchmark
+	public void disabledArgsVarargs() {
+		logger.traceArgs("connected to host '{}' port {} id {} secure {}", arg0, arg1, arg2, arg3);
+	}
+
+	@Benchmark
+	public void disabledPrimitiveArg() {
+		logger.debug("port {}", port);
+	}
+
+	@Benchmark
+	public boolean isLevelEnabled() {
+		return logger.isLevelEnabled(Level.DEBUG);
+	}
+}
@@ -1,6 +1,8 @@
 package com.j256.simplelogging;
 
 import java.lang.reflect.Array;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Base class which does the logging to the backend.
@@ -11,20 +13,43 @@ import java.lang.reflect.Array;
  */
 public abstract class BaseLogger {
 
-	private final static String ARG_STRING = "{}";
-	private final static int ARG_STRING_LENGTH = ARG_STRING.length();
 	protected final static Object UNKNOWN_ARG = new Object();
-	private final static int DEFAULT_FULL_MESSAGE_LENGTH = 128;
 	final static String NO_MESSAGE_MESSAGE = "no log message";
 
+	/*
+	 * Types of the primitive arguments which are passed as the bits of a long so they don't have to be boxed. Bytes,
+	 * shorts, and ints are passed as longs since they are formatted the same.
+	 */
+	final static byte PRIMITIVE_BOOLEAN = 1;
+	final static byte PRIMITIVE_CHAR = 2;
+	final static byte PRIMITIVE_LONG = 3;
+	final static byte PRIMITIVE_FLOAT = 4;
+	final static byte PRIMITIVE_DOUBLE = 5;
+	/** marks an argument array entry whose value is in the parallel primitive arrays */
+	final static Object PRIMITIVE_ARG = new Object();
+
 	/**
 	 * Global log level that overrides any backend configuration about the log level. You can set this to, for example,
 	 * Level.INFO to show all info messages or Level.OFF to disable all log messages. Set it to null to have the log
 	 * backend configuration determine whether to display log messages.
 	 */
-	private static Level globalLevel = LoggerConstants.DEFAULT_GLOBAL_LOG_LEVEL;
+	private static volatile Level globalLevel = LoggerConstants.DEFAULT_GLOBAL_LOG_LEVEL;
+
+	/*
+	 * The cached level state holds the version of the cache in the upper 32 bits and the enabled bit-masks indexed by
+	 * the level ordinals in the lower bits. A logger's state is stale when its version does not match the global
+	 * version which is incremented whenever the levels may have changed.
+	 */
+	private static final int EFFECTIVE_MASK_SHIFT = 8;
+	private static final Level[] LEVELS = Level.values();
+	private static final AtomicInteger levelCacheVersion = new AtomicInteger(1);
+	private static volatile boolean levelCaching;
+	private static Thread levelCacheRefresher;
 
 	private final LogBackend backend;
+	private volatile long levelState;
+	/** counter of the logger name prefix for the {@link LoggingMetrics} or null if the name is not known */
+	private LongAdder metricsPrefixCount;
 
 	public BaseLogger(LogBackend backend) {
 		this.backend = backend;
@@ -44,29 +69,89 @@ public abstract class BaseLogger {
 	 */
 	public static void setGlobalLogLevel(Level level) {
 		BaseLogger.globalLevel = level;
+		refreshLevelCache();
+	}
+
+	/**
+	 * Set to true to have each logger cache which levels are enabled so level checks don't call the backend. This is
+	 * useful with backends where the level check is expensive. The caches are refreshed when the global level or the
+	 * backend factory changes but changes to the backend's own level configuration are only seen after calling
+	 * {@link #refreshLevelCache()} or periodically if {@link #setLevelCacheRefreshMillis(long)} is set.
+	 */
+	public static void setLevelCaching(boolean levelCaching) {
+		BaseLogger.levelCaching = levelCaching;
+		refreshLevelCache();
+	}
+
+	/**
+	 * Return true if the loggers are caching which levels are enabled.
+	 */
+	public static boolean isLevelCaching() {
+		return levelCaching;
+	}
+
+	/**
+	 * Mark the cached levels of all loggers as stale so they are recalculated from the global level and the backends.
+	 * This should be called after the backend's level configuration is changed.
+	 */
+	public static void refreshLevelCache() {
+		levelCacheVersion.incrementAndGet();
+	}
+
+	/**
+	 * Start a background daemon thread that calls {@link #refreshLevelCache()} every number of milliseconds so that
+	 * changes to the backend's level configuration are picked up. Set to 0 to stop the thread.
+	 */
+	public static synchronized void setLevelCacheRefreshMillis(final long refreshMillis) {
+		if (levelCacheRefresher != null) {
+			levelCacheRefresher.interrupt();
+			levelCacheRefresher = null;
+		}
+		if (refreshMillis <= 0) {
+			return;
+		}
+		levelCacheRefresher = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (true) {
+					try {
+						Thread.sleep(refreshMillis);
+					} catch (InterruptedException ie) {
+						// we have been stopped
+						return;
+					}
+					refreshLevelCache();
+				}
+			}
+		}, "SimpleLoggingLevelCacheRefresher");
+		levelCacheRefresher.setDaemon(true);
+		levelCacheRefresher.start();
 	}
 
 	/**
 	 * Return true if logging level is enabled else false.
 	 */
 	public boolean isLevelEnabled(Level level) {
-		return backend.isLevelEnabled(level);
+		if (levelCaching) {
+			return (cachedLevelState() & (1 << level.ordinal())) != 0;
+		} else {
+			return backend.isLevelEnabled(level);
+		}
 	}
 
 	/**
 	 * Return the count of the number of arg strings in the message.
 	 */
 	protected int countArgStrings(String msg) {
-		int count = 0;
-		int index = 0;
-		while (true) {
-			int found = msg.indexOf(ARG_STRING, index);
-			if (found < 0) {
-				return count;
-			}
-			count++;
-			index = found + ARG_STRING_LENGTH;
-		}
+		return MessageTemplate.fromMessage(msg).getArgCount();
+	}
+
+	/**
+	 * Set the name of the logger which is used by the {@link LoggingMetrics}. This must be called before the logger is
+	 * shared with other threads.
+	 */
+	void setMetricsName(String name) {
+		this.metricsPrefixCount = LoggingMetrics.prefixCounter(name);
 	}
 
 	/**
@@ -81,91 +166,306 @@ public abstract class BaseLogger {
 	 */
 	protected void logIfEnabled(Level level, Throwable throwable, String msg, Object arg0, Object arg1, Object arg2,
 			Object arg3, Object[] argArray, int argArrayLength) {
-		if (globalLevel != null && !globalLevel.isEnabled(level)) {
+		if (isLogEnabled(level)) {
+			doLog(level, throwable, msg, arg0, arg1, arg2, arg3, argArray, argArrayLength, null, null, null);
+		}
+	}
+
+	/**
+	 * Log-if-enabled method with a single primitive argument encoded as the bits of a long.
+	 */
+	protected void logIfEnabled(Level level, Throwable throwable, String msg, byte primitiveType,
+			long primitiveBits) {
+		if (!isLogEnabled(level)) {
+			return;
+		}
+		long startNanos = LoggingMetrics.startTimer();
+		doLogPrimitive(level, throwable, msg, primitiveType, primitiveBits);
+		LoggingMetrics.recordMessage(level, metricsPrefixCount, startNanos);
+	}
+
+	/**
+	 * Log msg, throwable, and a single primitive argument. If-enabled checks should have been done by this point.
+	 */
+	private void doLogPrimitive(Level level, Throwable throwable, String msg, byte primitiveType,
+			long primitiveBits) {
+		if (msg != null && backend instanceof TemplateLogBackend) {
+			Object[] args = new Object[] { boxPrimitive(primitiveType, primitiveBits) };
+			long backendNanos = LoggingMetrics.startTimer();
+			((TemplateLogBackend) backend).logTemplate(level, throwable, msg, args, 1);
+			LoggingMetrics.recordBackendCall(backendNanos);
+			return;
+		}
+		String fullMsg;
+		StringBuilder sb;
+		if (msg == null) {
+			// if msg is null then just spit out the argument
+			sb = StringBuilderPool.acquire();
+			sb.append('\'');
+			appendPrimitive(sb, primitiveType, primitiveBits);
+			sb.append('\'');
+			fullMsg = StringBuilderPool.toStringAndRelease(sb);
+		} else {
+			MessageTemplate template = MessageTemplate.fromMessage(msg);
+			int templateArgCount = template.getArgCount();
+			if (templateArgCount == 0) {
+				fullMsg = msg;
+			} else {
+				sb = StringBuilderPool.acquire();
+				template.appendSegment(sb, 0);
+				appendPrimitive(sb, primitiveType, primitiveBits);
+				// we have too many {} so we just ignore the rest of them
+				for (int argCount = 1; argCount <= templateArgCount; argCount++) {
+					template.appendSegment(sb, argCount);
+				}
+				fullMsg = StringBuilderPool.toStringAndRelease(sb);
+			}
+		}
+		logToBackend(level, fullMsg, throwable);
+	}
+
+	/**
+	 * Append the primitive argument that was encoded as the bits of a long.
+	 */
+	static void appendPrimitive(StringBuilder sb, byte primitiveType, long primitiveBits) {
+		switch (primitiveType) {
+			case PRIMITIVE_BOOLEAN:
+				sb.append(primitiveBits != 0);
+				break;
+			case PRIMITIVE_CHAR:
+				sb.append((char) primitiveBits);
+				break;
+			case PRIMITIVE_FLOAT:
+				sb.append(Float.intBitsToFloat((int) primitiveBits));
+				break;
+			case PRIMITIVE_DOUBLE:
+				sb.append(Double.longBitsToDouble(primitiveBits));
+				break;
+			case PRIMITIVE_LONG:
+			default:
+				sb.append(primitiveBits);
+				break;
+		}
+	}
+
+	/**
+	 * Return the boxed version of the primitive argument that was encoded as the bits of a long.
+	 */
+	static Object boxPrimitive(byte primitiveType, long primitiveBits) {
+		switch (primitiveType) {
+			case PRIMITIVE_BOOLEAN:
+				return (primitiveBits != 0);
+			case PRIMITIVE_CHAR:
+				return (char) primitiveBits;
+			case PRIMITIVE_FLOAT:
+				return Float.intBitsToFloat((int) primitiveBits);
+			case PRIMITIVE_DOUBLE:
+				return Double.longBitsToDouble(primitiveBits);
+			case PRIMITIVE_LONG:
+			default:
+				return primitiveBits;
+		}
+	}
+
+	/**
+	 * Return true if a message at the level should be logged based on the global level and the backend.
+	 */
+	private boolean isLogEnabled(Level level) {
+		if (levelCaching) {
+			return ((cachedLevelState() & (1 << (level.ordinal() + EFFECTIVE_MASK_SHIFT))) != 0);
+		} else if (globalLevel != null && !globalLevel.isEnabled(level)) {
 			// don't log the message if the global-level is set and not enabled
-		} else if (backend != null && backend.isLevelEnabled(level)) {
-			doLog(level, throwable, msg, arg0, arg1, arg2, arg3, argArray, argArrayLength);
+			return false;
+		} else {
+			return (backend != null && backend.isLevelEnabled(level));
+		}
+	}
+
+	/**
+	 * Return the cached level state, recalculating it if it is stale.
+	 */
+	private long cachedLevelState() {
+		long state = levelState;
+		int version = levelCacheVersion.get();
+		if ((int) (state >>> 32) != version) {
+			/*
+			 * We read the version before the levels so if it changes while we are calculating, the state we save is
+			 * already stale and will be recalculated on the next call.
+			 */
+			Level global = globalLevel;
+			long masks = 0;
+			for (Level level : LEVELS) {
+				if (backend != null && backend.isLevelEnabled(level)) {
+					masks |= 1 << level.ordinal();
+					if (global == null || global.isEnabled(level)) {
+						masks |= 1 << (level.ordinal() + EFFECTIVE_MASK_SHIFT);
+					}
+				}
+			}
+			state = ((long) version << 32) | masks;
+			levelState = state;
 		}
+		return state;
 	}
 
 	/**
 	 * Log msg, throwable, and args. If-enabled checks should have been done by this point.
 	 */
 	protected void doLog(Level level, Throwable throwable, String msg, Object[] argArray, int argArrayLength) {
-		doLog(level, throwable, msg, UNKNOWN_ARG, UNKNOWN_ARG, UNKNOWN_ARG, UNKNOWN_ARG, argArray, argArrayLength);
+		doLog(level, throwable, msg, UNKNOWN_ARG, UNKNOWN_ARG, UNKNOWN_ARG, UNKNOWN_ARG, argArray, argArrayLength, null,
+				null, null);
+	}
+
+	/**
+	 * Log msg, throwable, args, and optional fields where the array entries that are {@link #PRIMITIVE_ARG} have their
+	 * values in the parallel primitive arrays. If-enabled checks should have been done by this point.
+	 */
+	void doLog(Level level, Throwable throwable, String msg, Object[] argArray, int argArrayLength,
+			byte[] primitiveTypes, long[] primitiveBits, LogFields fields) {
+		doLog(level, throwable, msg, UNKNOWN_ARG, UNKNOWN_ARG, UNKNOWN_ARG, UNKNOWN_ARG, argArray, argArrayLength,
+				primitiveTypes, primitiveBits, fields);
 	}
 
 	/**
 	 * Main log method with all argument combinations. If-enabled checks should have been done by this point.
 	 */
 	private void doLog(Level level, Throwable throwable, String msg, Object arg0, Object arg1, Object arg2, Object arg3,
-			Object[] argArray, int argArrayLength) {
+			Object[] argArray, int argArrayLength, byte[] primitiveTypes, long[] primitiveBits, LogFields fields) {
+		long startNanos = LoggingMetrics.startTimer();
+		formatAndLog(level, throwable, msg, arg0, arg1, arg2, arg3, argArray, argArrayLength, primitiveTypes,
+				primitiveBits, fields);
+		LoggingMetrics.recordMessage(level, metricsPrefixCount, startNanos);
+	}
+
+	/**
+	 * Format the message and pass it to the backend.
+	 */
+	private void formatAndLog(Level level, Throwable throwable, String msg, Object arg0, Object arg1, Object arg2,
+			Object arg3, Object[] argArray, int argArrayLength, byte[] primitiveTypes, long[] primitiveBits,
+			LogFields fields) {
+		if (msg != null && (fields == null || fields.size() == 0) && backend instanceof TemplateLogBackend) {
+			// the backend does the {} expansion itself
+			logTemplate(level, throwable, msg, arg0, arg1, arg2, arg3, argArray, argArrayLength, primitiveTypes,
+					primitiveBits);
+			return;
+		}
 		String fullMsg;
 		if (arg0 == UNKNOWN_ARG && argArray == null) {
 			// this will just output the message without parsing any {}
 			fullMsg = msg;
 		} else if (msg == null) {
 			// if msg is null then just spit out the arguments
-			fullMsg = buildArgsMessage(arg0, arg1, arg2, arg3, argArray, argArrayLength);
+			fullMsg = buildArgsMessage(arg0, arg1, arg2, arg3, argArray, argArrayLength, primitiveTypes, primitiveBits);
 		} else {
 			// do the whole {} expansion thing
-			fullMsg = buildFullMessage(msg, arg0, arg1, arg2, arg3, argArray, argArrayLength);
+			fullMsg = buildFullMessage(msg, arg0, arg1, arg2, arg3, argArray, argArrayLength, primitiveTypes,
+					primitiveBits);
 		}
 		if (fullMsg == null) {
 			fullMsg = NO_MESSAGE_MESSAGE;
 		}
+		if (fields != null && fields.size() > 0) {
+			if (backend instanceof StructuredLogBackend) {
+				// the backend gets the fields directly without them being rendered
+				long backendNanos = LoggingMetrics.startTimer();
+				((StructuredLogBackend) backend).log(level, fullMsg, throwable, fields);
+				LoggingMetrics.recordBackendCall(backendNanos);
+				return;
+			}
+			StringBuilder sb = StringBuilderPool.acquire();
+			sb.append(fullMsg);
+			fields.appendTo(sb);
+			fullMsg = StringBuilderPool.toStringAndRelease(sb);
+		}
+		logToBackend(level, fullMsg, throwable);
+	}
+
+	/**
+	 * Pass the formatted message to the backend.
+	 */
+	private void logToBackend(Level level, String fullMsg, Throwable throwable) {
+		long backendNanos = LoggingMetrics.startTimer();
 		if (throwable == null) {
 			backend.log(level, fullMsg);
 		} else {
 			backend.log(level, fullMsg, throwable);
 		}
+		LoggingMetrics.recordBackendCall(backendNanos);
 	}
 
 	/**
-	 * Return a combined single message from the msg (with possible {}) and optional arguments.
+	 * Pass the message template and its arguments to a {@link TemplateLogBackend}.
 	 */
-	private String buildFullMessage(String msg, Object arg0, Object arg1, Object arg2, Object arg3, Object[] argArray,
-			int argArrayLength) {
-		StringBuilder sb = null;
-		int lastIndex = 0;
-		int argCount = 0;
-		while (true) {
-			int argIndex = msg.indexOf(ARG_STRING, lastIndex);
-			// no more {} arguments?
-			if (argIndex == -1) {
-				break;
-			}
-			if (sb == null) {
-				// we build this lazily in case there is no {} in the msg
-				sb = new StringBuilder(DEFAULT_FULL_MESSAGE_LENGTH);
+	private void logTemplate(Level level, Throwable throwable, String msg, Object arg0, Object arg1, Object arg2,
+			Object arg3, Object[] argArray, int argArrayLength, byte[] primitiveTypes, long[] primitiveBits) {
+		Object[] args;
+		int argCount;
+		if (argArray == null) {
+			if (arg0 == UNKNOWN_ARG) {
+				args = null;
+				argCount = 0;
+			} else if (arg1 == UNKNOWN_ARG) {
+				args = new Object[] { arg0 };
+				argCount = 1;
+			} else if (arg2 == UNKNOWN_ARG) {
+				args = new Object[] { arg0, arg1 };
+				argCount = 2;
+			} else if (arg3 == UNKNOWN_ARG) {
+				args = new Object[] { arg0, arg1, arg2 };
+				argCount = 3;
+			} else {
+				args = new Object[] { arg0, arg1, arg2, arg3 };
+				argCount = 4;
 			}
-			// add the string before the arg-string
-			if (lastIndex < argIndex) {
-				sb.append(msg, lastIndex, argIndex);
+		} else if (primitiveTypes == null) {
+			args = argArray;
+			argCount = argArrayLength;
+		} else {
+			// the primitive arguments have to be boxed for the backend
+			args = new Object[argArrayLength];
+			for (int i = 0; i < argArrayLength; i++) {
+				if (argArray[i] == PRIMITIVE_ARG) {
+					args[i] = boxPrimitive(primitiveTypes[i], primitiveBits[i]);
+				} else {
+					args[i] = argArray[i];
+				}
 			}
-			// shift our last-index past the arg-string
-			lastIndex = argIndex + ARG_STRING_LENGTH;
-			// add the argument, if we still have any
-			appendArg(sb, argCount++, arg0, arg1, arg2, arg3, argArray, argArrayLength);
+			argCount = argArrayLength;
 		}
-		if (sb == null) {
-			// if we have yet to create a StringBuilder then just return the msg which has no {}
+		long backendNanos = LoggingMetrics.startTimer();
+		((TemplateLogBackend) backend).logTemplate(level, throwable, msg, args, argCount);
+		LoggingMetrics.recordBackendCall(backendNanos);
+	}
+
+	/**
+	 * Return a combined single message from the msg (with possible {}) and optional arguments.
+	 */
+	private String buildFullMessage(String msg, Object arg0, Object arg1, Object arg2, Object arg3, Object[] argArray,
+			int argArrayLength, byte[] primitiveTypes, long[] primitiveBits) {
+		MessageTemplate template = MessageTemplate.fromMessage(msg);
+		int templateArgCount = template.getArgCount();
+		if (templateArgCount == 0) {
+			// no {} in the msg so we just return it
 			return msg;
-		} else {
-			// spit out the end of the msg
-			if (lastIndex < msg.length()) {
-				sb.append(msg, lastIndex, msg.length());
-			}
-			return sb.toString();
 		}
+		StringBuilder sb = StringBuilderPool.acquire();
+		for (int argCount = 0; argCount < templateArgCount; argCount++) {
+			// add the string before the arg-string
+			template.appendSegment(sb, argCount);
+			// add the argument, if we still have any
+			appendArg(sb, argCount, arg0, arg1, arg2, arg3, argArray, argArrayLength, primitiveTypes, primitiveBits);
+		}
+		// spit out the end of the msg
+		template.appendSegment(sb, templateArgCount);
+		return StringBuilderPool.toStringAndRelease(sb);
 	}
 
 	/**
 	 * Build a message just from the arguments like: 'arg0', 'arg1', ...
 	 */
 	private String buildArgsMessage(Object arg0, Object arg1, Object arg2, Object arg3, Object[] argArray,
-			int argArrayLength) {
-		StringBuilder sb = new StringBuilder(DEFAULT_FULL_MESSAGE_LENGTH);
+			int argArrayLength, byte[] primitiveTypes, long[] primitiveBits) {
+		StringBuilder sb = StringBuilderPool.acquire();
 		boolean first = true;
 		int argCount = 0;
 		sb.append('\'');
@@ -175,25 +475,27 @@ public abstract class BaseLogger {
 			} else {
 				sb.append("', '");
 			}
-			if (!appendArg(sb, argCount, arg0, arg1, arg2, arg3, argArray, argArrayLength)) {
+			if (!appendArg(sb, argCount, arg0, arg1, arg2, arg3, argArray, argArrayLength, primitiveTypes,
+					primitiveBits)) {
 				break;
 			}
 			argCount++;
 		}
 		if (argCount == 0) {
 			// might not get here but let's be careful out there
+			StringBuilderPool.release(sb);
 			return null;
 		}
 		// take off the ", '" at the end of the last arg because we can't tell ahead of time how many args there are
 		sb.setLength(sb.length() - 3);
-		return sb.toString();
+		return StringBuilderPool.toStringAndRelease(sb);
 	}
 
 	/**
 	 * Append an argument from the individual arguments or the array.
 	 */
 	private boolean appendArg(StringBuilder sb, int argCount, Object arg0, Object arg1, Object arg2, Object arg3,
-			Object[] argArray, int argArrayLength) {
+			Object[] argArray, int argArrayLength, byte[] primitiveTypes, long[] primitiveBits) {
 		if (argArray == null) {
 			switch (argCount) {
 				case 0:
@@ -208,18 +510,21 @@ public abstract class BaseLogger {
 					// we have too many {} so we just ignore them
 					return false;
 			}
-		} else if (argCount < argArrayLength) {
-			return appendArg(sb, argArray[argCount]);
-		} else {
+		} else if (argCount >= argArrayLength) {
 			// we have too many {} so we just ignore them
 			return false;
+		} else if (argArray[argCount] == PRIMITIVE_ARG) {
+			appendPrimitive(sb, primitiveTypes[argCount], primitiveBits[argCount]);
+			return true;
+		} else {
+			return appendArg(sb, argArray[argCount]);
 		}
 	}
 
 	/**
 	 * Append a particular argument object returning false if we are out of arguments.
 	 */
-	private boolean appendArg(StringBuilder sb, Object arg) {
+	static boolean appendArg(StringBuilder sb, Object arg) {
 		if (arg == UNKNOWN_ARG) {
 			// ignore it
 			return false;
@@ -1,5 +1,7 @@
 package com.j256.simplelogging;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Context for our fluent logger calls that is returned by a call to {@link FluentLogger#atLevel(Level)}. The
  * {@link #msg(String)} method should be called once to set the message format for the log output. To end the chain and
@@ -102,6 +104,72 @@ public interface FluentContext {
 	 */
 	public FluentContext args(Object[] args);
 
+	/**
+	 * Add a structured field with a long value to the log message. Backends that implement
+	 * {@link StructuredLogBackend} receive the fields as a typed {@link LogFields} list and other backends have them
+	 * appended to the message as {@code " key=value"}.
+	 * 
+	 * <pre>
+	 * fluentLogger.atInfo().msg("request done").field("status", 200).field("millis", 12.5).log();
+	 * // this outputs: request done status=200 millis=12.5
+	 * </pre>
+	 */
+	public FluentContext field(String key, long value);
+
+	/**
+	 * Add a structured field with a double value to the log message. See {@link #field(String, long)}.
+	 */
+	public FluentContext field(String key, double value);
+
+	/**
+	 * Add a structured field with a boolean value to the log message. See {@link #field(String, long)}.
+	 */
+	public FluentContext field(String key, boolean value);
+
+	/**
+	 * Add a structured field with an object value to the log message. The object is rendered like the arguments to the
+	 * message. See {@link #field(String, long)}.
+	 */
+	public FluentContext field(String key, Object value);
+
+	/**
+	 * Only log the first and then every Nth call from this call site which is identified by the logger and the message
+	 * string. If this is called before the message is set then the limit is checked when the message is set and the
+	 * arguments and fields of suppressed calls are ignored. Calls that are suppressed are not formatted and don't reach
+	 * the backend. If this is combined with {@link #atMostEvery(long, TimeUnit)} then both limits must allow the call.
+	 * Values less than 2 are ignored.
+	 * 
+	 * <pre>
+	 * fluentLogger.atWarn().every(1000).msg("queue is full, dropping {}").arg(item).log();
+	 * </pre>
+	 * 
+	 * <b>NOTE:</b> the counts are kept per thread stripe so that threads don't contend which means that multiple
+	 * threads may each log their first call. Call sites in the same logger with equal messages share their limits. Use
+	 * {@link #rateLimit(RateLimit)} to give a call site its own limits.
+	 */
+	public FluentContext every(int count);
+
+	/**
+	 * Log at most one call from this call site, which is identified by the logger and the message string, in the time
+	 * period. Calls that are suppressed are not formatted and don't reach the backend. See {@link #every(int)}.
+	 * 
+	 * <pre>
+	 * fluentLogger.atWarn().atMostEvery(10, TimeUnit.SECONDS).msg("connection to {} failed").arg(host).log();
+	 * </pre>
+	 */
+	public FluentContext atMostEvery(long duration, TimeUnit unit);
+
+	/**
+	 * Check the limits of the call site right away and ignore the rest of the calls on the context if the call is
+	 * suppressed. This should be called before the message and the arguments so a suppressed call does as little work
+	 * as possible. The rate limit is typically stored in a static final field. See {@link RateLimit}.
+	 * 
+	 * <pre>
+	 * fluentLogger.atWarn().rateLimit(QUEUE_FULL_LIMIT).msg("queue is full, dropping {}").arg(item).log();
+	 * </pre>
+	 */
+	public FluentContext rateLimit(RateLimit rateLimit);
+
 	/**
 	 * Log the message to output if the level is enabled. Must be at the end of the method call chain.
 	 */
@@ -1,10 +1,18 @@
 package com.j256.simplelogging;
 
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Fluent-context implementation that records the message, throwable, and/or associated arguments and calls through to
  * {@link BaseLogger} to write out the message when the {@link #log()} method is called.
+ *
+ * <p>
+ * If the context is recyclable then it is cleared and returned to the {@link FluentLogger} pool when {@link #log()} is
+ * called. Calls on the context are ignored while it is in the pool or in use by another thread, but reuse is not
+ * detected once the same thread gets it back from the pool with its next atLevel() call. Holding onto a recyclable
+ * context after log() will then change that thread's next log statement.
+ * </p>
  * 
  * From SimpleLogging: https://github.com/j256/simplelogging
  *
@@ -13,35 +21,84 @@ import java.util.Arrays;
 public class FluentContextImpl implements FluentContext {
 
 	private final static int DEFAULT_NUM_ARGS = 4;
+	/** recycled contexts drop args arrays that grew larger than this */
+	private final static int MAX_RECYCLED_NUM_ARGS = 32;
 	final static String JUST_THROWABLE_MESSAGE = "throwable";
 
-	private final FluentLogger logger;
-	private final Level level;
+	private final boolean recyclable;
+	private FluentLogger logger;
+	private Level level;
+	/** thread that is using the recyclable context or null if it is in the pool */
+	private Thread owner;
 	private String msg;
 	/** message builder only used if {@link #appendMsg(String)} is called */
 	private StringBuilder msgBuilder;
 	private Throwable throwable;
 	private Object[] args;
+	/** whether or not we allocated the args array as opposed to it being passed into {@link #args(Object[])} */
+	private boolean argsOwned;
 	private int argCount;
+	/**
+	 * Types and values of the primitive arguments which are stored here instead of being boxed. They are parallel to
+	 * the args array whose entries are {@link BaseLogger#PRIMITIVE_ARG} for the primitive arguments.
+	 */
+	private byte[] primitiveTypes;
+	private long[] primitiveBits;
+	/** structured fields which are allocated when the first is added and are passed to the backend without copying */
+	private LogFields fields;
+	/** first message string which identifies the call site for rate limiting */
+	private String callSiteMsg;
+	private int everyCount;
+	private long intervalNanos;
+	/** set when the rate limits suppress the call so the rest of the calls on the context are ignored */
+	private boolean suppressed;
 
 	public FluentContextImpl(FluentLogger logger, Level level) {
 		this.logger = logger;
 		this.level = level;
+		this.recyclable = false;
+	}
+
+	/**
+	 * Constructor for a recyclable context that will be started by {@link #start(FluentLogger, Level)}.
+	 */
+	FluentContextImpl() {
+		this.recyclable = true;
+	}
+
+	/**
+	 * Start using a recyclable context from the calling thread.
+	 */
+	void start(FluentLogger logger, Level level) {
+		this.logger = logger;
+		this.level = level;
+		this.owner = Thread.currentThread();
 	}
 
 	@Override
 	public FluentContext msg(String msg) {
+		if (isIgnored()) {
+			return this;
+		}
 		if (this.msg != null || this.msgBuilder != null || msg == null) {
 			// only the first call is honored in case we want to set max arguments
 			return this;
 		}
 		this.msg = msg;
+		this.callSiteMsg = msg;
+		if (everyCount > 1 || intervalNanos > 0) {
+			checkRateLimits(everyCount, intervalNanos);
+			if (suppressed) {
+				return this;
+			}
+		}
 
 		// get the number of {} arguments to initialize our arguments array
 		int count = logger.countArgStrings(msg);
 		if (count > 0) {
 			if (args == null) {
 				args = new Object[count];
+				argsOwned = true;
 			} else {
 				// NOTE: no point in shrinking it if count < args.length
 				maybeGrowArgs(count, count);
@@ -52,15 +109,24 @@ public class FluentContextImpl implements FluentContext {
 
 	@Override
 	public FluentContext appendMsg(String msgSuffix) {
-		if (msgSuffix == null) {
+		if (msgSuffix == null || isIgnored()) {
 			// no-op
 		} else if (this.msgBuilder != null) {
 			this.msgBuilder.append(msgSuffix);
 		} else if (this.msg == null) {
 			// effectively the same as msg(String)
 			this.msg = msgSuffix;
+			this.callSiteMsg = msgSuffix;
+			if (everyCount > 1 || intervalNanos > 0) {
+				checkRateLimits(everyCount, intervalNanos);
+			}
 		} else {
-			this.msgBuilder = new StringBuilder(this.msg);
+			if (recyclable) {
+				this.msgBuilder = StringBuilderPool.acquire();
+				this.msgBuilder.append(this.msg);
+			} else {
+				this.msgBuilder = new StringBuilder(this.msg);
+			}
 			this.msg = null;
 			this.msgBuilder.append(msgSuffix);
 		}
@@ -69,7 +135,7 @@ public class FluentContextImpl implements FluentContext {
 
 	@Override
 	public FluentContext throwable(Throwable throwable) {
-		if (this.throwable == null) {
+		if (this.throwable == null && !isIgnored()) {
 			this.throwable = throwable;
 		}
 		return this;
@@ -83,60 +149,124 @@ public class FluentContextImpl implements FluentContext {
 
 	@Override
 	public FluentContext arg(boolean arg) {
-		addArg(arg);
+		addPrimitiveArg(BaseLogger.PRIMITIVE_BOOLEAN, (arg ? 1 : 0));
 		return this;
 	}
 
 	@Override
 	public FluentContext arg(byte arg) {
-		addArg(arg);
+		addPrimitiveArg(BaseLogger.PRIMITIVE_LONG, arg);
 		return this;
 	}
 
 	@Override
 	public FluentContext arg(char arg) {
-		addArg(arg);
+		addPrimitiveArg(BaseLogger.PRIMITIVE_CHAR, arg);
 		return this;
 	}
 
 	@Override
 	public FluentContext arg(short arg) {
-		addArg(arg);
+		addPrimitiveArg(BaseLogger.PRIMITIVE_LONG, arg);
 		return this;
 	}
 
 	@Override
 	public FluentContext arg(int arg) {
-		addArg(arg);
+		addPrimitiveArg(BaseLogger.PRIMITIVE_LONG, arg);
 		return this;
 	}
 
 	@Override
 	public FluentContext arg(long arg) {
-		addArg(arg);
+		addPrimitiveArg(BaseLogger.PRIMITIVE_LONG, arg);
 		return this;
 	}
 
 	@Override
 	public FluentContext arg(float arg) {
-		addArg(arg);
+		addPrimitiveArg(BaseLogger.PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg));
 		return this;
 	}
 
 	@Override
 	public FluentContext arg(double arg) {
-		addArg(arg);
+		addPrimitiveArg(BaseLogger.PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg));
+		return this;
+	}
+
+	@Override
+	public FluentContext field(String key, long value) {
+		if (key != null && !isIgnored()) {
+			getFields().addPrimitive(key, LogFields.FieldType.LONG, value);
+		}
+		return this;
+	}
+
+	@Override
+	public FluentContext field(String key, double value) {
+		if (key != null && !isIgnored()) {
+			getFields().addPrimitive(key, LogFields.FieldType.DOUBLE, Double.doubleToRawLongBits(value));
+		}
+		return this;
+	}
+
+	@Override
+	public FluentContext field(String key, boolean value) {
+		if (key != null && !isIgnored()) {
+			getFields().addPrimitive(key, LogFields.FieldType.BOOLEAN, (value ? 1 : 0));
+		}
+		return this;
+	}
+
+	@Override
+	public FluentContext field(String key, Object value) {
+		if (key != null && !isIgnored()) {
+			getFields().addObject(key, value);
+		}
+		return this;
+	}
+
+	@Override
+	public FluentContext every(int count) {
+		if (!isIgnored()) {
+			this.everyCount = count;
+			if (callSiteMsg != null) {
+				// the message has already been set so we can check it now
+				checkRateLimits(count, 0);
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public FluentContext atMostEvery(long duration, TimeUnit unit) {
+		if (!isIgnored()) {
+			this.intervalNanos = unit.toNanos(duration);
+			if (callSiteMsg != null) {
+				checkRateLimits(0, intervalNanos);
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public FluentContext rateLimit(RateLimit rateLimit) {
+		if (rateLimit != null && !isIgnored() && !rateLimit.shouldLog()) {
+			suppressed = true;
+		}
 		return this;
 	}
 
 	@Override
 	public FluentContext args(Object[] addArgs) {
-		if (addArgs == null) {
+		if (addArgs == null || isIgnored()) {
 			return this;
 		}
 		if (this.args == null) {
 			// NOTE: this will reuse the args argument but only until the log() call or until another arg is added
 			args = addArgs;
+			argsOwned = false;
 			argCount = addArgs.length;
 		} else {
 			// extend the array if necessary
@@ -151,34 +281,130 @@ public class FluentContextImpl implements FluentContext {
 
 	@Override
 	public void log() {
+		if (isDetached()) {
+			return;
+		}
+		if (!suppressed && callSiteMsg == null && (everyCount > 1 || intervalNanos > 0)) {
+			// no message so the limits weren't checked yet
+			checkRateLimits(everyCount, intervalNanos);
+		}
+		if (!recyclable) {
+			if (!suppressed) {
+				doLog();
+			}
+			// chances are we are done with the object after this
+			return;
+		}
+		try {
+			if (!suppressed) {
+				doLog();
+			}
+		} finally {
+			recycle();
+		}
+	}
+
+	private void doLog() {
 		String msgToPrint;
 		if (msgBuilder == null) {
 			msgToPrint = msg;
 		} else {
 			msgToPrint = msgBuilder.toString();
 		}
+		LogFields logFields = null;
+		if (fields != null && fields.size() > 0) {
+			logFields = fields;
+		}
 		if (msgToPrint == null) {
 			// if we have no message but we do have arguments then build a message like: '{}', '{}', ...
 			if (argCount > 0) {
-				logger.doLog(level, throwable, null, args, argCount);
-			} else if (throwable == null) {
-				// ignore log line if no message, args, or throwable
-			} else {
+				logger.doLog(level, throwable, null, args, argCount, primitiveTypes, primitiveBits, logFields);
+			} else if (throwable != null) {
 				// just log a throwable with a minimal message
-				logger.doLog(level, throwable, JUST_THROWABLE_MESSAGE, null, 0);
+				logger.doLog(level, throwable, JUST_THROWABLE_MESSAGE, null, 0, null, null, logFields);
+			} else if (logFields != null) {
+				// just log the fields with the no-message message
+				logger.doLog(level, null, null, null, 0, null, null, logFields);
+			} else {
+				// ignore log line if no message, args, throwable, or fields
 			}
 		} else if (argCount == 0) {
 			// no arguments
-			logger.doLog(level, throwable, msgToPrint, null, 0);
+			logger.doLog(level, throwable, msgToPrint, null, 0, null, null, logFields);
 		} else {
-			logger.doLog(level, throwable, msgToPrint, args, argCount);
+			logger.doLog(level, throwable, msgToPrint, args, argCount, primitiveTypes, primitiveBits, logFields);
+		}
+	}
+
+	/**
+	 * Check the rate limits of the call site and mark the context as suppressed if they don't allow the call.
+	 */
+	private void checkRateLimits(int everyCount, long intervalNanos) {
+		if (!RateLimiter.shouldLog(logger, callSiteMsg, everyCount, intervalNanos)) {
+			suppressed = true;
 		}
-		// chances are we are done with the object after this
+	}
+
+	/**
+	 * Returns true if the calls on the context should be ignored because it is detached or the call was suppressed by
+	 * the rate limits.
+	 */
+	private boolean isIgnored() {
+		return (suppressed || isDetached());
+	}
+
+	/**
+	 * Returns true if this is a recyclable context that is in the pool or is being used by another thread. This can't
+	 * tell a stale reference from the current one if the calling thread has gotten the context back from the pool.
+	 */
+	private boolean isDetached() {
+		return (recyclable && owner != Thread.currentThread());
+	}
+
+	/**
+	 * Clear the context and return it to the pool.
+	 */
+	private void recycle() {
+		if (args != null) {
+			if (argsOwned && args.length <= MAX_RECYCLED_NUM_ARGS) {
+				// clear the references so we don't hold onto the caller's objects
+				Arrays.fill(args, 0, argCount, null);
+			} else {
+				// don't hold onto the caller's array or a very large one
+				args = null;
+			}
+		}
+		if (primitiveTypes != null && primitiveTypes.length > MAX_RECYCLED_NUM_ARGS) {
+			primitiveTypes = null;
+			primitiveBits = null;
+		}
+		if (fields != null && !fields.clear(MAX_RECYCLED_NUM_ARGS)) {
+			fields = null;
+		}
+		if (msgBuilder != null) {
+			StringBuilderPool.release(msgBuilder);
+			msgBuilder = null;
+		}
+		argCount = 0;
+		msg = null;
+		callSiteMsg = null;
+		everyCount = 0;
+		intervalNanos = 0;
+		suppressed = false;
+		throwable = null;
+		logger = null;
+		level = null;
+		owner = null;
+		FluentLogger.releaseContext(this);
 	}
 
 	private void addArg(Object arg) {
+		if (isIgnored()) {
+			return;
+		}
 		if (args == null) {
 			args = new Object[DEFAULT_NUM_ARGS];
+			argsOwned = true;
 		} else {
 			// whenever we grow the array we double it
 			maybeGrowArgs(argCount + 1, args.length * 2);
@@ -186,12 +412,41 @@ public class FluentContextImpl implements FluentContext {
 		args[argCount++] = arg;
 	}
 
+	/**
+	 * Add a primitive argument which is stored in the primitive arrays so it doesn't have to be boxed.
+	 */
+	private void addPrimitiveArg(byte type, long bits) {
+		if (isIgnored()) {
+			return;
+		}
+		addArg(BaseLogger.PRIMITIVE_ARG);
+		if (primitiveTypes == null || primitiveTypes.length < args.length) {
+			if (primitiveTypes == null) {
+				primitiveTypes = new byte[args.length];
+				primitiveBits = new long[args.length];
+			} else {
+				primitiveTypes = Arrays.copyOf(primitiveTypes, args.length);
+				primitiveBits = Arrays.copyOf(primitiveBits, args.length);
+			}
+		}
+		primitiveTypes[argCount - 1] = type;
+		primitiveBits[argCount - 1] = bits;
+	}
+
+	private LogFields getFields() {
+		if (fields == null) {
+			fields = new LogFields();
+		}
+		return fields;
+	}
+
 	/**
 	 * Maybe grow our args array if the new-length is more than the args.length.
 	 */
 	private void maybeGrowArgs(int neededLength, int growToLength) {
 		if (neededLength > args.length) {
 			args = Arrays.copyOf(args, growToLength);
+			argsOwned = true;
 		}
 	}
 }
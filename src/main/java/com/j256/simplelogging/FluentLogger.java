@@ -1,5 +1,7 @@
 package com.j256.simplelogging;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * "Fluent" logger which uses method chaining to support the logging calls. This causes no additional objects to be
  * generated if the logging level is not enabled -- even when logging primitives. You get a fluent-logger by calling
@@ -17,25 +19,59 @@ package com.j256.simplelogging;
  *   .log();
  * </pre>
  * 
+ * <p>
+ * If context recycling is turned on with {@link #setContextRecycling(boolean)} or the {@code fluent.recycle.contexts}
+ * property then the contexts are taken from a pool and returned to it when {@link FluentContext#log()} is called so
+ * enabled log calls don't allocate them either. In this mode a context must not be used after log() is called
+ * because the same object is returned by a later atLevel() call and the stale reference would change that statement.
+ * </p>
+ * 
  * From SimpleLogging: https://github.com/j256/simplelogging
  *
  * @author graywatson
  */
 public class FluentLogger extends BaseLogger {
 
+	private static final ObjectPool<FluentContextImpl> contextPool =
+			ObjectPool.perProcessor(LoggerConstants.FLUENT_CONTEXT_POOL_SIZE_PER_PROCESSOR);
+	private static volatile boolean contextRecycling;
+
 	public FluentLogger(LogBackend backend) {
 		super(backend);
 	}
 
+	/**
+	 * Set whether or not the fluent contexts are recycled after {@link FluentContext#log()} is called. When this is on
+	 * a context must not be held onto after the log() call. This is not detected if the same thread has gotten the
+	 * context back from the pool.
+	 */
+	public static void setContextRecycling(boolean contextRecycling) {
+		FluentLogger.contextRecycling = contextRecycling;
+	}
+
+	/**
+	 * Return whether or not the fluent contexts are being recycled.
+	 */
+	public static boolean isContextRecycling() {
+		return contextRecycling;
+	}
+
 	/**
 	 * Start of the chaining that sets the log level of the message. If this level is not enabled then the method
 	 * returns a mute context singleton and all calls to it are no-ops.
 	 */
 	public FluentContext atLevel(Level level) {
-		if (isLevelEnabled(level)) {
-			return new FluentContextImpl(this, level);
-		} else {
+		if (!isLevelEnabled(level)) {
 			return MuteContext.SINGLETON;
+		} else if (contextRecycling) {
+			FluentContextImpl context = contextPool.acquire();
+			if (context == null) {
+				context = new FluentContextImpl();
+			}
+			context.start(this, level);
+			return context;
+		} else {
+			return new FluentContextImpl(this, level);
 		}
 	}
 
@@ -87,6 +123,13 @@ public class FluentLogger extends BaseLogger {
 		return atLevel(Level.FATAL);
 	}
 
+	/**
+	 * Return a recyclable context to the pool after it has been cleared.
+	 */
+	static void releaseContext(FluentContextImpl context) {
+		contextPool.release(context);
+	}
+
 	/**
 	 * Context that doesn't do anything. This is returned when the log level is not enabled.
 	 */
@@ -160,6 +203,41 @@ public class FluentLogger extends BaseLogger {
 			return this;
 		}
 
+		@Override
+		public FluentContext every(int count) {
+			return this;
+		}
+
+		@Override
+		public FluentContext atMostEvery(long duration, TimeUnit unit) {
+			return this;
+		}
+
+		@Override
+		public FluentContext rateLimit(RateLimit rateLimit) {
+			return this;
+		}
+
+		@Override
+		public FluentContext field(String key, long value) {
+			return this;
+		}
+
+		@Override
+		public FluentContext field(String key, double value) {
+			return this;
+		}
+
+		@Override
+		public FluentContext field(String key, boolean value) {
+			return this;
+		}
+
+		@Override
+		public FluentContext field(String key, Object value) {
+			return this;
+		}
+
 		@Override
 		public void log() {
 			// no-op
@@ -60,6 +60,21 @@ public enum LogBackendType implements LogBackendFactory {
 	 * Simple log backend that writes out to System.out or System.err.
 	 */
 	CONSOLE(new ConsoleLogBackendFactory()),
+	/**
+	 * Log backend that appends to a memory-mapped file without locks or system calls per line. This is never chosen
+	 * automatically because it is below LOCAL.
+	 */
+	MAPPED_FILE("MappedFileLogBackend$MappedFileLogBackendFactory"),
+	/**
+	 * Log backend that writes each message as a JSON object on its own line. This is never chosen automatically
+	 * because it is below LOCAL.
+	 */
+	JSON_LINES("JsonLinesLogBackend$JsonLinesLogBackendFactory"),
+	/**
+	 * Log backend that writes a compact binary file which is turned into text by the BinaryLogDecoder. This is never
+	 * chosen automatically because it is below LOCAL.
+	 */
+	BINARY("BinaryLogBackend$BinaryLogBackendFactory"),
 	/**
 	 * Internal JVM logging implementation almost always available. We put this below the LOCAL log because it's always
 	 * available but we don't want to auto-detect it. See:
@@ -0,0 +1,221 @@
+package com.j256.simplelogging;
+
+import java.util.Arrays;
+
+/**
+ * Typed list of the structured key/value fields that were added to a log message with the
+ * {@link FluentContext#field(String, long)} and related methods. The primitive values are stored in a long array so
+ * they are not boxed. This is passed to backends that implement {@link StructuredLogBackend} and is rendered as
+ * {@code key=value} pairs after the message for other backends.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * <b>NOTE:</b> the fields passed to a backend are owned by the logging call and are cleared and reused after the
+ * backend returns. A backend that needs the fields later, such as from another thread, must call {@link #copy()}.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class LogFields {
+
+	private final static int DEFAULT_NUM_FIELDS = 4;
+
+	private String[] keys;
+	private FieldType[] types;
+	private long[] primitiveBits;
+	/** only allocated if there are object fields */
+	private Object[] objects;
+	private int size;
+
+	LogFields() {
+		this(DEFAULT_NUM_FIELDS);
+	}
+
+	private LogFields(int length) {
+		this.keys = new String[length];
+		this.types = new FieldType[length];
+		this.primitiveBits = new long[length];
+	}
+
+	/**
+	 * Return the number of fields.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Return the key of the field at the index.
+	 */
+	public String getKey(int index) {
+		checkIndex(index);
+		return keys[index];
+	}
+
+	/**
+	 * Return the type of the field at the index which determines which of the value methods should be called.
+	 */
+	public FieldType getType(int index) {
+		checkIndex(index);
+		return types[index];
+	}
+
+	/**
+	 * Return the value of a {@link FieldType#LONG} field.
+	 */
+	public long getLong(int index) {
+		checkIndex(index);
+		return primitiveBits[index];
+	}
+
+	/**
+	 * Return the value of a {@link FieldType#DOUBLE} field.
+	 */
+	public double getDouble(int index) {
+		checkIndex(index);
+		return Double.longBitsToDouble(primitiveBits[index]);
+	}
+
+	/**
+	 * Return the value of a {@link FieldType#BOOLEAN} field.
+	 */
+	public boolean getBoolean(int index) {
+		checkIndex(index);
+		return (primitiveBits[index] != 0);
+	}
+
+	/**
+	 * Return the value of a {@link FieldType#OBJECT} field which may be null.
+	 */
+	public Object getObject(int index) {
+		checkIndex(index);
+		if (objects == null) {
+			return null;
+		} else {
+			return objects[index];
+		}
+	}
+
+	/**
+	 * Return a copy of the fields that can be held onto after the logging call returns.
+	 */
+	public LogFields copy() {
+		LogFields copy = new LogFields(Math.max(size, 1));
+		System.arraycopy(keys, 0, copy.keys, 0, size);
+		System.arraycopy(types, 0, copy.types, 0, size);
+		System.arraycopy(primitiveBits, 0, copy.primitiveBits, 0, size);
+		if (objects != null) {
+			copy.objects = Arrays.copyOf(objects, copy.keys.length);
+		}
+		copy.size = size;
+		return copy;
+	}
+
+	/**
+	 * Append the fields to the buffer as {@code " key1=value1 key2=value2"}.
+	 */
+	public void appendTo(StringBuilder sb) {
+		for (int i = 0; i < size; i++) {
+			sb.append(' ').append(keys[i]).append('=');
+			appendValue(sb, i);
+		}
+	}
+
+	/**
+	 * Append the value of the field at the index to the buffer. Object values are rendered like the message arguments.
+	 */
+	public void appendValue(StringBuilder sb, int index) {
+		checkIndex(index);
+		switch (types[index]) {
+			case LONG:
+				sb.append(primitiveBits[index]);
+				break;
+			case DOUBLE:
+				sb.append(Double.longBitsToDouble(primitiveBits[index]));
+				break;
+			case BOOLEAN:
+				sb.append(primitiveBits[index] != 0);
+				break;
+			case OBJECT:
+			default:
+				BaseLogger.appendArg(sb, objects[index]);
+				break;
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = StringBuilderPool.acquire();
+		appendTo(sb);
+		if (sb.length() > 0) {
+			// remove the leading space
+			sb.deleteCharAt(0);
+		}
+		return StringBuilderPool.toStringAndRelease(sb);
+	}
+
+	void addPrimitive(String key, FieldType type, long bits) {
+		int index = addKey(key, type);
+		primitiveBits[index] = bits;
+	}
+
+	void addObject(String key, Object value) {
+		int index = addKey(key, FieldType.OBJECT);
+		if (objects == null) {
+			objects = new Object[keys.length];
+		}
+		objects[index] = value;
+	}
+
+	/**
+	 * Clear the fields so they can be reused. Returns false if the arrays are larger than the max-length and should be
+	 * dropped instead.
+	 */
+	boolean clear(int maxLength) {
+		if (objects != null) {
+			// don't hold onto the caller's objects
+			Arrays.fill(objects, 0, size, null);
+		}
+		Arrays.fill(keys, 0, size, null);
+		size = 0;
+		return (keys.length <= maxLength);
+	}
+
+	private int addKey(String key, FieldType type) {
+		if (size >= keys.length) {
+			int length = keys.length * 2;
+			keys = Arrays.copyOf(keys, length);
+			types = Arrays.copyOf(types, length);
+			primitiveBits = Arrays.copyOf(primitiveBits, length);
+			if (objects != null) {
+				objects = Arrays.copyOf(objects, length);
+			}
+		}
+		keys[size] = key;
+		types[size] = type;
+		return size++;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Field index " + index + " is not less than the size " + size);
+		}
+	}
+
+	/**
+	 * Type of a field's value.
+	 */
+	public static enum FieldType {
+		/** integral value returned by {@link LogFields#getLong(int)} */
+		LONG,
+		/** floating point value returned by {@link LogFields#getDouble(int)} */
+		DOUBLE,
+		/** value returned by {@link LogFields#getBoolean(int)} */
+		BOOLEAN,
+		/** value returned by {@link LogFields#getObject(int)} */
+		OBJECT,
+		// end
+		;
+	}
+}
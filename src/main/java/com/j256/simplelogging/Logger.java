@@ -15,6 +15,12 @@ package com.j256.simplelogging;
  * </p>
  * 
  * <p>
+ * <b>NOTE:</b> There are also (msg, arg0) methods for boolean, char, long, float, and double arguments so a single
+ * primitive argument is not boxed into an object. Bytes, shorts, and ints use the long methods. To avoid the widening
+ * changing how a char or float is formatted, there are no primitive methods with more than one argument.
+ * </p>
+ * 
+ * <p>
  * <b>NOTE:</b> When you are using the argArray methods or the traceArgs() pattern, you should consider wrapping the
  * call in an {@code if} testing the [@link {@link #isLevelEnabled(Level)}} so the {@code Object[]} won't be created
  * unnecessarily. For example:
@@ -136,6 +142,76 @@ public class Logger extends BaseLogger {
 				argArray.length);
 	}
 
+	/**
+	 * Log a trace message with a boolean argument without boxing it.
+	 */
+	public void trace(String msg, boolean arg0) {
+		logIfEnabled(Level.TRACE, null, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log a trace message with a char argument without boxing it.
+	 */
+	public void trace(String msg, char arg0) {
+		logIfEnabled(Level.TRACE, null, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log a trace message with a long argument without boxing it.
+	 */
+	public void trace(String msg, long arg0) {
+		logIfEnabled(Level.TRACE, null, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log a trace message with a float argument without boxing it.
+	 */
+	public void trace(String msg, float arg0) {
+		logIfEnabled(Level.TRACE, null, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log a trace message with a double argument without boxing it.
+	 */
+	public void trace(String msg, double arg0) {
+		logIfEnabled(Level.TRACE, null, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
+
+	/**
+	 * Log a trace message with a throwable and a boolean argument without boxing it.
+	 */
+	public void trace(Throwable throwable, String msg, boolean arg0) {
+		logIfEnabled(Level.TRACE, throwable, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log a trace message with a throwable and a char argument without boxing it.
+	 */
+	public void trace(Throwable throwable, String msg, char arg0) {
+		logIfEnabled(Level.TRACE, throwable, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log a trace message with a throwable and a long argument without boxing it.
+	 */
+	public void trace(Throwable throwable, String msg, long arg0) {
+		logIfEnabled(Level.TRACE, throwable, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log a trace message with a throwable and a float argument without boxing it.
+	 */
+	public void trace(Throwable throwable, String msg, float arg0) {
+		logIfEnabled(Level.TRACE, throwable, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log a trace message with a throwable and a double argument without boxing it.
+	 */
+	public void trace(Throwable throwable, String msg, double arg0) {
+		logIfEnabled(Level.TRACE, throwable, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
+
 	/**
 	 * Log a debug message.
 	 */
@@ -238,6 +314,76 @@ public class Logger extends BaseLogger {
 				argArray.length);
 	}
 
+	/**
+	 * Log a debug message with a boolean argument without boxing it.
+	 */
+	public void debug(String msg, boolean arg0) {
+		logIfEnabled(Level.DEBUG, null, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log a debug message with a char argument without boxing it.
+	 */
+	public void debug(String msg, char arg0) {
+		logIfEnabled(Level.DEBUG, null, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log a debug message with a long argument without boxing it.
+	 */
+	public void debug(String msg, long arg0) {
+		logIfEnabled(Level.DEBUG, null, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log a debug message with a float argument without boxing it.
+	 */
+	public void debug(String msg, float arg0) {
+		logIfEnabled(Level.DEBUG, null, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log a debug message with a double argument without boxing it.
+	 */
+	public void debug(String msg, double arg0) {
+		logIfEnabled(Level.DEBUG, null, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
+
+	/**
+	 * Log a debug message with a throwable and a boolean argument without boxing it.
+	 */
+	public void debug(Throwable throwable, String msg, boolean arg0) {
+		logIfEnabled(Level.DEBUG, throwable, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log a debug message with a throwable and a char argument without boxing it.
+	 */
+	public void debug(Throwable throwable, String msg, char arg0) {
+		logIfEnabled(Level.DEBUG, throwable, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log a debug message with a throwable and a long argument without boxing it.
+	 */
+	public void debug(Throwable throwable, String msg, long arg0) {
+		logIfEnabled(Level.DEBUG, throwable, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log a debug message with a throwable and a float argument without boxing it.
+	 */
+	public void debug(Throwable throwable, String msg, float arg0) {
+		logIfEnabled(Level.DEBUG, throwable, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log a debug message with a throwable and a double argument without boxing it.
+	 */
+	public void debug(Throwable throwable, String msg, double arg0) {
+		logIfEnabled(Level.DEBUG, throwable, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
+
 	/**
 	 * Log a info message.
 	 */
@@ -340,6 +486,76 @@ public class Logger extends BaseLogger {
 				argArray.length);
 	}
 
+	/**
+	 * Log an info message with a boolean argument without boxing it.
+	 */
+	public void info(String msg, boolean arg0) {
+		logIfEnabled(Level.INFO, null, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log an info message with a char argument without boxing it.
+	 */
+	public void info(String msg, char arg0) {
+		logIfEnabled(Level.INFO, null, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log an info message with a long argument without boxing it.
+	 */
+	public void info(String msg, long arg0) {
+		logIfEnabled(Level.INFO, null, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log an info message with a float argument without boxing it.
+	 */
+	public void info(String msg, float arg0) {
+		logIfEnabled(Level.INFO, null, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log an info message with a double argument without boxing it.
+	 */
+	public void info(String msg, double arg0) {
+		logIfEnabled(Level.INFO, null, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
+
+	/**
+	 * Log an info message with a throwable and a boolean argument without boxing it.
+	 */
+	public void info(Throwable throwable, String msg, boolean arg0) {
+		logIfEnabled(Level.INFO, throwable, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log an info message with a throwable and a char argument without boxing it.
+	 */
+	public void info(Throwable throwable, String msg, char arg0) {
+		logIfEnabled(Level.INFO, throwable, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log an info message with a throwable and a long argument without boxing it.
+	 */
+	public void info(Throwable throwable, String msg, long arg0) {
+		logIfEnabled(Level.INFO, throwable, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log an info message with a throwable and a float argument without boxing it.
+	 */
+	public void info(Throwable throwable, String msg, float arg0) {
+		logIfEnabled(Level.INFO, throwable, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log an info message with a throwable and a double argument without boxing it.
+	 */
+	public void info(Throwable throwable, String msg, double arg0) {
+		logIfEnabled(Level.INFO, throwable, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
+
 	/**
 	 * Log a warning message.
 	 */
@@ -442,6 +658,76 @@ public class Logger extends BaseLogger {
 				argArray.length);
 	}
 
+	/**
+	 * Log a warning message with a boolean argument without boxing it.
+	 */
+	public void warn(String msg, boolean arg0) {
+		logIfEnabled(Level.WARNING, null, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log a warning message with a char argument without boxing it.
+	 */
+	public void warn(String msg, char arg0) {
+		logIfEnabled(Level.WARNING, null, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log a warning message with a long argument without boxing it.
+	 */
+	public void warn(String msg, long arg0) {
+		logIfEnabled(Level.WARNING, null, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log a warning message with a float argument without boxing it.
+	 */
+	public void warn(String msg, float arg0) {
+		logIfEnabled(Level.WARNING, null, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log a warning message with a double argument without boxing it.
+	 */
+	public void warn(String msg, double arg0) {
+		logIfEnabled(Level.WARNING, null, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
+
+	/**
+	 * Log a warning message with a throwable and a boolean argument without boxing it.
+	 */
+	public void warn(Throwable throwable, String msg, boolean arg0) {
+		logIfEnabled(Level.WARNING, throwable, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log a warning message with a throwable and a char argument without boxing it.
+	 */
+	public void warn(Throwable throwable, String msg, char arg0) {
+		logIfEnabled(Level.WARNING, throwable, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log a warning message with a throwable and a long argument without boxing it.
+	 */
+	public void warn(Throwable throwable, String msg, long arg0) {
+		logIfEnabled(Level.WARNING, throwable, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log a warning message with a throwable and a float argument without boxing it.
+	 */
+	public void warn(Throwable throwable, String msg, float arg0) {
+		logIfEnabled(Level.WARNING, throwable, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log a warning message with a throwable and a double argument without boxing it.
+	 */
+	public void warn(Throwable throwable, String msg, double arg0) {
+		logIfEnabled(Level.WARNING, throwable, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
+
 	/**
 	 * Log a error message.
 	 */
@@ -544,6 +830,76 @@ public class Logger extends BaseLogger {
 				argArray.length);
 	}
 
+	/**
+	 * Log an error message with a boolean argument without boxing it.
+	 */
+	public void error(String msg, boolean arg0) {
+		logIfEnabled(Level.ERROR, null, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log an error message with a char argument without boxing it.
+	 */
+	public void error(String msg, char arg0) {
+		logIfEnabled(Level.ERROR, null, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log an error message with a long argument without boxing it.
+	 */
+	public void error(String msg, long arg0) {
+		logIfEnabled(Level.ERROR, null, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log an error message with a float argument without boxing it.
+	 */
+	public void error(String msg, float arg0) {
+		logIfEnabled(Level.ERROR, null, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log an error message with a double argument without boxing it.
+	 */
+	public void error(String msg, double arg0) {
+		logIfEnabled(Level.ERROR, null, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
+
+	/**
+	 * Log an error message with a throwable and a boolean argument without boxing it.
+	 */
+	public void error(Throwable throwable, String msg, boolean arg0) {
+		logIfEnabled(Level.ERROR, throwable, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log an error message with a throwable and a char argument without boxing it.
+	 */
+	public void error(Throwable throwable, String msg, char arg0) {
+		logIfEnabled(Level.ERROR, throwable, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log an error message with a throwable and a long argument without boxing it.
+	 */
+	public void error(Throwable throwable, String msg, long arg0) {
+		logIfEnabled(Level.ERROR, throwable, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log an error message with a throwable and a float argument without boxing it.
+	 */
+	public void error(Throwable throwable, String msg, float arg0) {
+		logIfEnabled(Level.ERROR, throwable, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log an error message with a throwable and a double argument without boxing it.
+	 */
+	public void error(Throwable throwable, String msg, double arg0) {
+		logIfEnabled(Level.ERROR, throwable, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
+
 	/**
 	 * Log a fatal message.
 	 */
@@ -646,6 +1002,76 @@ public class Logger extends BaseLogger {
 				argArray.length);
 	}
 
+	/**
+	 * Log a fatal message with a boolean argument without boxing it.
+	 */
+	public void fatal(String msg, boolean arg0) {
+		logIfEnabled(Level.FATAL, null, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log a fatal message with a char argument without boxing it.
+	 */
+	public void fatal(String msg, char arg0) {
+		logIfEnabled(Level.FATAL, null, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log a fatal message with a long argument without boxing it.
+	 */
+	public void fatal(String msg, long arg0) {
+		logIfEnabled(Level.FATAL, null, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log a fatal message with a float argument without boxing it.
+	 */
+	public void fatal(String msg, float arg0) {
+		logIfEnabled(Level.FATAL, null, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log a fatal message with a double argument without boxing it.
+	 */
+	public void fatal(String msg, double arg0) {
+		logIfEnabled(Level.FATAL, null, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
+
+	/**
+	 * Log a fatal message with a throwable and a boolean argument without boxing it.
+	 */
+	public void fatal(Throwable throwable, String msg, boolean arg0) {
+		logIfEnabled(Level.FATAL, throwable, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log a fatal message with a throwable and a char argument without boxing it.
+	 */
+	public void fatal(Throwable throwable, String msg, char arg0) {
+		logIfEnabled(Level.FATAL, throwable, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log a fatal message with a throwable and a long argument without boxing it.
+	 */
+	public void fatal(Throwable throwable, String msg, long arg0) {
+		logIfEnabled(Level.FATAL, throwable, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log a fatal message with a throwable and a float argument without boxing it.
+	 */
+	public void fatal(Throwable throwable, String msg, float arg0) {
+		logIfEnabled(Level.FATAL, throwable, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log a fatal message with a throwable and a double argument without boxing it.
+	 */
+	public void fatal(Throwable throwable, String msg, double arg0) {
+		logIfEnabled(Level.FATAL, throwable, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
+
 	/**
 	 * Log a message at the provided level.
 	 */
@@ -745,4 +1171,74 @@ public class Logger extends BaseLogger {
 		logIfEnabled(level, throwable, msg, UNKNOWN_ARG, UNKNOWN_ARG, UNKNOWN_ARG, UNKNOWN_ARG, argArray,
 				argArray.length);
 	}
+
+	/**
+	 * Log a message at the provided level with a boolean argument without boxing it.
+	 */
+	public void log(Level level, String msg, boolean arg0) {
+		logIfEnabled(level, null, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log a message at the provided level with a char argument without boxing it.
+	 */
+	public void log(Level level, String msg, char arg0) {
+		logIfEnabled(level, null, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log a message at the provided level with a long argument without boxing it.
+	 */
+	public void log(Level level, String msg, long arg0) {
+		logIfEnabled(level, null, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log a message at the provided level with a float argument without boxing it.
+	 */
+	public void log(Level level, String msg, float arg0) {
+		logIfEnabled(level, null, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log a message at the provided level with a double argument without boxing it.
+	 */
+	public void log(Level level, String msg, double arg0) {
+		logIfEnabled(level, null, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
+
+	/**
+	 * Log a message at the provided level with a throwable and a boolean argument without boxing it.
+	 */
+	public void log(Level level, Throwable throwable, String msg, boolean arg0) {
+		logIfEnabled(level, throwable, msg, PRIMITIVE_BOOLEAN, (arg0 ? 1 : 0));
+	}
+
+	/**
+	 * Log a message at the provided level with a throwable and a char argument without boxing it.
+	 */
+	public void log(Level level, Throwable throwable, String msg, char arg0) {
+		logIfEnabled(level, throwable, msg, PRIMITIVE_CHAR, arg0);
+	}
+
+	/**
+	 * Log a message at the provided level with a throwable and a long argument without boxing it.
+	 */
+	public void log(Level level, Throwable throwable, String msg, long arg0) {
+		logIfEnabled(level, throwable, msg, PRIMITIVE_LONG, arg0);
+	}
+
+	/**
+	 * Log a message at the provided level with a throwable and a float argument without boxing it.
+	 */
+	public void log(Level level, Throwable throwable, String msg, float arg0) {
+		logIfEnabled(level, throwable, msg, PRIMITIVE_FLOAT, Float.floatToRawIntBits(arg0));
+	}
+
+	/**
+	 * Log a message at the provided level with a throwable and a double argument without boxing it.
+	 */
+	public void log(Level level, Throwable throwable, String msg, double arg0) {
+		logIfEnabled(level, throwable, msg, PRIMITIVE_DOUBLE, Double.doubleToRawLongBits(arg0));
+	}
 }
@@ -66,6 +66,71 @@ public class LoggerConstants {
 	 */
 	public static final String LOCAL_LOG_FILE_PROPERTY = "com.j256.simplelogging.file";
 
+	/**
+	 * You can set the path of the file used by the {@link LogBackendType#MAPPED_FILE} backend by setting the
+	 * System.setProperty(LoggerConstants.MAPPED_LOG_FILE_PROPERTY, "log.out").
+	 */
+	public static final String MAPPED_LOG_FILE_PROPERTY = "com.j256.simplelogging.mapped.file";
+
+	/**
+	 * You can set the path of the file used by the {@link LogBackendType#JSON_LINES} backend by setting the
+	 * System.setProperty(LoggerConstants.JSON_LOG_FILE_PROPERTY, "log.json"). Otherwise, the output will go to stdout.
+	 */
+	public static final String JSON_LOG_FILE_PROPERTY = "com.j256.simplelogging.json.file";
+
+	/**
+	 * You can set the path of the file used by the {@link LogBackendType#BINARY} backend by setting the
+	 * System.setProperty(LoggerConstants.BINARY_LOG_FILE_PROPERTY, "log.bin").
+	 */
+	public static final String BINARY_LOG_FILE_PROPERTY = "com.j256.simplelogging.binary.file";
+
+	/**
+	 * You can have the levels reloaded from a file-system copy of the properties file when it changes by setting the
+	 * System.setProperty(LoggerConstants.PROPERTIES_WATCH_FILE_PROPERTY, "/etc/app/simplelogging.properties"). See
+	 * {@link PropertiesWatcher}.
+	 */
+	public static final String PROPERTIES_WATCH_FILE_PROPERTY = "com.j256.simplelogging.properties.watch.file";
+
+	/**
+	 * Number of parsed log message templates that are cached so the messages don't have to be scanned for {} arguments
+	 * on each log call. This will be rounded up to a power of 2. Messages that are built dynamically will replace
+	 * each other in the cache so it is bounded.
+	 */
+	public static final int MESSAGE_TEMPLATE_CACHE_SIZE = 1024;
+
+	/**
+	 * Number of call sites whose rate limiting state is kept for {@link FluentContext#every(int)} and
+	 * {@link FluentContext#atMostEvery(long, java.util.concurrent.TimeUnit)}. This will be rounded up to a power of 2.
+	 * Call sites that collide replace each other and start counting again.
+	 */
+	public static final int RATE_LIMIT_CALL_SITES = 1024;
+
+	/**
+	 * Number of rendered stack traces that are cached by the default
+	 * {@link com.j256.simplelogging.backend.StackTraceRenderer} so the same trace logged over and over is only rendered
+	 * once. This will be rounded up to a power of 2. Set to 0 to disable the cache.
+	 */
+	public static final int STACK_TRACE_CACHE_SIZE = 256;
+
+	/**
+	 * Number of formatting buffers held in the {@link StringBuilderPool} for each available processor. The pool is
+	 * shared by all threads so it stays bounded even with large numbers of virtual threads. This is multiplied by the
+	 * processor count in {@link ObjectPool#perProcessor(int)} so it stays a compile-time constant that the backends can
+	 * use while the {@link LogBackendType} enum is being initialized.
+	 */
+	public static final int BUFFER_POOL_SIZE_PER_PROCESSOR = 4;
+
+	/**
+	 * Formatting buffers that have grown larger than this length are not returned to the {@link StringBuilderPool}.
+	 */
+	public static final int MAX_POOLED_BUFFER_LENGTH = 8192;
+
+	/**
+	 * Number of fluent contexts held in the pool for each available processor when
+	 * {@link FluentLogger#setContextRecycling(boolean)} is enabled.
+	 */
+	public static final int FLUENT_CONTEXT_POOL_SIZE_PER_PROCESSOR = 4;
+
 	private LoggerConstants() {
 		// only here for static usage
 	}
@@ -1,7 +1,11 @@
 package com.j256.simplelogging;
 
+import java.io.File;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.j256.simplelogging.backend.AsyncLogBackend.AsyncLogBackendFactory;
+import com.j256.simplelogging.backend.CollapsingLogBackend.CollapsingLogBackendFactory;
 import com.j256.simplelogging.backend.NullLogBackend.NullLogBackendFactory;
 
 /**
@@ -17,10 +21,28 @@ import com.j256.simplelogging.backend.NullLogBackend.NullLogBackendFactory;
  * {@link LoggerFactory#setLogBackendFactory(LogBackendFactory)} if you want to set it to a particular class which can
  * be a custom backend.
  * </p>
+ *
+ * <p>
+ * If the {@code async.enabled} property is set to true in the properties file then the discovered backend factory is
+ * wrapped in an {@link AsyncLogBackendFactory} so the backend IO is done by a background writer thread. If the
+ * {@code collapse.enabled} property is set to true then it is also wrapped in a {@link CollapsingLogBackendFactory} so
+ * consecutive repeats of the same message are summarized instead of logged. If a {@code properties.watch.file} is
+ * configured then a {@link PropertiesWatcher} reloads the levels from it when it changes. If {@code metrics.enabled} is
+ * set to true then the {@link LoggingMetrics} are turned on and registered with JMX.
+ * </p>
+ *
+ * <p>
+ * The loggers are cached by name so multiple calls with the same name return the same {@link Logger} or
+ * {@link FluentLogger} instance. The cache is dropped whenever the backend factory is changed.
+ * </p>
  */
 public class LoggerFactory {
 
-	private static LogBackendFactory logBackendFactory;
+	/** registry of the loggers from the current backend factory or null if the factory has not been discovered */
+	private static volatile LoggerRegistry registry;
+	/** async and collapsing factories that were created by the discovery which we close when they are replaced */
+	private static AsyncLogBackendFactory discoveredAsyncFactory;
+	private static CollapsingLogBackendFactory discoveredCollapsingFactory;
 
 	private LoggerFactory() {
 		// only here for static usage
@@ -28,6 +50,22 @@ public class LoggerFactory {
 
 	static {
 		PropertyUtils.assignGlobalLevelFromProperty(LogBackendType.NULL);
+		if (PropertyUtils.readBooleanProperty(LogBackendType.NULL, PropertyUtils.FLUENT_RECYCLE_CONTEXTS_PROPERTY,
+				false)) {
+			FluentLogger.setContextRecycling(true);
+		}
+		if (PropertyUtils.readBooleanProperty(LogBackendType.NULL, PropertyUtils.LEVEL_CACHE_PROPERTY, false)) {
+			BaseLogger.setLevelCaching(true);
+			BaseLogger.setLevelCacheRefreshMillis(PropertyUtils.readIntProperty(LogBackendType.NULL,
+					PropertyUtils.LEVEL_CACHE_REFRESH_MILLIS_PROPERTY, 0));
+		}
+		if (PropertyUtils.readBooleanProperty(LogBackendType.NULL, PropertyUtils.METRICS_ENABLED_PROPERTY, false)) {
+			LoggingMetrics.setPrefixDepth(PropertyUtils.readIntProperty(LogBackendType.NULL,
+					PropertyUtils.METRICS_PREFIX_DEPTH_PROPERTY, LoggingMetrics.DEFAULT_PREFIX_DEPTH));
+			LoggingMetrics.setEnabled(true);
+			LoggingMetrics.register();
+		}
+		maybeStartPropertiesWatcher();
 		// system property overrides property setting
 		maybeAssignGlobalLogLevelFromProperty();
 	}
@@ -43,10 +81,18 @@ public class LoggerFactory {
 	 * Return a logger associated with a particular class name.
 	 */
 	public static Logger getLogger(String className) {
-		if (logBackendFactory == null) {
-			logBackendFactory = findLogBackendFactory();
+		LoggerRegistry registry = getRegistry();
+		Logger logger = registry.loggers.get(className);
+		if (logger == null) {
+			logger = new Logger(registry.factory.createLogBackend(className));
+			logger.setMetricsName(className);
+			Logger existing = registry.loggers.putIfAbsent(className, logger);
+			if (existing != null) {
+				// another thread beat us to it
+				logger = existing;
+			}
 		}
-		return new Logger(logBackendFactory.createLogBackend(className));
+		return logger;
 	}
 
 	/**
@@ -60,25 +106,62 @@ public class LoggerFactory {
 	 * Return a fluent logger associated with a particular class name.
 	 */
 	public static FluentLogger getFluentLogger(String className) {
-		if (logBackendFactory == null) {
-			logBackendFactory = findLogBackendFactory();
+		LoggerRegistry registry = getRegistry();
+		FluentLogger logger = registry.fluentLoggers.get(className);
+		if (logger == null) {
+			logger = new FluentLogger(registry.factory.createLogBackend(className));
+			logger.setMetricsName(className);
+			FluentLogger existing = registry.fluentLoggers.putIfAbsent(className, logger);
+			if (existing != null) {
+				// another thread beat us to it
+				logger = existing;
+			}
 		}
-		return new FluentLogger(logBackendFactory.createLogBackend(className));
+		return logger;
 	}
 
 	/**
 	 * Get the currently assigned log factory or null if none.
 	 */
 	public static LogBackendFactory getLogBackendFactory() {
-		return LoggerFactory.logBackendFactory;
+		LoggerRegistry registry = LoggerFactory.registry;
+		if (registry == null) {
+			return null;
+		} else {
+			return registry.factory;
+		}
 	}
 
 	/**
 	 * Set the log backend factory to be a specific instance. This allows you to easily redirect log messages to your
-	 * own {@link LogBackendFactory} implementation.
+	 * own {@link LogBackendFactory} implementation. Loggers returned after this call will use the new factory. Set to
+	 * null to have the factory discovered again. If the discovered factory was wrapped in an
+	 * {@link AsyncLogBackendFactory} or a {@link CollapsingLogBackendFactory} then they are closed and the loggers that
+	 * are still using them write directly.
 	 */
-	public static void setLogBackendFactory(LogBackendFactory LogBackendFactory) {
-		LoggerFactory.logBackendFactory = LogBackendFactory;
+	public static void setLogBackendFactory(LogBackendFactory logBackendFactory) {
+		AsyncLogBackendFactory asyncFactory;
+		CollapsingLogBackendFactory collapsingFactory;
+		synchronized (LoggerFactory.class) {
+			if (logBackendFactory == null) {
+				LoggerFactory.registry = null;
+			} else {
+				LoggerFactory.registry = new LoggerRegistry(logBackendFactory);
+			}
+			asyncFactory = discoveredAsyncFactory;
+			discoveredAsyncFactory = null;
+			collapsingFactory = discoveredCollapsingFactory;
+			discoveredCollapsingFactory = null;
+		}
+		// the collapsing factory is closed first since its summaries are logged through the async factory
+		if (collapsingFactory != null) {
+			collapsingFactory.close();
+		}
+		if (asyncFactory != null) {
+			asyncFactory.close();
+		}
+		// the backend configuration may have changed
+		BaseLogger.refreshLevelCache();
 	}
 
 	/**
@@ -90,12 +173,37 @@ public class LoggerFactory {
 	 */
 	public static void setLogBackendType(LogBackendType type) {
 		if (type.isAvailable()) {
-			LoggerFactory.logBackendFactory = type;
+			setLogBackendFactory(type);
 		} else {
 			throw new IllegalArgumentException("Logging backend type " + type + " is not available on the classpath");
 		}
 	}
 
+	/**
+	 * Return the registry of loggers, discovering the backend factory if necessary. The discovery is only done once.
+	 */
+	private static LoggerRegistry getRegistry() {
+		LoggerRegistry registry = LoggerFactory.registry;
+		if (registry == null) {
+			synchronized (LoggerFactory.class) {
+				registry = LoggerFactory.registry;
+				if (registry == null) {
+					LogBackendFactory factory = maybeWrapAsync(findLogBackendFactory());
+					if (factory instanceof AsyncLogBackendFactory) {
+						discoveredAsyncFactory = (AsyncLogBackendFactory) factory;
+					}
+					LogBackendFactory collapsingFactory = maybeWrapCollapsing(factory);
+					if (collapsingFactory instanceof CollapsingLogBackendFactory) {
+						discoveredCollapsingFactory = (CollapsingLogBackendFactory) collapsingFactory;
+					}
+					registry = new LoggerRegistry(collapsingFactory);
+					LoggerFactory.registry = registry;
+				}
+			}
+		}
+		return registry;
+	}
+
 	/**
 	 * Maybe assign the global log level based on the system property. Exposed for testing purposes.
 	 */
@@ -111,6 +219,21 @@ public class LoggerFactory {
 		}
 	}
 
+	/**
+	 * Start watching a file-system copy of the properties if the path is set in the system property or properties file.
+	 */
+	private static void maybeStartPropertiesWatcher() {
+		String path = System.getProperty(LoggerConstants.PROPERTIES_WATCH_FILE_PROPERTY);
+		if (path == null) {
+			path = PropertyUtils.readProperty(LogBackendType.NULL, PropertyUtils.PROPERTIES_WATCH_FILE_PROPERTY);
+		}
+		if (path != null) {
+			int watchMillis = PropertyUtils.readIntProperty(LogBackendType.NULL,
+					PropertyUtils.PROPERTIES_WATCH_MILLIS_PROPERTY, (int) PropertiesWatcher.DEFAULT_WATCH_MILLIS);
+			PropertiesWatcher.start(new File(path), watchMillis);
+		}
+	}
+
 	/**
 	 * Return the most appropriate log backend factory. This should _never_ return null. Exposed for testing.
 	 */
@@ -152,6 +275,36 @@ public class LoggerFactory {
 		return defaultBackendFactory;
 	}
 
+	/**
+	 * Maybe wrap the factory in an async factory if configured in the properties file. Exposed for testing.
+	 */
+	static LogBackendFactory maybeWrapAsync(LogBackendFactory factory) {
+		if (!PropertyUtils.readBooleanProperty(factory, PropertyUtils.ASYNC_ENABLED_PROPERTY, false)) {
+			return factory;
+		}
+		int queueSize = PropertyUtils.readIntProperty(factory, PropertyUtils.ASYNC_QUEUE_SIZE_PROPERTY,
+				AsyncLogBackendFactory.DEFAULT_QUEUE_SIZE);
+		boolean blockWhenFull =
+				PropertyUtils.readBooleanProperty(factory, PropertyUtils.ASYNC_BLOCK_WHEN_FULL_PROPERTY, true);
+		return new AsyncLogBackendFactory(factory, queueSize, blockWhenFull);
+	}
+
+	/**
+	 * Maybe wrap the factory in a collapsing factory if configured in the properties file. This is done outside of the
+	 * async wrapping so the repeats are suppressed before they are queued. Exposed for testing.
+	 */
+	static LogBackendFactory maybeWrapCollapsing(LogBackendFactory factory) {
+		if (!PropertyUtils.readBooleanProperty(factory, PropertyUtils.COLLAPSE_ENABLED_PROPERTY, false)) {
+			return factory;
+		}
+		int maxIntervalMillis = PropertyUtils.readIntProperty(factory,
+				PropertyUtils.COLLAPSE_MAX_INTERVAL_MILLIS_PROPERTY,
+				(int) CollapsingLogBackendFactory.DEFAULT_MAX_INTERVAL_MILLIS);
+		int quietMillis = PropertyUtils.readIntProperty(factory, PropertyUtils.COLLAPSE_QUIET_MILLIS_PROPERTY,
+				(int) CollapsingLogBackendFactory.DEFAULT_QUIET_MILLIS);
+		return new CollapsingLogBackendFactory(factory, maxIntervalMillis, quietMillis);
+	}
+
 	private static LogBackendFactory constructFactoryFromProperty(LogBackendFactory defaultBackendFactory, String label,
 			String value) {
 		if (value == null) {
@@ -217,4 +370,18 @@ public class LoggerFactory {
 		// fall back is always LOCAL
 		return LogBackendType.LOCAL;
 	}
+
+	/**
+	 * Backend factory and the loggers that it has created. This is replaced as a unit when the factory changes so a
+	 * cached logger from a previous factory is never returned.
+	 */
+	private static class LoggerRegistry {
+		final LogBackendFactory factory;
+		final ConcurrentHashMap<String, Logger> loggers = new ConcurrentHashMap<String, Logger>();
+		final ConcurrentHashMap<String, FluentLogger> fluentLoggers = new ConcurrentHashMap<String, FluentLogger>();
+
+		public LoggerRegistry(LogBackendFactory factory) {
+			this.factory = factory;
+		}
+	}
 }
@@ -0,0 +1,311 @@
+package com.j256.simplelogging;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters of the logging throughput and cost which can be read through JMX to see how much CPU the logging is using.
+ * They count the messages per level and per logger name prefix, the bytes written by the built-in backends, the
+ * messages dropped or suppressed, and the nanoseconds spent formatting messages and calling the backends.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * The metrics are off by default and are turned on with {@link #setEnabled(boolean)} or by setting
+ * {@code metrics.enabled = true} in the properties file in which case the {@link LoggerFactory} also registers them
+ * with the platform MBean server under {@link #OBJECT_NAME}. When they are off the logging path only does a volatile
+ * read. The counters are {@link LongAdder}s which are striped across threads so the logging threads don't contend on
+ * them.
+ * </p>
+ *
+ * <p>
+ * The formatting time is the time spent in the logger after the level check minus the time spent in the backend calls
+ * so it includes building the message and any other overhead of the logger. Decorator backends such as the
+ * {@link com.j256.simplelogging.backend.AsyncLogBackend} are included in the backend time. The messages per prefix are
+ * only counted for loggers from the {@link LoggerFactory}.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class LoggingMetrics implements LoggingMetricsMXBean {
+
+	/** name of the MBean that is registered by {@link #register()} */
+	public static final String OBJECT_NAME = "com.j256.simplelogging:type=LoggingMetrics";
+	/** default number of the logger name's parts that make up its prefix */
+	public static final int DEFAULT_PREFIX_DEPTH = 3;
+
+	private static final Level[] LEVELS = Level.values();
+	private static final LoggingMetrics singleton = new LoggingMetrics();
+	private static volatile boolean enabled;
+	private static volatile int prefixDepth = DEFAULT_PREFIX_DEPTH;
+
+	private final LongAdder[] levelCounts = new LongAdder[LEVELS.length];
+	private final ConcurrentHashMap<String, LongAdder> prefixCounts = new ConcurrentHashMap<String, LongAdder>();
+	private final LongAdder bytesWritten = new LongAdder();
+	private final LongAdder droppedCount = new LongAdder();
+	private final LongAdder suppressedCount = new LongAdder();
+	private final LongAdder logNanos = new LongAdder();
+	private final LongAdder backendNanos = new LongAdder();
+
+	private LoggingMetrics() {
+		for (int i = 0; i < levelCounts.length; i++) {
+			levelCounts[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Return the single instance of the metrics.
+	 */
+	public static LoggingMetrics getInstance() {
+		return singleton;
+	}
+
+	/**
+	 * Set to true to have the metrics counted.
+	 */
+	public static void setEnabled(boolean enabled) {
+		LoggingMetrics.enabled = enabled;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set the number of the parts of the logger names, separated by periods, that are used as the prefix for counting
+	 * the messages. This only affects loggers created afterwards.
+	 */
+	public static void setPrefixDepth(int prefixDepth) {
+		LoggingMetrics.prefixDepth = prefixDepth;
+	}
+
+	/**
+	 * Register the metrics with the platform MBean server. Returns false if they could not be registered such as on
+	 * Android where JMX is not available.
+	 */
+	public static boolean register() {
+		try {
+			return JmxRegistration.register(singleton);
+		} catch (SecurityException se) {
+			return false;
+		} catch (LinkageError le) {
+			// no JMX classes on this platform
+			return false;
+		}
+	}
+
+	/**
+	 * Unregister the metrics from the platform MBean server if they were registered.
+	 */
+	public static void unregister() {
+		try {
+			JmxRegistration.unregister();
+		} catch (SecurityException se) {
+			// ignored
+		} catch (LinkageError le) {
+			// ignored
+		}
+	}
+
+	/**
+	 * Count bytes written by a backend.
+	 */
+	public static void recordBytesWritten(long numBytes) {
+		if (enabled) {
+			singleton.bytesWritten.add(numBytes);
+		}
+	}
+
+	/**
+	 * Count a message that was dropped because a queue was full or it could not be written.
+	 */
+	public static void recordDropped() {
+		if (enabled) {
+			singleton.droppedCount.increment();
+		}
+	}
+
+	/**
+	 * Count a message that was suppressed by a rate limit or as a repeat.
+	 */
+	public static void recordSuppressed() {
+		if (enabled) {
+			singleton.suppressedCount.increment();
+		}
+	}
+
+	@Override
+	public long getMessageCount() {
+		long total = 0;
+		for (LongAdder levelCount : levelCounts) {
+			total += levelCount.sum();
+		}
+		return total;
+	}
+
+	@Override
+	public Map<String, Long> getLevelCounts() {
+		Map<String, Long> counts = new LinkedHashMap<String, Long>();
+		for (Level level : LEVELS) {
+			counts.put(level.name(), levelCounts[level.ordinal()].sum());
+		}
+		return counts;
+	}
+
+	@Override
+	public Map<String, Long> getLoggerPrefixCounts() {
+		Map<String, Long> counts = new TreeMap<String, Long>();
+		for (Map.Entry<String, LongAdder> entry : prefixCounts.entrySet()) {
+			counts.put(entry.getKey(), entry.getValue().sum());
+		}
+		return counts;
+	}
+
+	@Override
+	public long getBytesWritten() {
+		return bytesWritten.sum();
+	}
+
+	@Override
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	@Override
+	public long getSuppressedCount() {
+		return suppressedCount.sum();
+	}
+
+	@Override
+	public long getFormattingNanos() {
+		// the sums are read at slightly different times so this might be a bit off
+		return Math.max(0, logNanos.sum() - backendNanos.sum());
+	}
+
+	@Override
+	public long getBackendNanos() {
+		return backendNanos.sum();
+	}
+
+	@Override
+	public void reset() {
+		for (LongAdder levelCount : levelCounts) {
+			levelCount.reset();
+		}
+		// the loggers hold on to their prefix counters so we reset them instead of removing them
+		for (LongAdder prefixCount : prefixCounts.values()) {
+			prefixCount.reset();
+		}
+		bytesWritten.reset();
+		droppedCount.reset();
+		suppressedCount.reset();
+		logNanos.reset();
+		backendNanos.reset();
+	}
+
+	/**
+	 * Return the start time for timing a call or 0 if the metrics are not enabled.
+	 */
+	static long startTimer() {
+		if (enabled) {
+			return System.nanoTime();
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Count a message that was logged and the time spent in the logger if the timer was started.
+	 *
+	 * @param prefixCount
+	 *            Counter of the logger's prefix or null if none.
+	 */
+	static void recordMessage(Level level, LongAdder prefixCount, long startNanos) {
+		if (startNanos == 0) {
+			return;
+		}
+		singleton.logNanos.add(System.nanoTime() - startNanos);
+		singleton.levelCounts[level.ordinal()].increment();
+		if (prefixCount != null) {
+			prefixCount.increment();
+		}
+	}
+
+	/**
+	 * Count the time spent in a backend call if the timer was started.
+	 */
+	static void recordBackendCall(long startNanos) {
+		if (startNanos != 0) {
+			singleton.backendNanos.add(System.nanoTime() - startNanos);
+		}
+	}
+
+	/**
+	 * Return the counter for the prefix of the logger name.
+	 */
+	static LongAdder prefixCounter(String loggerName) {
+		String prefix = prefix(loggerName, prefixDepth);
+		LongAdder counter = singleton.prefixCounts.get(prefix);
+		if (counter == null) {
+			counter = new LongAdder();
+			LongAdder existing = singleton.prefixCounts.putIfAbsent(prefix, counter);
+			if (existing != null) {
+				counter = existing;
+			}
+		}
+		return counter;
+	}
+
+	/**
+	 * Return the first depth parts of the name separated by periods.
+	 */
+	static String prefix(String name, int depth) {
+		int index = -1;
+		for (int i = 0; i < depth; i++) {
+			index = name.indexOf('.', index + 1);
+			if (index < 0) {
+				return name;
+			}
+		}
+		return name.substring(0, index);
+	}
+
+	/**
+	 * Separate class so the JMX classes, which are missing on Android, are only loaded when the metrics are registered.
+	 */
+	private static class JmxRegistration {
+
+		static boolean register(LoggingMetrics metrics) {
+			try {
+				MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+				ObjectName name = new ObjectName(OBJECT_NAME);
+				if (!server.isRegistered(name)) {
+					server.registerMBean(metrics, name);
+				}
+				return true;
+			} catch (JMException jme) {
+				return false;
+			}
+		}
+
+		static void unregister() {
+			try {
+				MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+				ObjectName name = new ObjectName(OBJECT_NAME);
+				if (server.isRegistered(name)) {
+					server.unregisterMBean(name);
+				}
+			} catch (JMException jme) {
+				// ignored
+			}
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.j256.simplelogging;
+
+import java.util.Map;
+
+/**
+ * JMX interface of the {@link LoggingMetrics} which is registered with the platform MBean server under the
+ * {@link LoggingMetrics#OBJECT_NAME} name.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * @author graywatson
+ */
+public interface LoggingMetricsMXBean {
+
+	/**
+	 * Return the number of messages logged.
+	 */
+	public long getMessageCount();
+
+	/**
+	 * Return the number of messages logged for each of the levels by level name.
+	 */
+	public Map<String, Long> getLevelCounts();
+
+	/**
+	 * Return the number of messages logged for each of the logger name prefixes.
+	 */
+	public Map<String, Long> getLoggerPrefixCounts();
+
+	/**
+	 * Return the number of bytes written by the built-in backends that write files and the JSON lines backend. Text
+	 * that is printed to stdout or stderr is not counted.
+	 */
+	public long getBytesWritten();
+
+	/**
+	 * Return the number of messages that were dropped because an async queue was full.
+	 */
+	public long getDroppedCount();
+
+	/**
+	 * Return the number of messages that were suppressed by the rate limits or the collapsing of repeats.
+	 */
+	public long getSuppressedCount();
+
+	/**
+	 * Return the cumulative nanoseconds spent in the loggers formatting the messages.
+	 */
+	public long getFormattingNanos();
+
+	/**
+	 * Return the cumulative nanoseconds spent in the calls to the backends.
+	 */
+	public long getBackendNanos();
+
+	/**
+	 * Reset all of the counters to 0.
+	 */
+	public void reset();
+}
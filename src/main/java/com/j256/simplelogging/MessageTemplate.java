@@ -0,0 +1,168 @@
+package com.j256.simplelogging;
+
+/**
+ * Log message which has been scanned for the offsets of its {} arguments so it doesn't have to be scanned on every log
+ * call. There is always one more segment than arguments although the segments may be empty. A message without any {}
+ * has a single segment which is the whole message.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * The parsed templates are kept in a bounded cache keyed by the identity of the message string since log messages are
+ * typically constants. The cache is direct-mapped: each message string hashes to a single slot and a new message
+ * replaces whatever was in its slot. This means messages which are built dynamically will churn through the cache
+ * but can never grow it. Only the offsets are stored and the segments are appended straight from the message so
+ * parsing a message that misses the cache doesn't allocate any substrings. Messages without any {} are not cached so
+ * they don't push out the templates that are being reused.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class MessageTemplate {
+
+	private final static String ARG_STRING = "{}";
+	private final static int ARG_STRING_LENGTH = ARG_STRING.length();
+	private final static int[] NO_ARG_OFFSETS = new int[0];
+
+	/**
+	 * Racy cache of the parsed templates. This is safe without synchronization since the template fields are final so
+	 * any thread which sees a template reference sees the fully constructed object.
+	 */
+	private final static MessageTemplate[] cache = new MessageTemplate[cacheSize()];
+	private final static int cacheMask = cache.length - 1;
+
+	private final String template;
+	private final int[] argOffsets;
+
+	private MessageTemplate(String template, int[] argOffsets) {
+		this.template = template;
+		this.argOffsets = argOffsets;
+	}
+
+	/**
+	 * Return the parsed template for the message from the cache or parse it and add it to the cache if it has any {}.
+	 */
+	public static MessageTemplate fromMessage(String msg) {
+		int index = slotIndex(msg);
+		MessageTemplate template = cache[index];
+		if (template == null || template.template != msg) {
+			template = parse(msg);
+			if (template.argOffsets.length > 0) {
+				cache[index] = template;
+			}
+		}
+		return template;
+	}
+
+	/**
+	 * Append the argument to the buffer the same way that it is rendered in a logged message. Arrays are displayed as
+	 * {@code [ele1, ele2, ...]} and {@link LogArgumentCreator} arguments are called.
+	 */
+	public static void appendArg(StringBuilder sb, Object arg) {
+		BaseLogger.appendArg(sb, arg);
+	}
+
+	/**
+	 * Parse the message into a template without consulting the cache.
+	 */
+	public static MessageTemplate parse(String msg) {
+		int found = msg.indexOf(ARG_STRING);
+		if (found < 0) {
+			return new MessageTemplate(msg, NO_ARG_OFFSETS);
+		}
+		int count = 0;
+		for (int index = found; index >= 0; index = msg.indexOf(ARG_STRING, index + ARG_STRING_LENGTH)) {
+			count++;
+		}
+		int[] argOffsets = new int[count];
+		for (int i = 0; i < count; i++) {
+			argOffsets[i] = found;
+			found = msg.indexOf(ARG_STRING, found + ARG_STRING_LENGTH);
+		}
+		return new MessageTemplate(msg, argOffsets);
+	}
+
+	/**
+	 * Return the original message string.
+	 */
+	public String getTemplate() {
+		return template;
+	}
+
+	/**
+	 * Return the number of {} arguments in the message.
+	 */
+	public int getArgCount() {
+		return argOffsets.length;
+	}
+
+	/**
+	 * Return the literal segment of the message before the {} argument with the same index. The segment with the index
+	 * equal to the argument count is the end of the message. This allocates a substring so
+	 * {@link #appendSegment(StringBuilder, int)} should be used when formatting.
+	 */
+	public String getSegment(int index) {
+		return template.substring(segmentStart(index), segmentEnd(index));
+	}
+
+	/**
+	 * Append the literal segment of the message with the index to the buffer. See {@link #getSegment(int)}.
+	 */
+	public void appendSegment(StringBuilder sb, int index) {
+		sb.append(template, segmentStart(index), segmentEnd(index));
+	}
+
+	/**
+	 * Return the offset in the message of the {} argument with the index.
+	 */
+	public int getArgOffset(int index) {
+		return argOffsets[index];
+	}
+
+	/**
+	 * Clear the cache of parsed templates. For testing purposes.
+	 */
+	static void clearCache() {
+		for (int i = 0; i < cache.length; i++) {
+			cache[i] = null;
+		}
+	}
+
+	/**
+	 * Return true if the message is currently in the cache. For testing purposes.
+	 */
+	static boolean isCached(String msg) {
+		MessageTemplate template = cache[slotIndex(msg)];
+		return (template != null && template.template == msg);
+	}
+
+	private int segmentStart(int index) {
+		if (index == 0) {
+			return 0;
+		} else {
+			return argOffsets[index - 1] + ARG_STRING_LENGTH;
+		}
+	}
+
+	private int segmentEnd(int index) {
+		if (index == argOffsets.length) {
+			return template.length();
+		} else {
+			return argOffsets[index];
+		}
+	}
+
+	private static int slotIndex(String msg) {
+		int hash = System.identityHashCode(msg);
+		return (hash ^ (hash >>> 16)) & cacheMask;
+	}
+
+	private static int cacheSize() {
+		// round up to a power of 2 so we can mask the hash
+		int size = 1;
+		while (size < LoggerConstants.MESSAGE_TEMPLATE_CACHE_SIZE && size < (1 << 20)) {
+			size <<= 1;
+		}
+		return size;
+	}
+}
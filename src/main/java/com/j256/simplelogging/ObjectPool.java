@@ -0,0 +1,80 @@
+package com.j256.simplelogging;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Small bounded pool of objects that can be recycled. Threads are hashed to a starting slot and probe a couple of
+ * neighboring slots with compare-and-set so there are no locks. Unlike a {@link ThreadLocal}, the pool holds at most
+ * its size in objects regardless of how many threads (including virtual threads) are logging.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * @author graywatson
+ */
+public class ObjectPool<T> {
+
+	/** spread the slots out so neighboring slots are not on the same cache line */
+	private static final int SLOT_SPREAD = 16;
+	private static final int NUM_PROBES = 4;
+
+	private final AtomicReferenceArray<T> slots;
+	private final int mask;
+
+	/**
+	 * @param size
+	 *            Maximum number of objects held in the pool. This is rounded up to a power of 2.
+	 */
+	public ObjectPool(int size) {
+		int numSlots = 1;
+		while (numSlots < size && numSlots < (1 << 16)) {
+			numSlots <<= 1;
+		}
+		this.slots = new AtomicReferenceArray<T>(numSlots * SLOT_SPREAD);
+		this.mask = numSlots - 1;
+	}
+
+	/**
+	 * Create a pool which holds the size times the number of available processors.
+	 */
+	public static <T> ObjectPool<T> perProcessor(int sizePerProcessor) {
+		return new ObjectPool<T>(Runtime.getRuntime().availableProcessors() * sizePerProcessor);
+	}
+
+	/**
+	 * Take an object from the pool or return null if none available.
+	 */
+	public T acquire() {
+		int start = startSlot();
+		for (int i = 0; i < NUM_PROBES; i++) {
+			int index = ((start + i) & mask) * SLOT_SPREAD;
+			T obj = slots.get(index);
+			if (obj != null && slots.compareAndSet(index, obj, null)) {
+				return obj;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return an object to the pool. Returns false if the pool was full and the object was dropped.
+	 */
+	public boolean release(T obj) {
+		int start = startSlot();
+		for (int i = 0; i < NUM_PROBES; i++) {
+			int index = ((start + i) & mask) * SLOT_SPREAD;
+			if (slots.get(index) == null && slots.compareAndSet(index, null, obj)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@SuppressWarnings("deprecation")
+	private int startSlot() {
+		// thread ids are unique so even virtual threads are spread across the slots
+		long id = Thread.currentThread().getId();
+		int hash = (int) (id ^ (id >>> 32));
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,135 @@
+package com.j256.simplelogging;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import com.j256.simplelogging.PropertyUtils.PatternLevel;
+import com.j256.simplelogging.backend.LocalLogBackend;
+
+/**
+ * Watches a file-system copy of the simplelogging properties file and reloads the levels from it when it changes so
+ * the logging levels can be changed without restarting the application. The {@code global.level} and
+ * {@code locallog.*} properties are applied. The other properties are only read at startup.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * The watcher is started by setting the {@link LoggerConstants#PROPERTIES_WATCH_FILE_PROPERTY} system property or the
+ * {@code properties.watch.file} property in the properties file on the classpath to the path of the file. A daemon
+ * thread checks the modification time and length of the file every {@code properties.watch.millis} milliseconds. The
+ * file is also loaded when the watcher is started.
+ * </p>
+ *
+ * <p>
+ * The new {@code locallog.*} patterns replace all of the previous ones in one volatile write and each backend
+ * recalculates its level the next time it is checked so there are no locks on the logging path. If the file has no
+ * {@code global.level} then the global level is left as is. To avoid the watcher reading a partially written file, you
+ * should write a new file and then rename it over the watched one.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class PropertiesWatcher {
+
+	/** default milliseconds between checks of the file */
+	public static final long DEFAULT_WATCH_MILLIS = 5000;
+
+	/** these are all protected by synchronizing on the class */
+	private static Thread watcherThread;
+	private static File watchedFile;
+	private static long lastModified;
+	private static long lastLength;
+
+	private PropertiesWatcher() {
+		// only here for static usage
+	}
+
+	/**
+	 * Load the levels from the file and start a background daemon thread that reloads them whenever the file changes.
+	 * This replaces any previous watcher.
+	 */
+	public static synchronized void start(File file, final long watchMillis) {
+		stop();
+		watchedFile = file;
+		lastModified = 0;
+		lastLength = 0;
+		checkForChanges();
+		watcherThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (true) {
+					try {
+						Thread.sleep(Math.max(1, watchMillis));
+					} catch (InterruptedException ie) {
+						// we have been stopped
+						return;
+					}
+					try {
+						checkForChanges();
+					} catch (RuntimeException re) {
+						// ignored I guess, we don't want a bad file to kill the thread
+					}
+				}
+			}
+		}, "SimpleLoggingPropertiesWatcher");
+		watcherThread.setDaemon(true);
+		watcherThread.start();
+	}
+
+	/**
+	 * Stop watching the file. The levels that were loaded from it stay in effect.
+	 */
+	public static synchronized void stop() {
+		if (watcherThread != null) {
+			watcherThread.interrupt();
+			watcherThread = null;
+		}
+		watchedFile = null;
+	}
+
+	/**
+	 * Return the file being watched or null if none.
+	 */
+	public static synchronized File getWatchedFile() {
+		return watchedFile;
+	}
+
+	/**
+	 * Reload the levels if the watched file has changed since it was last loaded. Returns true if they were reloaded.
+	 * This is called by the watcher thread but can also be called directly.
+	 */
+	public static synchronized boolean checkForChanges() {
+		File file = watchedFile;
+		if (file == null) {
+			return false;
+		}
+		long modified = file.lastModified();
+		long length = file.length();
+		if (modified == 0 || (modified == lastModified && length == lastLength)) {
+			// missing or unchanged so we keep the current levels
+			return false;
+		}
+		lastModified = modified;
+		lastLength = length;
+		loadLevels(file);
+		return true;
+	}
+
+	private static void loadLevels(File file) {
+		LogBackendFactory nullFactory = LogBackendType.NULL;
+		List<String[]> props;
+		try {
+			props = PropertyUtils.readProperties(new FileInputStream(file), nullFactory);
+		} catch (IOException ioe) {
+			// it may have been removed after we checked it
+			return;
+		}
+		List<PatternLevel> classLevels = PropertyUtils.readLocalLogPatterns(props, nullFactory);
+		LocalLogBackend.setClassLevels(classLevels);
+		PropertyUtils.assignGlobalLevelFromProperty(props, nullFactory);
+		// the levels of the backends may have changed so any cached ones are stale
+		BaseLogger.refreshLevelCache();
+	}
+}
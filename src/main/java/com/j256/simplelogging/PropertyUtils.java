@@ -9,6 +9,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.regex.Pattern;
 
+import com.j256.simplelogging.backend.TimestampFormatter;
+
 /**
  * Utility class for dealing with the optional simplelogging properties file.
  * 
@@ -23,6 +25,20 @@ public class PropertyUtils {
 	static final String DISCOVERY_ORDER_PROPERTY = "dicovery.order";
 	static final String GLOBAL_LEVEL_PROPERTY = "global.level";
 	static final String LOCAL_LOG_PROPERTY_PREFIX = "locallog.";
+	static final String ASYNC_ENABLED_PROPERTY = "async.enabled";
+	static final String ASYNC_QUEUE_SIZE_PROPERTY = "async.queue.size";
+	static final String ASYNC_BLOCK_WHEN_FULL_PROPERTY = "async.block.when.full";
+	static final String COLLAPSE_ENABLED_PROPERTY = "collapse.enabled";
+	static final String COLLAPSE_MAX_INTERVAL_MILLIS_PROPERTY = "collapse.max.interval.millis";
+	static final String COLLAPSE_QUIET_MILLIS_PROPERTY = "collapse.quiet.millis";
+	static final String FLUENT_RECYCLE_CONTEXTS_PROPERTY = "fluent.recycle.contexts";
+	static final String LEVEL_CACHE_PROPERTY = "level.cache";
+	static final String LEVEL_CACHE_REFRESH_MILLIS_PROPERTY = "level.cache.refresh.millis";
+	static final String LOCAL_TIMESTAMP_FORMAT_PROPERTY = "local.timestamp.format";
+	static final String METRICS_ENABLED_PROPERTY = "metrics.enabled";
+	static final String METRICS_PREFIX_DEPTH_PROPERTY = "metrics.prefix.depth";
+	static final String PROPERTIES_WATCH_FILE_PROPERTY = "properties.watch.file";
+	static final String PROPERTIES_WATCH_MILLIS_PROPERTY = "properties.watch.millis";
 
 	// other constants
 	static final String GLOBAL_LEVEL_NULL_VALUE = "NULL";
@@ -95,7 +111,13 @@ public class PropertyUtils {
 	 * {@link Logger#setGlobalLogLevel(Level)} if available.
 	 */
 	public static void assignGlobalLevelFromProperty(LogBackendFactory defaultBackendFactory) {
-		List<String[]> props = getProperties(defaultBackendFactory);
+		assignGlobalLevelFromProperty(getProperties(defaultBackendFactory), defaultBackendFactory);
+	}
+
+	/**
+	 * Call {@link Logger#setGlobalLogLevel(Level)} if the global level property is in the property entries.
+	 */
+	static void assignGlobalLevelFromProperty(List<String[]> props, LogBackendFactory defaultBackendFactory) {
 		for (String[] entry : props) {
 			if (!GLOBAL_LEVEL_PROPERTY.equals(entry[0])) {
 				continue;
@@ -120,7 +142,13 @@ public class PropertyUtils {
 	 * Read the local log level patterns for the loggers or null if none.
 	 */
 	public static List<PatternLevel> readLocalLogPatterns(LogBackendFactory defaultBackendFactory) {
-		List<String[]> props = getProperties(defaultBackendFactory);
+		return readLocalLogPatterns(getProperties(defaultBackendFactory), defaultBackendFactory);
+	}
+
+	/**
+	 * Read the local log level patterns from the property entries or null if none.
+	 */
+	static List<PatternLevel> readLocalLogPatterns(List<String[]> props, LogBackendFactory defaultBackendFactory) {
 		List<PatternLevel> patternLevels = null;
 		for (String[] entry : props) {
 			if (!entry[0].startsWith(LOCAL_LOG_PROPERTY_PREFIX)) {
@@ -146,6 +174,74 @@ public class PropertyUtils {
 		return patternLevels;
 	}
 
+	/**
+	 * Read the local log timestamp format from the properties file returning null if none or if it is invalid.
+	 */
+	public static TimestampFormatter readLocalTimestampFormatProperty(LogBackendFactory defaultBackendFactory) {
+		return readTimestampFormatProperty(defaultBackendFactory, LOCAL_TIMESTAMP_FORMAT_PROPERTY);
+	}
+
+	/**
+	 * Read a timestamp format property from the properties file returning null if none or if it is invalid.
+	 */
+	public static TimestampFormatter readTimestampFormatProperty(LogBackendFactory defaultBackendFactory,
+			String name) {
+		String format = readProperty(defaultBackendFactory, name);
+		if (format == null) {
+			return null;
+		}
+		try {
+			return new TimestampFormatter(format);
+		} catch (IllegalArgumentException iae) {
+			logWarning(defaultBackendFactory, "timestamp format '" + format + "' is not valid in properties file",
+					iae);
+			return null;
+		}
+	}
+
+	/**
+	 * Read a property value from the properties file returning null if none.
+	 */
+	public static String readProperty(LogBackendFactory defaultBackendFactory, String name) {
+		List<String[]> props = getProperties(defaultBackendFactory);
+		for (String[] entry : props) {
+			if (name.equals(entry[0])) {
+				return entry[1];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Read a boolean property from the properties file returning the default value if none.
+	 */
+	public static boolean readBooleanProperty(LogBackendFactory defaultBackendFactory, String name,
+			boolean defaultValue) {
+		String value = readProperty(defaultBackendFactory, name);
+		if (value == null) {
+			return defaultValue;
+		} else {
+			return Boolean.parseBoolean(value);
+		}
+	}
+
+	/**
+	 * Read an integer property from the properties file returning the default value if none or if it is invalid.
+	 */
+	public static int readIntProperty(LogBackendFactory defaultBackendFactory, String name, int defaultValue) {
+		String value = readProperty(defaultBackendFactory, name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException nfe) {
+			logWarning(defaultBackendFactory, "property '" + name + "' value '" + value + "' is not a valid number",
+					null);
+			return defaultValue;
+		}
+	}
+
 	/**
 	 * For testing purposes.
 	 */
@@ -171,7 +267,6 @@ public class PropertyUtils {
 	 * Read in the properties.
 	 */
 	static List<String[]> readPropertiesFile(LogBackendFactory defaultBackendFactory) {
-		List<String[]> propertyEntries = new ArrayList<>();
 		// now try to load in properties
 		InputStream stream = propertiesInputStream;
 		if (stream == null) {
@@ -181,6 +276,14 @@ public class PropertyUtils {
 				return Collections.emptyList();
 			}
 		}
+		return readProperties(stream, defaultBackendFactory);
+	}
+
+	/**
+	 * Read in the properties from the stream which is closed afterwards.
+	 */
+	static List<String[]> readProperties(InputStream stream, LogBackendFactory defaultBackendFactory) {
+		List<String[]> propertyEntries = new ArrayList<>();
 		try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream));) {
 			while (true) {
 				String line = reader.readLine();
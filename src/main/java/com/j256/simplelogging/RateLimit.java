@@ -0,0 +1,61 @@
+package com.j256.simplelogging;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits that belong to a single call site which is passed to {@link FluentContext#rateLimit(RateLimit)}. Unlike
+ * {@link FluentContext#every(int)} and {@link FluentContext#atMostEvery(long, TimeUnit)}, the call site doesn't have to
+ * be looked up by its logger and message so call sites that log the same message are limited separately. It is
+ * typically stored in a static final field next to the logger.
+ *
+ * <pre>
+ * private static final RateLimit QUEUE_FULL_LIMIT = RateLimit.every(1000);
+ * ...
+ * fluentLogger.atWarn().rateLimit(QUEUE_FULL_LIMIT).msg("queue is full, dropping {}").arg(item).log();
+ * </pre>
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * @author graywatson
+ */
+public class RateLimit {
+
+	private final int everyCount;
+	private final long intervalNanos;
+	private final RateLimiter.CallSite callSite = new RateLimiter.CallSite(null, null, 0);
+
+	/**
+	 * @param everyCount
+	 *            Log the first and then every Nth call or 0 for no count limit. Values less than 2 are ignored.
+	 * @param duration
+	 *            Log at most one call in this time period or 0 for no time limit.
+	 * @param unit
+	 *            Units of the duration.
+	 */
+	public RateLimit(int everyCount, long duration, TimeUnit unit) {
+		this.everyCount = everyCount;
+		this.intervalNanos = unit.toNanos(duration);
+	}
+
+	/**
+	 * Return a rate limit that logs the first and then every Nth call. See {@link FluentContext#every(int)}.
+	 */
+	public static RateLimit every(int count) {
+		return new RateLimit(count, 0, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Return a rate limit that logs at most one call in the time period. See
+	 * {@link FluentContext#atMostEvery(long, TimeUnit)}.
+	 */
+	public static RateLimit atMostEvery(long duration, TimeUnit unit) {
+		return new RateLimit(0, duration, unit);
+	}
+
+	/**
+	 * Count the call and return true if it should be logged.
+	 */
+	boolean shouldLog() {
+		return RateLimiter.shouldLog(callSite, everyCount, intervalNanos);
+	}
+}
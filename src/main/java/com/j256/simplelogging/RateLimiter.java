@@ -0,0 +1,188 @@
+package com.j256.simplelogging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-call-site rate limiting for the {@link FluentContext#every(int)} and
+ * {@link FluentContext#atMostEvery(long, java.util.concurrent.TimeUnit)} methods. A call site is identified by the
+ * logger and its message string. Call sites that need their own limits regardless of their message use a
+ * {@link RateLimit} instead.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * The call sites are kept in a bounded hash table which probes a couple of slots for a call site with the same logger
+ * and an equal message. A new call site only replaces an existing one when all of the probed slots are in use so
+ * colliding call sites keep their counts unless the table is full. The every-N counters are striped by thread so threads
+ * logging from the same call site don't contend on one counter. Each stripe logs its first and then every Nth call so
+ * the overall rate is one in N although threads may log slightly more often at the start. The interval limit is a
+ * single timestamp that is only read by the suppressed calls and is only updated when a call is due.
+ * </p>
+ *
+ * @author graywatson
+ */
+class RateLimiter {
+
+	/** spread the stripes out so neighboring counters are not on the same cache line */
+	private static final int STRIPE_SPACING = 8;
+	private static final int MAX_STRIPES = 64;
+	private static final int NUM_STRIPES = numStripes();
+	/** number of slots that are probed for a call site */
+	private static final int NUM_PROBES = 4;
+
+	/**
+	 * Racy table of the call sites. This is safe without synchronization since the call site keys are final so any
+	 * thread which sees a call site reference sees its keys.
+	 */
+	private static final CallSite[] callSites = new CallSite[tableSize()];
+	private static final int tableMask = callSites.length - 1;
+	/** rotates which probed slot is replaced when they are all in use, racy updates are fine */
+	private static int nextVictim;
+
+	private RateLimiter() {
+		// only here for static usage
+	}
+
+	/**
+	 * Return true if the call from the logger with the message should be logged based on the rate limits.
+	 *
+	 * @param everyCount
+	 *            Log every so many calls or 0 for no limit.
+	 * @param intervalNanos
+	 *            Log at most once in this many nanoseconds or 0 for no limit.
+	 */
+	static boolean shouldLog(Object logger, String msg, int everyCount, long intervalNanos) {
+		return shouldLog(callSite(logger, msg), everyCount, intervalNanos);
+	}
+
+	/**
+	 * Return true if the call from the call site should be logged based on the rate limits.
+	 */
+	static boolean shouldLog(CallSite callSite, int everyCount, long intervalNanos) {
+		if ((everyCount > 1 && !callSite.countAndCheck(everyCount))
+				|| (intervalNanos > 0 && !callSite.checkInterval(intervalNanos))) {
+			LoggingMetrics.recordSuppressed();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Clear the call sites. For testing purposes.
+	 */
+	static void clear() {
+		for (int i = 0; i < callSites.length; i++) {
+			callSites[i] = null;
+		}
+	}
+
+	private static CallSite callSite(Object logger, String msg) {
+		int msgHash = (msg == null ? 0 : msg.hashCode());
+		int index = tableIndex(logger, msgHash);
+		for (int i = 0; i < NUM_PROBES; i++) {
+			int slot = (index + i) & tableMask;
+			CallSite callSite = callSites[slot];
+			if (callSite == null) {
+				callSite = new CallSite(logger, msg, msgHash);
+				callSites[slot] = callSite;
+				return callSite;
+			}
+			if (callSite.matches(logger, msg, msgHash)) {
+				return callSite;
+			}
+		}
+		// all of the probed slots are in use by other call sites so replace one of them
+		CallSite callSite = new CallSite(logger, msg, msgHash);
+		callSites[(index + (nextVictim++ & (NUM_PROBES - 1))) & tableMask] = callSite;
+		return callSite;
+	}
+
+	/**
+	 * Return the first slot that is probed for the call site. Exposed for testing.
+	 */
+	static int tableIndex(Object logger, int msgHash) {
+		int hash = msgHash * 31 + System.identityHashCode(logger);
+		return (hash ^ (hash >>> 16)) & tableMask;
+	}
+
+	private static int tableSize() {
+		// round up to a power of 2 so we can mask the hash
+		int size = 1;
+		while (size < LoggerConstants.RATE_LIMIT_CALL_SITES && size < (1 << 20)) {
+			size <<= 1;
+		}
+		return size;
+	}
+
+	private static int numStripes() {
+		int stripes = 1;
+		while (stripes < Runtime.getRuntime().availableProcessors() && stripes < MAX_STRIPES) {
+			stripes <<= 1;
+		}
+		return stripes;
+	}
+
+	/**
+	 * State of a call site.
+	 */
+	static class CallSite {
+
+		private final Object logger;
+		private final String msg;
+		private final int msgHash;
+		/** allocated when a call uses every(...) */
+		private volatile AtomicLongArray counters;
+		/** nanos when the next call is allowed by the interval */
+		private final AtomicLong nextAllowedNanos = new AtomicLong(Long.MIN_VALUE);
+
+		public CallSite(Object logger, String msg, int msgHash) {
+			this.logger = logger;
+			this.msg = msg;
+			this.msgHash = msgHash;
+		}
+
+		/**
+		 * Return true if this is the call site of the logger and message.
+		 */
+		public boolean matches(Object logger, String msg, int msgHash) {
+			if (this.logger != logger || this.msgHash != msgHash) {
+				return false;
+			}
+			return (this.msg == msg || (this.msg != null && this.msg.equals(msg)));
+		}
+
+		/**
+		 * Count the call and return true if it is the first or an Nth call in the calling thread's stripe.
+		 */
+		public boolean countAndCheck(int everyCount) {
+			AtomicLongArray counters = this.counters;
+			if (counters == null) {
+				synchronized (this) {
+					counters = this.counters;
+					if (counters == null) {
+						counters = new AtomicLongArray(NUM_STRIPES * STRIPE_SPACING);
+						this.counters = counters;
+					}
+				}
+			}
+			int stripe = (int) (Thread.currentThread().getId() & (NUM_STRIPES - 1));
+			long count = counters.getAndIncrement(stripe * STRIPE_SPACING);
+			return (count % everyCount == 0);
+		}
+
+		/**
+		 * Return true if the interval has passed since the last call that was allowed.
+		 */
+		public boolean checkInterval(long intervalNanos) {
+			long now = System.nanoTime();
+			long next = nextAllowedNanos.get();
+			if (next != Long.MIN_VALUE && now - next < 0) {
+				// suppressed calls only do a read
+				return false;
+			}
+			// only one of the threads that see the interval pass gets to log
+			return nextAllowedNanos.compareAndSet(next, now + intervalNanos);
+		}
+	}
+}
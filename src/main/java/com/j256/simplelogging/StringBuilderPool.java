@@ -0,0 +1,54 @@
+package com.j256.simplelogging;
+
+/**
+ * Pool of {@link StringBuilder} buffers shared by the message formatting and the built-in backends so each log call
+ * doesn't allocate and grow a new buffer. Buffers that grew larger than
+ * {@link LoggerConstants#MAX_POOLED_BUFFER_LENGTH} are dropped instead of being returned so one huge message doesn't
+ * pin the memory.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * @author graywatson
+ */
+public class StringBuilderPool {
+
+	private static final int DEFAULT_BUFFER_LENGTH = 128;
+	private static final ObjectPool<StringBuilder> pool =
+			ObjectPool.perProcessor(LoggerConstants.BUFFER_POOL_SIZE_PER_PROCESSOR);
+
+	private StringBuilderPool() {
+		// only here for static usage
+	}
+
+	/**
+	 * Get an empty buffer from the pool or a new one if the pool is empty. It should be returned with
+	 * {@link #release(StringBuilder)} or {@link #toStringAndRelease(StringBuilder)} when done.
+	 */
+	public static StringBuilder acquire() {
+		StringBuilder sb = pool.acquire();
+		if (sb == null) {
+			return new StringBuilder(DEFAULT_BUFFER_LENGTH);
+		} else {
+			return sb;
+		}
+	}
+
+	/**
+	 * Return the buffer to the pool. The buffer must not be used after this is called.
+	 */
+	public static void release(StringBuilder sb) {
+		if (sb.capacity() <= LoggerConstants.MAX_POOLED_BUFFER_LENGTH) {
+			sb.setLength(0);
+			pool.release(sb);
+		}
+	}
+
+	/**
+	 * Return the contents of the buffer as a string and then release it to the pool.
+	 */
+	public static String toStringAndRelease(StringBuilder sb) {
+		String result = sb.toString();
+		release(sb);
+		return result;
+	}
+}
@@ -0,0 +1,24 @@
+package com.j256.simplelogging;
+
+/**
+ * Optional extension of {@link LogBackend} for backends that understand structured data. When a message has fields
+ * that were added with {@link FluentContext#field(String, long)} and related methods, they are passed to this method as
+ * a typed list instead of being rendered into the message string.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * @author graywatson
+ */
+public interface StructuredLogBackend extends LogBackend {
+
+	/**
+	 * Log a message with its structured fields.
+	 *
+	 * @param throwable
+	 *            Optional throwable which may be null.
+	 * @param fields
+	 *            Fields which will have at least one entry. These are reused after this method returns so they must be
+	 *            copied with {@link LogFields#copy()} if the backend needs them later.
+	 */
+	public void log(Level level, String message, Throwable throwable, LogFields fields);
+}
@@ -0,0 +1,28 @@
+package com.j256.simplelogging;
+
+/**
+ * Optional extension of {@link LogBackend} for backends that want the message template and its arguments instead of
+ * the formatted message. This allows the {} expansion to be deferred or done by the backend's own logging library.
+ * Messages that have structured fields or no template are still passed to the regular log methods.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * @author graywatson
+ */
+public interface TemplateLogBackend extends LogBackend {
+
+	/**
+	 * Log a message template with its arguments. The arguments can be rendered the same way as the logger would with
+	 * {@link MessageTemplate#appendArg(StringBuilder, Object)}. There may be more or fewer arguments than {} in the
+	 * template.
+	 *
+	 * @param throwable
+	 *            Optional throwable which may be null.
+	 * @param args
+	 *            Arguments to the template with primitives boxed or null if there are none. This array may be reused
+	 *            after this method returns so it must be copied if the backend needs it later.
+	 * @param argCount
+	 *            Number of arguments in the array which may be less than its length.
+	 */
+	public void logTemplate(Level level, Throwable throwable, String template, Object[] args, int argCount);
+}
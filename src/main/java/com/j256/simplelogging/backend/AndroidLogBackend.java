@@ -1,5 +1,8 @@
 package com.j256.simplelogging.backend;
 
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.j256.simplelogging.Level;
@@ -39,19 +42,26 @@ import com.j256.simplelogging.LoggerConstants;
  * adb shell setprop log.tag.simplelogging DEBUG
  * </pre>
  * 
+ * <p>
+ * Since Log.isLoggable() is supposedly expensive, the enabled levels are cached for each tag and shared by all of the
+ * loggers with that tag. The levels are loaded when a tag is first seen and then reloaded by the first level check
+ * after they are a second old so a level check is usually a timestamp comparison and an array lookup, tags that are
+ * not being used are not reloaded, and a setprop change is seen within a second of the tag being used.
+ * </p>
+ * 
  * @author graywatson
  */
 public class AndroidLogBackend implements LogBackend {
 
-	/** check to see if the android level has changed every so often */
-	private final static int REFRESH_LEVEL_CACHE_EVERY = 200;
+	/** how old the android levels can be before they are reloaded */
+	private final static long REFRESH_LEVEL_CACHE_MILLIS = 1000;
 	/** maximum allowed length of the tag per Android spec */
 	private final static int MAX_TAG_LENGTH = 23;
-	private final String className;
+	/** the cached levels are shared by all of the loggers with the same tag */
+	private final static ConcurrentMap<String, TagLevels> tagLevelsMap = new ConcurrentHashMap<String, TagLevels>();
 
-	// we do this because supposedly Log.isLoggable() always does IO so we want to slow down the refreshes
-	private final AtomicLong levelCacheCount = new AtomicLong();
-	private final boolean levelCache[];
+	private final String className;
+	private final TagLevels tagLevels;
 
 	public AndroidLogBackend(String className) {
 		// get the last part of the class name
@@ -70,31 +80,17 @@ public class AndroidLogBackend implements LogBackend {
 			simpleName = className.substring(length - MAX_TAG_LENGTH, length);
 		}
 		this.className = simpleName;
-		// find the maximum level value
-		int maxLevel = 0;
-		for (Level level : Level.values()) {
-			int androidLevel = levelToAndroidLevel(level);
-			if (androidLevel > maxLevel) {
-				maxLevel = androidLevel;
-			}
-		}
-		levelCache = new boolean[maxLevel + 1];
-		refreshLevelCache();
+		this.tagLevels = tagLevelsFor(simpleName);
 	}
 
 	@Override
 	public boolean isLevelEnabled(Level level) {
-		// we don't care if this is not synchronized, it will be updated sooner or later and multiple updates are fine.
-		if (levelCacheCount.incrementAndGet() >= REFRESH_LEVEL_CACHE_EVERY) {
-			refreshLevelCache();
-			// publishes the update as well
-			levelCacheCount.set(0);
-		}
 		int androidLevel = levelToAndroidLevel(level);
+		boolean[] levelCache = tagLevels.getLevelCache(System.currentTimeMillis());
 		if (androidLevel < levelCache.length) {
 			return levelCache[androidLevel];
 		} else {
-			return doIsLevelEnabled(androidLevel);
+			return doIsLevelEnabled(className, androidLevel);
 		}
 	}
 
@@ -152,34 +148,58 @@ public class AndroidLogBackend implements LogBackend {
 		}
 	}
 
-	private void refreshLevelCache() {
-		Level enabledLevel = null;
+	/**
+	 * Return the cached levels for the tag which are loaded the first time the tag is seen.
+	 */
+	private static TagLevels tagLevelsFor(String tag) {
+		TagLevels tagLevels = tagLevelsMap.get(tag);
+		if (tagLevels != null) {
+			return tagLevels;
+		}
+		tagLevels = new TagLevels(tag, loadLevelCache(tag), REFRESH_LEVEL_CACHE_MILLIS, System.currentTimeMillis());
+		TagLevels existing = tagLevelsMap.putIfAbsent(tag, tagLevels);
+		if (existing == null) {
+			return tagLevels;
+		} else {
+			return existing;
+		}
+	}
+
+	private static boolean[] loadLevelCache(String tag) {
+		// find the maximum level value
+		int maxLevel = 0;
 		for (Level level : Level.values()) {
 			int androidLevel = levelToAndroidLevel(level);
-			if (androidLevel >= levelCache.length) {
-				continue;
+			if (androidLevel > maxLevel) {
+				maxLevel = androidLevel;
 			}
+		}
+		boolean[] levelCache = new boolean[maxLevel + 1];
+		Level enabledLevel = null;
+		for (Level level : Level.values()) {
+			int androidLevel = levelToAndroidLevel(level);
 			boolean enabled;
 			if (enabledLevel != null && enabledLevel.isEnabled(level)) {
 				// no need for us to check WARNING if INFO enabled
 				enabled = true;
 			} else {
-				enabled = doIsLevelEnabled(androidLevel);
+				enabled = doIsLevelEnabled(tag, androidLevel);
 				if (enabled && enabledLevel == null) {
 					enabledLevel = level;
 				}
 			}
 			levelCache[androidLevel] = enabled;
 		}
+		return levelCache;
 	}
 
-	private boolean doIsLevelEnabled(int androidLevel) {
-		// this is supposedly expensive with an IO operation for each call so we cache them into levelCache[]
-		return (android.util.Log.isLoggable(className, androidLevel)
+	private static boolean doIsLevelEnabled(String tag, int androidLevel) {
+		// this is supposedly expensive with an IO operation for each call so we cache them into the level cache
+		return (android.util.Log.isLoggable(tag, androidLevel)
 				|| android.util.Log.isLoggable(LoggerConstants.ANDROID_ALL_LOGS_NAME, androidLevel));
 	}
 
-	private int levelToAndroidLevel(Level level) {
+	private static int levelToAndroidLevel(Level level) {
 		switch (level) {
 			case TRACE:
 				return android.util.Log.VERBOSE;
@@ -198,6 +218,50 @@ public class AndroidLogBackend implements LogBackend {
 		}
 	}
 
+	/**
+	 * Levels of a tag which are reloaded by the first check after they get too old since Log.isLoggable() is supposedly
+	 * expensive. The levels array is replaced and never modified so it is safely published by the volatile field.
+	 */
+	static class TagLevels {
+		private final String tag;
+		private final long refreshMillis;
+		/** only the thread that moves this forward reloads the levels */
+		private final AtomicLong nextRefreshMillis;
+		private volatile boolean[] levelCache;
+
+		public TagLevels(String tag, boolean[] levelCache, long refreshMillis, long nowMillis) {
+			this.tag = tag;
+			this.levelCache = levelCache;
+			this.refreshMillis = refreshMillis;
+			this.nextRefreshMillis = new AtomicLong(nowMillis + refreshMillis);
+		}
+
+		/**
+		 * Return the cached levels indexed by the android level, reloading them if they are too old.
+		 */
+		public boolean[] getLevelCache(long nowMillis) {
+			long next = nextRefreshMillis.get();
+			if (nowMillis >= next && nextRefreshMillis.compareAndSet(next, nowMillis + refreshMillis)) {
+				try {
+					boolean[] newLevelCache = loadLevels();
+					if (!Arrays.equals(newLevelCache, levelCache)) {
+						levelCache = newLevelCache;
+					}
+				} catch (RuntimeException re) {
+					// ignored I guess, we'll try again next time
+				}
+			}
+			return levelCache;
+		}
+
+		/**
+		 * Load the levels from android. Overridden in the tests since the android logger isn't available there.
+		 */
+		boolean[] loadLevels() {
+			return loadLevelCache(tag);
+		}
+	}
+
 	/**
 	 * Factory for generating AndroidLogBackend instances.
 	 */
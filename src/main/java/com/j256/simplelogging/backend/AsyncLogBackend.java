@@ -0,0 +1,402 @@
+package com.j256.simplelogging.backend;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogBackend;
+import com.j256.simplelogging.LogBackendFactory;
+import com.j256.simplelogging.LogFields;
+import com.j256.simplelogging.LoggingMetrics;
+import com.j256.simplelogging.StringBuilderPool;
+import com.j256.simplelogging.StructuredLogBackend;
+
+/**
+ * Log backend decorator which hands the log messages off to a bounded queue that is drained by a single writer thread
+ * which calls the delegate backend. This means that slow IO in the delegate (a slow disk, a blocked System.out, etc.)
+ * does not happen on the logging thread. Level checks are still done directly with the delegate.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * You can enable this for the discovered backend by setting {@code async.enabled = true} in the simplelogging
+ * properties file or you can wrap a specific factory with
+ * {@code LoggerFactory.setLogBackendFactory(new AsyncLogBackendFactory(LogBackendType.LOGBACK))}.
+ * </p>
+ *
+ * <p>
+ * Structured fields are copied before being queued if the delegate is a {@link StructuredLogBackend}. Otherwise they
+ * are rendered into the message on the logging thread.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class AsyncLogBackend implements StructuredLogBackend {
+
+	private final LogBackend delegate;
+	private final AsyncWriter writer;
+
+	public AsyncLogBackend(LogBackend delegate, AsyncWriter writer) {
+		this.delegate = delegate;
+		this.writer = writer;
+	}
+
+	@Override
+	public boolean isLevelEnabled(Level level) {
+		return delegate.isLevelEnabled(level);
+	}
+
+	@Override
+	public void log(Level level, String msg) {
+		writer.enqueue(delegate, level, msg, null);
+	}
+
+	@Override
+	public void log(Level level, String msg, Throwable throwable) {
+		writer.enqueue(delegate, level, msg, throwable);
+	}
+
+	@Override
+	public void log(Level level, String msg, Throwable throwable, LogFields fields) {
+		if (delegate instanceof StructuredLogBackend) {
+			// the fields are reused after we return so we need to copy them before they are queued
+			writer.enqueue(delegate, level, msg, throwable, fields.copy());
+		} else {
+			StringBuilder sb = StringBuilderPool.acquire();
+			sb.append(msg);
+			fields.appendTo(sb);
+			writer.enqueue(delegate, level, StringBuilderPool.toStringAndRelease(sb), throwable);
+		}
+	}
+
+	/**
+	 * Return the backend that we are delegating to.
+	 */
+	public LogBackend getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Factory for generating AsyncLogBackend instances which wrap the backends from another factory. All of the
+	 * backends from this factory share the same queue and writer thread.
+	 */
+	public static class AsyncLogBackendFactory implements LogBackendFactory {
+
+		/** default number of messages that can be queued before the queue is full */
+		public static final int DEFAULT_QUEUE_SIZE = 8192;
+
+		private final LogBackendFactory delegateFactory;
+		private final AsyncWriter writer;
+
+		public AsyncLogBackendFactory(LogBackendFactory delegateFactory) {
+			this(delegateFactory, DEFAULT_QUEUE_SIZE, true);
+		}
+
+		/**
+		 * @param queueSize
+		 *            Number of messages that can be queued. This is rounded up to the next power of 2.
+		 * @param blockWhenFull
+		 *            If true then logging threads will wait for room in the queue when it is full. If false then the
+		 *            message will be dropped and counted.
+		 */
+		public AsyncLogBackendFactory(LogBackendFactory delegateFactory, int queueSize, boolean blockWhenFull) {
+			this.delegateFactory = delegateFactory;
+			this.writer = new AsyncWriter(queueSize, blockWhenFull);
+		}
+
+		@Override
+		public boolean isAvailable() {
+			return delegateFactory.isAvailable();
+		}
+
+		@Override
+		public LogBackend createLogBackend(String classLabel) {
+			return new AsyncLogBackend(delegateFactory.createLogBackend(classLabel), writer);
+		}
+
+		/**
+		 * Return the factory that we are delegating to.
+		 */
+		public LogBackendFactory getDelegateFactory() {
+			return delegateFactory;
+		}
+
+		/**
+		 * Wait for the messages queued so far to be written by the delegate backends. Returns true if they were all
+		 * written or false if the timeout expired.
+		 */
+		public boolean flush(long timeoutMillis) {
+			return writer.flush(timeoutMillis);
+		}
+
+		/**
+		 * Return the number of messages that were dropped because the queue was full.
+		 */
+		public long getDroppedCount() {
+			return writer.getDroppedCount();
+		}
+
+		/**
+		 * Write the queued messages, stop the writer thread, and remove its shutdown hook. This should be called when
+		 * the factory is no longer being used. Messages that are logged after this are written by the logging thread.
+		 */
+		public void close() {
+			writer.close(AsyncWriter.SHUTDOWN_FLUSH_MILLIS);
+		}
+	}
+
+	/**
+	 * Bounded multi-producer, single-consumer ring buffer of log messages along with the thread that drains it. The
+	 * producers claim a slot with a compare-and-set on the tail and then publish it by setting the slot's sequence
+	 * number so there are no locks on the logging path.
+	 */
+	public static class AsyncWriter implements Runnable {
+
+		private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+		private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+		/** set in the tail when the writer is closed so no more messages can be queued */
+		private static final long CLOSED_BIT = 1L << 62;
+		static final long SHUTDOWN_FLUSH_MILLIS = 5000;
+
+		private final int capacity;
+		private final int mask;
+		private final boolean blockWhenFull;
+		private final AtomicLongArray sequences;
+		private final LogBackend[] backends;
+		private final Level[] levels;
+		private final String[] messages;
+		private final Throwable[] throwables;
+		private final LogFields[] fieldsArray;
+		private final AtomicLong tail = new AtomicLong();
+		private final AtomicLong droppedCount = new AtomicLong();
+		private final Thread thread;
+		private final Thread shutdownHook;
+		/** only modified by the writer thread */
+		private long head;
+		/** number of messages that have been handed to the delegates */
+		private volatile long written;
+		private volatile boolean parked;
+
+		public AsyncWriter(int queueSize, boolean blockWhenFull) {
+			int capacity = 2;
+			while (capacity < queueSize && capacity < (1 << 30)) {
+				capacity <<= 1;
+			}
+			this.capacity = capacity;
+			this.mask = capacity - 1;
+			this.blockWhenFull = blockWhenFull;
+			this.sequences = new AtomicLongArray(capacity);
+			for (int i = 0; i < capacity; i++) {
+				sequences.set(i, i);
+			}
+			this.backends = new LogBackend[capacity];
+			this.levels = new Level[capacity];
+			this.messages = new String[capacity];
+			this.throwables = new Throwable[capacity];
+			this.fieldsArray = new LogFields[capacity];
+
+			this.thread = new Thread(this, getClass().getSimpleName());
+			this.thread.setDaemon(true);
+			this.thread.start();
+			this.shutdownHook = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					flush(SHUTDOWN_FLUSH_MILLIS);
+				}
+			}, getClass().getSimpleName() + "-shutdown");
+			Runtime.getRuntime().addShutdownHook(shutdownHook);
+		}
+
+		/**
+		 * Add a message to the queue to be logged by the writer thread.
+		 */
+		public void enqueue(LogBackend backend, Level level, String msg, Throwable throwable) {
+			enqueue(backend, level, msg, throwable, null);
+		}
+
+		/**
+		 * Add a message with structured fields to the queue to be logged by the writer thread. The backend must be a
+		 * {@link StructuredLogBackend} if the fields are not null and the fields must not be reused by the caller.
+		 */
+		public void enqueue(LogBackend backend, Level level, String msg, Throwable throwable, LogFields fields) {
+			if (Thread.currentThread() == thread) {
+				// the delegate is logging from the writer thread so we can't wait on ourselves
+				log(backend, level, msg, throwable, fields);
+				return;
+			}
+			while (!offer(backend, level, msg, throwable, fields)) {
+				if (isClosed()) {
+					// there is no writer to queue it for
+					log(backend, level, msg, throwable, fields);
+					return;
+				}
+				if (!blockWhenFull) {
+					droppedCount.incrementAndGet();
+					LoggingMetrics.recordDropped();
+					return;
+				}
+				LockSupport.parkNanos(this, FULL_PARK_NANOS);
+			}
+			if (parked) {
+				LockSupport.unpark(thread);
+			}
+		}
+
+		/**
+		 * Wait for the messages queued so far to be written. Returns true if they were all written or false if the
+		 * timeout expired.
+		 */
+		public boolean flush(long timeoutMillis) {
+			long target = (tail.get() & ~CLOSED_BIT);
+			long deadline = System.currentTimeMillis() + timeoutMillis;
+			while (written < target) {
+				if (System.currentTimeMillis() >= deadline) {
+					return false;
+				}
+				LockSupport.unpark(thread);
+				LockSupport.parkNanos(this, FULL_PARK_NANOS);
+			}
+			return true;
+		}
+
+		public long getDroppedCount() {
+			return droppedCount.get();
+		}
+
+		/**
+		 * Wait for the queued messages to be written, stop the writer thread, and remove the shutdown hook. Messages
+		 * that are logged after this are written directly by the logging thread. Returns true if the queued messages
+		 * were all written or false if the timeout expired.
+		 */
+		public boolean close(long timeoutMillis) {
+			boolean flushed = flush(timeoutMillis);
+			// once the bit is set the producers can't queue any more messages so the writer can drain to the end
+			while (true) {
+				long pos = tail.get();
+				if ((pos & CLOSED_BIT) != 0 || tail.compareAndSet(pos, pos | CLOSED_BIT)) {
+					break;
+				}
+			}
+			LockSupport.unpark(thread);
+			try {
+				thread.join(timeoutMillis);
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
+			try {
+				Runtime.getRuntime().removeShutdownHook(shutdownHook);
+			} catch (IllegalStateException ise) {
+				// the JVM is already shutting down
+			}
+			return flushed;
+		}
+
+		/**
+		 * Return true if the writer thread is running. For testing purposes.
+		 */
+		boolean isRunning() {
+			return thread.isAlive();
+		}
+
+		@Override
+		public void run() {
+			while (!isClosed()) {
+				if (drain() == 0) {
+					parked = true;
+					// check again after setting parked in case a producer added a message and didn't see the flag
+					if (isEmpty()) {
+						LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+					}
+					parked = false;
+				}
+			}
+			// write the messages that were queued before we were closed
+			long end = (tail.get() & ~CLOSED_BIT);
+			while (head < end) {
+				if (drain() == 0) {
+					// a producer has claimed a slot but has not yet published it
+					LockSupport.parkNanos(this, FULL_PARK_NANOS);
+				}
+			}
+		}
+
+		private boolean isClosed() {
+			return ((tail.get() & CLOSED_BIT) != 0);
+		}
+
+		private boolean offer(LogBackend backend, Level level, String msg, Throwable throwable, LogFields fields) {
+			while (true) {
+				long pos = tail.get();
+				if ((pos & CLOSED_BIT) != 0) {
+					return false;
+				}
+				int index = (int) (pos & mask);
+				long diff = sequences.get(index) - pos;
+				if (diff == 0) {
+					if (tail.compareAndSet(pos, pos + 1)) {
+						backends[index] = backend;
+						levels[index] = level;
+						messages[index] = msg;
+						throwables[index] = throwable;
+						fieldsArray[index] = fields;
+						// publishes the slot to the writer thread
+						sequences.set(index, pos + 1);
+						return true;
+					}
+				} else if (diff < 0) {
+					// the writer has not yet consumed this slot so the queue is full
+					return false;
+				}
+				// else another producer claimed the slot so try again
+			}
+		}
+
+		private boolean isEmpty() {
+			return sequences.get((int) (head & mask)) != head + 1;
+		}
+
+		/**
+		 * Log all of the available messages, returning the number logged.
+		 */
+		private int drain() {
+			int count = 0;
+			while (true) {
+				int index = (int) (head & mask);
+				if (sequences.get(index) != head + 1) {
+					return count;
+				}
+				LogBackend backend = backends[index];
+				Level level = levels[index];
+				String msg = messages[index];
+				Throwable throwable = throwables[index];
+				LogFields fields = fieldsArray[index];
+				backends[index] = null;
+				messages[index] = null;
+				throwables[index] = null;
+				fieldsArray[index] = null;
+				// hands the slot back to the producers
+				sequences.set(index, head + capacity);
+				head++;
+				log(backend, level, msg, throwable, fields);
+				written = head;
+				count++;
+			}
+		}
+
+		private void log(LogBackend backend, Level level, String msg, Throwable throwable, LogFields fields) {
+			try {
+				if (fields != null) {
+					((StructuredLogBackend) backend).log(level, msg, throwable, fields);
+				} else if (throwable == null) {
+					backend.log(level, msg);
+				} else {
+					backend.log(level, msg, throwable);
+				}
+			} catch (Throwable th) {
+				// ignored I guess, we don't want a bad backend to kill the writer thread and leave the producers waiting
+			}
+		}
+	}
+}
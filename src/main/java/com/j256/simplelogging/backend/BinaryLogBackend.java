@@ -0,0 +1,326 @@
+package com.j256.simplelogging.backend;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogBackend;
+import com.j256.simplelogging.LogBackendFactory;
+import com.j256.simplelogging.LoggerConstants;
+import com.j256.simplelogging.MessageTemplate;
+import com.j256.simplelogging.ObjectPool;
+import com.j256.simplelogging.PropertyUtils;
+import com.j256.simplelogging.StringBuilderPool;
+import com.j256.simplelogging.TemplateLogBackend;
+import com.j256.simplelogging.backend.NullLogBackend.NullLogBackendFactory;
+
+/**
+ * Log backend that writes a compact binary log file instead of formatted text. Each distinct message template is
+ * written once to the file with an integer id and each log event then only stores the template id, the time since the
+ * previous event, and the raw arguments. The {} expansion is done when the file is read with {@link BinaryLogDecoder}
+ * which means much fewer bytes written and no formatting on the logging thread. The levels use the
+ * {@link LocalLogBackend} configuration.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * The file path is set with the {@link LoggerConstants#BINARY_LOG_FILE_PROPERTY} system property or the
+ * {@code binary.file.path} property in the properties file. The file is written with a {@link LogFileWriter} and is
+ * truncated when it is opened. It can be turned back into text with:
+ * </p>
+ *
+ * <pre>
+ * java -cp simplelogging.jar com.j256.simplelogging.backend.BinaryLogDecoder simplelogging.bin
+ * </pre>
+ *
+ * <p>
+ * The file starts with the {@link #MAGIC} bytes, a version byte, and the epoch milliseconds when it was opened. Then
+ * there are records that start with a type byte. Numbers are varints and strings are a varint length followed by UTF-8
+ * bytes. A dictionary record with an id that was already used replaces the previous value.
+ * </p>
+ *
+ * <pre>
+ * TEMPLATE: id, template-string
+ * LOGGER: id, logger-name
+ * EVENT: level-ordinal (| 0x80 if throwable), signed millis delta, logger-id, template-id, arg-count, args...,
+ *        [throwable-string]
+ * TEXT_EVENT: level-ordinal (| 0x80 if throwable), signed millis delta, logger-id, message-string, [throwable-string]
+ * </pre>
+ *
+ * @author graywatson
+ */
+public class BinaryLogBackend implements TemplateLogBackend {
+
+	/** properties file path of the log file */
+	public static final String BINARY_FILE_PATH_PROPERTY = "binary.file.path";
+	/** default path of the log file */
+	public static final String DEFAULT_PATH = "simplelogging.bin";
+	/** bytes at the start of a binary log file */
+	public static final byte[] MAGIC = { 'S', 'L', 'O', 'G' };
+
+	/** the dictionaries are cleared when they reach this size so messages that are built can't grow them forever */
+	static final int MAX_DICTIONARY_SIZE = 65536;
+	static final int VERSION = 1;
+	static final int RECORD_TEMPLATE = 1;
+	static final int RECORD_LOGGER = 2;
+	static final int RECORD_EVENT = 3;
+	static final int RECORD_TEXT_EVENT = 4;
+	static final int THROWABLE_FLAG = 0x80;
+	static final int ARG_NULL = 0;
+	static final int ARG_LONG = 1;
+	static final int ARG_DOUBLE = 2;
+	static final int ARG_FLOAT = 3;
+	static final int ARG_TRUE = 4;
+	static final int ARG_FALSE = 5;
+	static final int ARG_CHAR = 6;
+	static final int ARG_STRING = 7;
+
+	private static final ObjectPool<BinaryLogBuffer> bufferPool =
+			ObjectPool.perProcessor(LoggerConstants.BUFFER_POOL_SIZE_PER_PROCESSOR);
+
+	private final BinaryLogBackendFactory factory;
+	private final String className;
+	private final LocalLogLevel level;
+
+	public BinaryLogBackend(BinaryLogBackendFactory factory, String className) {
+		this.factory = factory;
+		this.className = className;
+		this.level = new LocalLogLevel(className);
+	}
+
+	@Override
+	public boolean isLevelEnabled(Level level) {
+		return this.level.isEnabled(level);
+	}
+
+	@Override
+	public void log(Level level, String msg) {
+		writeEvent(level, null, msg, null, 0, null);
+	}
+
+	@Override
+	public void log(Level level, String msg, Throwable throwable) {
+		writeEvent(level, null, msg, null, 0, throwable);
+	}
+
+	@Override
+	public void logTemplate(Level level, Throwable throwable, String template, Object[] args, int argCount) {
+		if (args == null) {
+			// the logger doesn't expand the {} if there are no arguments so we write it as a text event
+			writeEvent(level, null, template, null, 0, throwable);
+		} else {
+			writeEvent(level, template, null, args, argCount, throwable);
+		}
+	}
+
+	private void writeEvent(Level level, String template, String msg, Object[] args, int argCount,
+			Throwable throwable) {
+		if (!isLevelEnabled(level)) {
+			return;
+		}
+		// the variable part of the event is encoded before we take the factory lock
+		BinaryLogBuffer payload = bufferPool.acquire();
+		if (payload == null) {
+			payload = new BinaryLogBuffer();
+		}
+		if (template == null) {
+			payload.writeString(msg);
+		} else {
+			payload.writeVarint(argCount);
+			for (int i = 0; i < argCount; i++) {
+				writeArg(payload, args[i]);
+			}
+		}
+		if (throwable != null) {
+			StringBuilder sb = StringBuilderPool.acquire();
+			LogBackendUtil.appendThrowable(sb, throwable);
+			payload.writeString(sb);
+			StringBuilderPool.release(sb);
+		}
+		factory.writeEvent(level, className, template, (throwable != null), payload);
+		if (payload.getBuffer().length <= LoggerConstants.MAX_POOLED_BUFFER_LENGTH) {
+			payload.reset();
+			bufferPool.release(payload);
+		}
+	}
+
+	private void writeArg(BinaryLogBuffer buffer, Object arg) {
+		if (arg == null) {
+			buffer.writeByte(ARG_NULL);
+		} else if (arg instanceof Long || arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+			buffer.writeByte(ARG_LONG);
+			buffer.writeSignedVarint(((Number) arg).longValue());
+		} else if (arg instanceof Double) {
+			buffer.writeByte(ARG_DOUBLE);
+			buffer.writeLong(Double.doubleToRawLongBits((Double) arg));
+		} else if (arg instanceof Float) {
+			buffer.writeByte(ARG_FLOAT);
+			buffer.writeInt(Float.floatToRawIntBits((Float) arg));
+		} else if (arg instanceof Boolean) {
+			buffer.writeByte(((Boolean) arg) ? ARG_TRUE : ARG_FALSE);
+		} else if (arg instanceof Character) {
+			buffer.writeByte(ARG_CHAR);
+			buffer.writeVarint((Character) arg);
+		} else if (arg instanceof String) {
+			buffer.writeByte(ARG_STRING);
+			buffer.writeString((String) arg);
+		} else {
+			// other objects have to be rendered now since they may change or not be around later
+			StringBuilder sb = StringBuilderPool.acquire();
+			MessageTemplate.appendArg(sb, arg);
+			buffer.writeByte(ARG_STRING);
+			buffer.writeString(sb);
+			StringBuilderPool.release(sb);
+		}
+	}
+
+	/**
+	 * Factory for generating BinaryLogBackend instances. All of the backends from a factory write to the same file
+	 * which is opened when the first event is logged. The factory holds the template and logger dictionaries of the
+	 * file.
+	 */
+	public static class BinaryLogBackendFactory implements LogBackendFactory {
+
+		private final File file;
+		/** these are all protected by synchronizing on the factory */
+		private final Map<String, Integer> templateIds = new HashMap<String, Integer>();
+		private final Map<String, Integer> loggerIds = new HashMap<String, Integer>();
+		private final BinaryLogBuffer recordBuffer = new BinaryLogBuffer();
+		private LogFileWriter fileWriter;
+		private long lastMillis;
+
+		/**
+		 * Create a factory that uses the file path from the system property or the properties file.
+		 */
+		public BinaryLogBackendFactory() {
+			this(new File(configuredPath()));
+		}
+
+		public BinaryLogBackendFactory(File file) {
+			this.file = file;
+		}
+
+		@Override
+		public boolean isAvailable() {
+			// always available
+			return true;
+		}
+
+		@Override
+		public LogBackend createLogBackend(String classLabel) {
+			return new BinaryLogBackend(this, classLabel);
+		}
+
+		/**
+		 * Return the file that the backends write to.
+		 */
+		public File getFile() {
+			return file;
+		}
+
+		/**
+		 * Write any buffered events to the file.
+		 */
+		public synchronized void flush() {
+			if (fileWriter != null) {
+				fileWriter.flush();
+			}
+		}
+
+		/**
+		 * Close the file. The next event that is logged will reopen and truncate it.
+		 */
+		public synchronized void close() {
+			if (fileWriter != null) {
+				fileWriter.close();
+				fileWriter = null;
+			}
+			templateIds.clear();
+			loggerIds.clear();
+		}
+
+		synchronized void writeEvent(Level level, String loggerName, String template, boolean hasThrowable,
+				BinaryLogBuffer payload) {
+			BinaryLogBuffer buffer = recordBuffer;
+			buffer.reset();
+			if (fileWriter == null) {
+				open(buffer);
+			}
+			// the dictionary records are written before the first event that uses them
+			int loggerId = dictionaryId(buffer, loggerIds, RECORD_LOGGER, loggerName);
+			int templateId = 0;
+			if (template == null) {
+				buffer.writeByte(RECORD_TEXT_EVENT);
+			} else {
+				templateId = dictionaryId(buffer, templateIds, RECORD_TEMPLATE, template);
+				buffer.writeByte(RECORD_EVENT);
+			}
+			int levelByte = level.ordinal();
+			if (hasThrowable) {
+				levelByte |= THROWABLE_FLAG;
+			}
+			buffer.writeByte(levelByte);
+			long now = System.currentTimeMillis();
+			// signed in case the clock goes backwards
+			buffer.writeSignedVarint(now - lastMillis);
+			lastMillis = now;
+			buffer.writeVarint(loggerId);
+			if (template != null) {
+				buffer.writeVarint(templateId);
+			}
+			buffer.writeBytes(payload.getBuffer(), 0, payload.getLength());
+			fileWriter.write(level, buffer.getBuffer(), 0, buffer.getLength());
+		}
+
+		/**
+		 * Must be called while synchronized on the factory.
+		 */
+		private void open(BinaryLogBuffer buffer) {
+			try {
+				fileWriter = new LogFileWriter(file);
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Binary log file " + file + " could not be opened", e);
+			}
+			templateIds.clear();
+			loggerIds.clear();
+			lastMillis = System.currentTimeMillis();
+			buffer.writeBytes(MAGIC, 0, MAGIC.length);
+			buffer.writeByte(VERSION);
+			buffer.writeLong(lastMillis);
+		}
+
+		/**
+		 * Return the id of the string in the dictionary, adding it and writing its record if it is new. Must be called
+		 * while synchronized on the factory.
+		 */
+		private int dictionaryId(BinaryLogBuffer buffer, Map<String, Integer> ids, int recordType, String str) {
+			Integer id = ids.get(str);
+			if (id == null) {
+				if (ids.size() >= MAX_DICTIONARY_SIZE) {
+					// the ids are reused and the decoder replaces them when it sees the new records
+					ids.clear();
+				}
+				id = ids.size();
+				ids.put(str, id);
+				buffer.writeByte(recordType);
+				buffer.writeVarint(id);
+				buffer.writeString(str);
+			}
+			return id;
+		}
+
+		private static String configuredPath() {
+			String path = System.getProperty(LoggerConstants.BINARY_LOG_FILE_PROPERTY);
+			if (path == null) {
+				// this is created while the LogBackendType enum is initializing so we can't use LogBackendType.NULL
+				path = PropertyUtils.readProperty(NullLogBackendFactory.getSingleton(), BINARY_FILE_PATH_PROPERTY);
+			}
+			if (path == null) {
+				path = DEFAULT_PATH;
+			}
+			return path;
+		}
+	}
+}
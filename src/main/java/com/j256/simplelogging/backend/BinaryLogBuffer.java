@@ -0,0 +1,125 @@
+package com.j256.simplelogging.backend;
+
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with the variable length encodings used by the {@link BinaryLogBackend} records.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * @author graywatson
+ */
+class BinaryLogBuffer {
+
+	private static final int DEFAULT_BUFFER_LENGTH = 256;
+
+	private byte[] buffer = new byte[DEFAULT_BUFFER_LENGTH];
+	private int length;
+
+	public void reset() {
+		length = 0;
+	}
+
+	public byte[] getBuffer() {
+		return buffer;
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	public void writeByte(int value) {
+		ensureCapacity(1);
+		buffer[length++] = (byte) value;
+	}
+
+	public void writeBytes(byte[] bytes, int offset, int bytesLength) {
+		ensureCapacity(bytesLength);
+		System.arraycopy(bytes, offset, buffer, length, bytesLength);
+		length += bytesLength;
+	}
+
+	/**
+	 * Write an unsigned value 7 bits at a time with the high bit set on all but the last byte.
+	 */
+	public void writeVarint(long value) {
+		ensureCapacity(10);
+		while ((value & ~0x7FL) != 0) {
+			buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[length++] = (byte) value;
+	}
+
+	/**
+	 * Write a signed value as a varint with the sign in the low bit so small negative numbers are also short.
+	 */
+	public void writeSignedVarint(long value) {
+		writeVarint((value << 1) ^ (value >> 63));
+	}
+
+	public void writeLong(long value) {
+		ensureCapacity(8);
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			buffer[length++] = (byte) (value >>> shift);
+		}
+	}
+
+	public void writeInt(int value) {
+		ensureCapacity(4);
+		for (int shift = 24; shift >= 0; shift -= 8) {
+			buffer[length++] = (byte) (value >>> shift);
+		}
+	}
+
+	/**
+	 * Write the varint length of the string in UTF-8 bytes followed by the bytes.
+	 */
+	public void writeString(CharSequence str) {
+		int strLength = str.length();
+		int utf8Length = 0;
+		for (int i = 0; i < strLength; i++) {
+			char ch = str.charAt(i);
+			if (ch < 0x80) {
+				utf8Length++;
+			} else if (ch < 0x800) {
+				utf8Length += 2;
+			} else if (Character.isHighSurrogate(ch) && i + 1 < strLength
+					&& Character.isLowSurrogate(str.charAt(i + 1))) {
+				utf8Length += 4;
+				i++;
+			} else {
+				utf8Length += 3;
+			}
+		}
+		writeVarint(utf8Length);
+		ensureCapacity(utf8Length);
+		for (int i = 0; i < strLength; i++) {
+			char ch = str.charAt(i);
+			if (ch < 0x80) {
+				buffer[length++] = (byte) ch;
+			} else if (ch < 0x800) {
+				buffer[length++] = (byte) (0xC0 | (ch >> 6));
+				buffer[length++] = (byte) (0x80 | (ch & 0x3F));
+			} else if (Character.isHighSurrogate(ch) && i + 1 < strLength
+					&& Character.isLowSurrogate(str.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(ch, str.charAt(++i));
+				buffer[length++] = (byte) (0xF0 | (codePoint >> 18));
+				buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				buffer[length++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else {
+				// NOTE: unpaired surrogates are encoded as 3 bytes like Java's modified UTF-8
+				buffer[length++] = (byte) (0xE0 | (ch >> 12));
+				buffer[length++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+				buffer[length++] = (byte) (0x80 | (ch & 0x3F));
+			}
+		}
+	}
+
+	private void ensureCapacity(int needed) {
+		if (length + needed > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + needed));
+		}
+	}
+}
@@ -0,0 +1,238 @@
+package com.j256.simplelogging.backend;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.MessageTemplate;
+
+/**
+ * Reads the files written by the {@link BinaryLogBackend} and turns the events back into text lines formatted like the
+ * {@link LocalLogBackend} output. This is where the {} arguments are expanded into the message templates.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * It can be run from the command line to print one or more files to stdout:
+ * </p>
+ *
+ * <pre>
+ * java -cp simplelogging.jar com.j256.simplelogging.backend.BinaryLogDecoder simplelogging.bin
+ * </pre>
+ *
+ * @author graywatson
+ */
+public class BinaryLogDecoder implements Closeable {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final Level[] LEVELS = Level.values();
+
+	private final DataInputStream input;
+	private final TimestampFormatter timestampFormatter = new TimestampFormatter(TimestampFormatter.DEFAULT_FORMAT);
+	private final Map<Integer, MessageTemplate> templates = new HashMap<Integer, MessageTemplate>();
+	private final Map<Integer, String> loggerNames = new HashMap<Integer, String>();
+	private long millis;
+
+	public BinaryLogDecoder(InputStream inputStream) throws IOException {
+		this.input = new DataInputStream(new BufferedInputStream(inputStream));
+		for (byte magic : BinaryLogBackend.MAGIC) {
+			if (input.readByte() != magic) {
+				throw new IOException("Stream is not a binary log file, magic bytes do not match");
+			}
+		}
+		int version = input.readUnsignedByte();
+		if (version != BinaryLogBackend.VERSION) {
+			throw new IOException("Binary log file version " + version + " is not supported");
+		}
+		this.millis = input.readLong();
+	}
+
+	/**
+	 * Usage: BinaryLogDecoder file ...
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.err.println("Usage: java " + BinaryLogDecoder.class.getName() + " binary-log-file ...");
+			System.exit(1);
+		}
+		for (String path : args) {
+			BinaryLogDecoder decoder = new BinaryLogDecoder(new FileInputStream(path));
+			try {
+				decoder.decodeAll(System.out);
+			} finally {
+				decoder.close();
+			}
+		}
+	}
+
+	/**
+	 * Write all of the remaining events to the stream, one per line.
+	 */
+	public void decodeAll(PrintStream printStream) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		while (readEvent(sb)) {
+			printStream.println(sb);
+			sb.setLength(0);
+		}
+		printStream.flush();
+	}
+
+	/**
+	 * Read the next event, appending it to the buffer as text, and return true or return false if there are no more
+	 * events. A record that was cut off at the end of the file, such as from a crash, is ignored.
+	 */
+	public boolean readEvent(StringBuilder sb) throws IOException {
+		try {
+			while (true) {
+				int recordType = input.read();
+				switch (recordType) {
+					case -1:
+						return false;
+					case BinaryLogBackend.RECORD_TEMPLATE:
+						templates.put(readVarintInt(), MessageTemplate.parse(readString()));
+						break;
+					case BinaryLogBackend.RECORD_LOGGER:
+						loggerNames.put(readVarintInt(), LocalLogBackend.shortClassName(readString()));
+						break;
+					case BinaryLogBackend.RECORD_EVENT:
+					case BinaryLogBackend.RECORD_TEXT_EVENT:
+						readEvent(sb, (recordType == BinaryLogBackend.RECORD_EVENT));
+						return true;
+					default:
+						throw new IOException("Unknown binary log record type " + recordType);
+				}
+			}
+		} catch (EOFException eofe) {
+			return false;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		input.close();
+	}
+
+	private void readEvent(StringBuilder sb, boolean hasTemplate) throws IOException {
+		int levelByte = input.readUnsignedByte();
+		int levelOrdinal = (levelByte & ~BinaryLogBackend.THROWABLE_FLAG);
+		if (levelOrdinal >= LEVELS.length) {
+			throw new IOException("Unknown binary log level " + levelOrdinal);
+		}
+		millis += readSignedVarint();
+		String loggerName = lookup(loggerNames, readVarintInt(), "logger");
+		long epochSecond = Math.floorDiv(millis, 1000);
+		timestampFormatter.appendTimestamp(sb, epochSecond, (int) (millis - epochSecond * 1000) * 1000000);
+		sb.append(" [").append(LEVELS[levelOrdinal].name()).append("] ");
+		sb.append(loggerName).append(' ');
+		if (hasTemplate) {
+			appendTemplate(sb, lookup(templates, readVarintInt(), "template"));
+		} else {
+			sb.append(readString());
+		}
+		if ((levelByte & BinaryLogBackend.THROWABLE_FLAG) != 0) {
+			String stackTrace = readString();
+			// trim the final line separator since the caller adds its own
+			int length = stackTrace.length();
+			while (length > 0 && (stackTrace.charAt(length - 1) == '\n' || stackTrace.charAt(length - 1) == '\r')) {
+				length--;
+			}
+			sb.append(System.lineSeparator()).append(stackTrace, 0, length);
+		}
+	}
+
+	private void appendTemplate(StringBuilder sb, MessageTemplate template) throws IOException {
+		int argCount = readVarintInt();
+		int templateArgCount = template.getArgCount();
+		for (int i = 0; i < argCount || i < templateArgCount; i++) {
+			if (i < templateArgCount) {
+				template.appendSegment(sb, i);
+			}
+			if (i < argCount) {
+				// we have to read all of the args even if there are too many for the template
+				int start = sb.length();
+				appendArg(sb);
+				if (i >= templateArgCount) {
+					sb.setLength(start);
+				}
+			}
+		}
+		template.appendSegment(sb, templateArgCount);
+	}
+
+	private void appendArg(StringBuilder sb) throws IOException {
+		int argType = input.readUnsignedByte();
+		switch (argType) {
+			case BinaryLogBackend.ARG_NULL:
+				sb.append("null");
+				break;
+			case BinaryLogBackend.ARG_LONG:
+				sb.append(readSignedVarint());
+				break;
+			case BinaryLogBackend.ARG_DOUBLE:
+				sb.append(Double.longBitsToDouble(input.readLong()));
+				break;
+			case BinaryLogBackend.ARG_FLOAT:
+				sb.append(Float.intBitsToFloat(input.readInt()));
+				break;
+			case BinaryLogBackend.ARG_TRUE:
+				sb.append(true);
+				break;
+			case BinaryLogBackend.ARG_FALSE:
+				sb.append(false);
+				break;
+			case BinaryLogBackend.ARG_CHAR:
+				sb.append((char) readVarint());
+				break;
+			case BinaryLogBackend.ARG_STRING:
+				sb.append(readString());
+				break;
+			default:
+				throw new IOException("Unknown binary log argument type " + argType);
+		}
+	}
+
+	private <T> T lookup(Map<Integer, T> map, int id, String label) throws IOException {
+		T value = map.get(id);
+		if (value == null) {
+			throw new IOException("Binary log " + label + " id " + id + " was used before it was defined");
+		}
+		return value;
+	}
+
+	private long readVarint() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = input.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Binary log varint is too long");
+	}
+
+	private int readVarintInt() throws IOException {
+		return (int) readVarint();
+	}
+
+	private long readSignedVarint() throws IOException {
+		long value = readVarint();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private String readString() throws IOException {
+		int length = readVarintInt();
+		byte[] bytes = new byte[length];
+		input.readFully(bytes);
+		return new String(bytes, UTF8);
+	}
+}
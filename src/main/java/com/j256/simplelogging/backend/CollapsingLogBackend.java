@@ -0,0 +1,379 @@
+package com.j256.simplelogging.backend;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogBackend;
+import com.j256.simplelogging.LogBackendFactory;
+import com.j256.simplelogging.LogFields;
+import com.j256.simplelogging.LoggingMetrics;
+import com.j256.simplelogging.StringBuilderPool;
+import com.j256.simplelogging.StructuredLogBackend;
+import com.j256.simplelogging.TemplateLogBackend;
+
+/**
+ * Log backend decorator which collapses consecutive repeats of the same message from a logger. The first message is
+ * passed to the delegate backend and the repeats are counted and suppressed. When the burst ends, because a different
+ * message is logged or no repeats have been seen for the quiet time, a single "last message repeated N times in T ms"
+ * message is logged at the same level. If the repeats go on for longer than the maximum interval then the summary is
+ * logged at that interval so a continuous flood still shows up in the logs.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * Messages are compared by the hash-code of their template (the message before the {} expansion) along with their
+ * level so messages from the same template with different arguments are treated as repeats. There is no equality check
+ * so two different messages with the same hash-code will be collapsed although this is very unlikely. Since this
+ * backend gets the templates from the logger, the suppressed messages are never formatted.
+ * </p>
+ *
+ * <p>
+ * You can enable this for the discovered backend by setting {@code collapse.enabled = true} in the simplelogging
+ * properties file or you can wrap a specific factory with
+ * {@code LoggerFactory.setLogBackendFactory(new CollapsingLogBackendFactory(LogBackendType.LOGBACK))}.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class CollapsingLogBackend implements StructuredLogBackend, TemplateLogBackend {
+
+	private final LogBackend delegate;
+	private final CollapsingLogBackendFactory factory;
+	/** these are all protected by synchronizing on the backend */
+	private boolean hasLast;
+	private int lastHash;
+	private Level lastLevel;
+	private long repeatCount;
+	private long firstNanos;
+	private long lastNanos;
+	/** summary that is logged after the lock is released */
+	private Level summaryLevel;
+	private String summary;
+
+	public CollapsingLogBackend(LogBackend delegate, CollapsingLogBackendFactory factory) {
+		this.delegate = delegate;
+		this.factory = factory;
+	}
+
+	@Override
+	public boolean isLevelEnabled(Level level) {
+		return delegate.isLevelEnabled(level);
+	}
+
+	@Override
+	public void log(Level level, String msg) {
+		if (!checkRepeat(level, msg)) {
+			delegate.log(level, msg);
+		}
+	}
+
+	@Override
+	public void log(Level level, String msg, Throwable throwable) {
+		if (!checkRepeat(level, msg)) {
+			delegate.log(level, msg, throwable);
+		}
+	}
+
+	@Override
+	public void log(Level level, String msg, Throwable throwable, LogFields fields) {
+		if (checkRepeat(level, msg)) {
+			return;
+		}
+		if (delegate instanceof StructuredLogBackend) {
+			((StructuredLogBackend) delegate).log(level, msg, throwable, fields);
+			return;
+		}
+		StringBuilder sb = StringBuilderPool.acquire();
+		sb.append(msg);
+		fields.appendTo(sb);
+		logMessage(level, StringBuilderPool.toStringAndRelease(sb), throwable);
+	}
+
+	@Override
+	public void logTemplate(Level level, Throwable throwable, String template, Object[] args, int argCount) {
+		if (checkRepeat(level, template)) {
+			return;
+		}
+		if (delegate instanceof TemplateLogBackend) {
+			((TemplateLogBackend) delegate).logTemplate(level, throwable, template, args, argCount);
+		} else if (args == null) {
+			// the logger doesn't expand the {} if there are no arguments
+			logMessage(level, template, throwable);
+		} else {
+			logMessage(level, LogBackendUtil.formatTemplate(template, args, argCount), throwable);
+		}
+	}
+
+	/**
+	 * Return the backend that we are delegating to.
+	 */
+	public LogBackend getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Log the summary of any repeats that have not been reported and forget the last message.
+	 */
+	public void flush() {
+		Level summaryLevel = null;
+		String summary = null;
+		synchronized (this) {
+			if (repeatCount > 0) {
+				summaryLevel = lastLevel;
+				summary = buildSummary();
+			}
+			hasLast = false;
+			factory.pending.remove(this);
+		}
+		if (summary != null) {
+			delegate.log(summaryLevel, summary);
+		}
+	}
+
+	/**
+	 * Log the summary of the repeats if none have been seen for the quiet time.
+	 */
+	void flushIfQuiet(long nowNanos) {
+		synchronized (this) {
+			if (repeatCount == 0) {
+				factory.pending.remove(this);
+				return;
+			} else if (nowNanos - lastNanos < factory.quietNanos) {
+				return;
+			}
+		}
+		flush();
+	}
+
+	/**
+	 * Return true if the message is a repeat of the last one and should be suppressed. Only the decision is made while
+	 * synchronized on the backend. The summary of the previous burst, if any, is logged to the delegate afterwards so
+	 * slow delegates don't hold up the other threads that are logging through this backend.
+	 */
+	private boolean checkRepeat(Level level, String msg) {
+		int hash = hash(msg);
+		boolean repeat;
+		Level summaryLevel;
+		String summary;
+		synchronized (this) {
+			repeat = isRepeat(level, hash);
+			summaryLevel = this.summaryLevel;
+			summary = this.summary;
+			this.summaryLevel = null;
+			this.summary = null;
+		}
+		if (summary != null) {
+			delegate.log(summaryLevel, summary);
+		}
+		return repeat;
+	}
+
+	/**
+	 * Return true if the message is a repeat of the last one and should be suppressed. This sets the summary of the
+	 * previous burst if it needs to be logged. Must be called while synchronized on the backend.
+	 */
+	private boolean isRepeat(Level level, int hash) {
+		long now = System.nanoTime();
+		if (!factory.closed && hasLast && hash == lastHash && level == lastLevel) {
+			repeatCount++;
+			lastNanos = now;
+			if (repeatCount == 1) {
+				factory.addPending(this);
+			}
+			if (now - firstNanos >= factory.maxIntervalNanos) {
+				summaryLevel = lastLevel;
+				summary = buildSummary();
+				firstNanos = now;
+			}
+			LoggingMetrics.recordSuppressed();
+			return true;
+		}
+		if (repeatCount > 0) {
+			summaryLevel = lastLevel;
+			summary = buildSummary();
+		}
+		hasLast = true;
+		lastHash = hash;
+		lastLevel = level;
+		firstNanos = now;
+		lastNanos = now;
+		return false;
+	}
+
+	/**
+	 * Return the summary message of the repeats and reset the count. Must be called while synchronized on the backend.
+	 */
+	private String buildSummary() {
+		long millis = TimeUnit.NANOSECONDS.toMillis(lastNanos - firstNanos);
+		String msg = "last message repeated " + repeatCount + " times in " + millis + " ms";
+		repeatCount = 0;
+		return msg;
+	}
+
+	private void logMessage(Level level, String msg, Throwable throwable) {
+		if (throwable == null) {
+			delegate.log(level, msg);
+		} else {
+			delegate.log(level, msg, throwable);
+		}
+	}
+
+	private static int hash(String msg) {
+		if (msg == null) {
+			return 0;
+		} else {
+			// strings cache their hash-code so constant templates only compute it once
+			return msg.hashCode();
+		}
+	}
+
+	/**
+	 * Factory for generating CollapsingLogBackend instances which wrap the backends from another factory. The factory
+	 * starts a daemon thread the first time a message is repeated which logs the summaries of the bursts that have gone
+	 * quiet. Call {@link #close()} to stop the thread when the factory is no longer being used.
+	 */
+	public static class CollapsingLogBackendFactory implements LogBackendFactory {
+
+		/** default milliseconds after which the summary of a continuing burst is logged */
+		public static final long DEFAULT_MAX_INTERVAL_MILLIS = 60000;
+		/** default milliseconds without a repeat after which a burst is considered over */
+		public static final long DEFAULT_QUIET_MILLIS = 1000;
+
+		private final LogBackendFactory delegateFactory;
+		private final long quietMillis;
+		final long maxIntervalNanos;
+		final long quietNanos;
+		/** backends that have repeats which have not been summarized */
+		final Set<CollapsingLogBackend> pending = ConcurrentHashMap.newKeySet();
+		private volatile Thread thread;
+		private Thread shutdownHook;
+		volatile boolean closed;
+
+		public CollapsingLogBackendFactory(LogBackendFactory delegateFactory) {
+			this(delegateFactory, DEFAULT_MAX_INTERVAL_MILLIS, DEFAULT_QUIET_MILLIS);
+		}
+
+		/**
+		 * @param maxIntervalMillis
+		 *            Milliseconds after which the summary of a burst that is still going on is logged.
+		 * @param quietMillis
+		 *            Milliseconds without a repeat after which the burst is over and its summary is logged.
+		 */
+		public CollapsingLogBackendFactory(LogBackendFactory delegateFactory, long maxIntervalMillis,
+				long quietMillis) {
+			this.delegateFactory = delegateFactory;
+			this.quietMillis = Math.max(1, quietMillis);
+			this.maxIntervalNanos = TimeUnit.MILLISECONDS.toNanos(maxIntervalMillis);
+			this.quietNanos = TimeUnit.MILLISECONDS.toNanos(this.quietMillis);
+		}
+
+		@Override
+		public boolean isAvailable() {
+			return delegateFactory.isAvailable();
+		}
+
+		@Override
+		public LogBackend createLogBackend(String classLabel) {
+			return new CollapsingLogBackend(delegateFactory.createLogBackend(classLabel), this);
+		}
+
+		/**
+		 * Return the factory that we are delegating to.
+		 */
+		public LogBackendFactory getDelegateFactory() {
+			return delegateFactory;
+		}
+
+		/**
+		 * Log the summaries of all of the repeats that have not been reported.
+		 */
+		public void flush() {
+			for (CollapsingLogBackend backend : pending) {
+				backend.flush();
+			}
+		}
+
+		/**
+		 * Log the summaries of the repeats, stop the thread, and remove its shutdown hook. The backends stop collapsing
+		 * messages after this.
+		 */
+		public void close() {
+			Thread thread;
+			Thread shutdownHook;
+			synchronized (this) {
+				closed = true;
+				thread = this.thread;
+				shutdownHook = this.shutdownHook;
+				this.shutdownHook = null;
+			}
+			if (thread != null) {
+				thread.interrupt();
+				try {
+					thread.join();
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (shutdownHook != null) {
+				try {
+					Runtime.getRuntime().removeShutdownHook(shutdownHook);
+				} catch (IllegalStateException ise) {
+					// the JVM is already shutting down
+				}
+			}
+			flush();
+		}
+
+		void addPending(CollapsingLogBackend backend) {
+			pending.add(backend);
+			if (thread == null) {
+				startThread();
+			}
+		}
+
+		private synchronized void startThread() {
+			if (thread != null || closed) {
+				return;
+			}
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					flushQuietLoop();
+				}
+			}, CollapsingLogBackend.class.getSimpleName());
+			thread.setDaemon(true);
+			thread.start();
+			this.thread = thread;
+			this.shutdownHook = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					flush();
+				}
+			}, CollapsingLogBackend.class.getSimpleName() + "-shutdown");
+			Runtime.getRuntime().addShutdownHook(shutdownHook);
+		}
+
+		private void flushQuietLoop() {
+			// checking twice in the quiet time means the summaries are at most 50% late
+			long sleepMillis = Math.max(1, quietMillis / 2);
+			while (!closed) {
+				try {
+					Thread.sleep(sleepMillis);
+				} catch (InterruptedException ie) {
+					// we are interrupted when the factory is closed
+					continue;
+				}
+				long now = System.nanoTime();
+				for (CollapsingLogBackend backend : pending) {
+					try {
+						backend.flushIfQuiet(now);
+					} catch (RuntimeException re) {
+						// ignored I guess, we don't want a bad backend to kill the thread
+					}
+				}
+			}
+		}
+	}
+}
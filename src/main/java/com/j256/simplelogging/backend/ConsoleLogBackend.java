@@ -3,6 +3,7 @@ package com.j256.simplelogging.backend;
 import com.j256.simplelogging.Level;
 import com.j256.simplelogging.LogBackend;
 import com.j256.simplelogging.LogBackendFactory;
+import com.j256.simplelogging.StringBuilderPool;
 
 /**
  * Log backend that writes to the console.
@@ -31,7 +32,9 @@ public class ConsoleLogBackend implements LogBackend {
 	@Override
 	public void log(Level level, String msg) {
 		// we do this so the print is one IO operation and not 2 with the newline
-		String output = className + ' ' + level + ' ' + msg + LINE_SEPARATOR;
+		StringBuilder sb = StringBuilderPool.acquire();
+		sb.append(className).append(' ').append(level.name()).append(' ').append(msg).append(LINE_SEPARATOR);
+		String output = StringBuilderPool.toStringAndRelease(sb);
 		if (SYSTEM_ERROR_LEVEL.isEnabled(level)) {
 			System.err.print(output);
 		} else {
@@ -0,0 +1,245 @@
+package com.j256.simplelogging.backend;
+
+import java.util.Arrays;
+
+/**
+ * Streaming encoder that writes a JSON object as UTF-8 straight into a reusable byte buffer. Strings are escaped and
+ * encoded one character at a time so no intermediate strings or byte arrays are created. This is only used for writing
+ * so it supports just the flat objects that are needed for log lines.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * <b>NOTE:</b> this is not thread-safe and is designed to be reset and reused for each line.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class JsonEncoder {
+
+	private static final int DEFAULT_BUFFER_LENGTH = 512;
+	private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes();
+	private static final byte[] NULL_BYTES = "null".getBytes();
+	private static final byte[] TRUE_BYTES = "true".getBytes();
+	private static final byte[] FALSE_BYTES = "false".getBytes();
+
+	private byte[] buffer;
+	private int length;
+	/** true if the next field is the first in the object and doesn't need a comma */
+	private boolean firstField;
+
+	public JsonEncoder() {
+		this.buffer = new byte[DEFAULT_BUFFER_LENGTH];
+	}
+
+	/**
+	 * Clear the buffer so it can be reused.
+	 */
+	public void reset() {
+		length = 0;
+	}
+
+	/**
+	 * Return the buffer holding the encoded bytes from 0 to {@link #getLength()}.
+	 */
+	public byte[] getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * Return the number of encoded bytes in the buffer.
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	public void startObject() {
+		writeByte('{');
+		firstField = true;
+	}
+
+	public void endObject() {
+		writeByte('}');
+	}
+
+	/**
+	 * Write a newline character. This does not use the system line separator because JSON Lines requires \n.
+	 */
+	public void newline() {
+		writeByte('\n');
+	}
+
+	/**
+	 * Write the key of a field along with any separating comma. This must be followed by one of the value methods.
+	 */
+	public void key(String key) {
+		if (firstField) {
+			firstField = false;
+		} else {
+			writeByte(',');
+		}
+		writeString(key);
+		writeByte(':');
+	}
+
+	/**
+	 * Write a string value which is escaped and quoted or null.
+	 */
+	public void value(CharSequence value) {
+		if (value == null) {
+			writeBytes(NULL_BYTES);
+		} else {
+			writeString(value);
+		}
+	}
+
+	public void value(long value) {
+		if (value == Long.MIN_VALUE) {
+			// can't negate it
+			rawValue(Long.toString(value));
+			return;
+		}
+		if (value < 0) {
+			writeByte('-');
+			value = -value;
+		}
+		ensureCapacity(19);
+		// find the number of digits so we can write them from the end
+		int digits = 1;
+		for (long pow = 10; digits < 19 && value >= pow; pow *= 10) {
+			digits++;
+		}
+		int pos = length + digits;
+		do {
+			buffer[--pos] = (byte) ('0' + (value % 10));
+			value /= 10;
+		} while (value > 0);
+		length += digits;
+	}
+
+	/**
+	 * Write a double value. NaN and infinite values, which aren't valid JSON numbers, are written as strings.
+	 */
+	public void value(double value) {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			writeString(Double.toString(value));
+		} else {
+			rawValue(Double.toString(value));
+		}
+	}
+
+	public void value(boolean value) {
+		writeBytes(value ? TRUE_BYTES : FALSE_BYTES);
+	}
+
+	public void nullValue() {
+		writeBytes(NULL_BYTES);
+	}
+
+	/**
+	 * Write a value that is already valid JSON such as the digits of a number.
+	 */
+	void rawValue(CharSequence value) {
+		int valueLength = value.length();
+		ensureCapacity(valueLength);
+		for (int i = 0; i < valueLength; i++) {
+			buffer[length++] = (byte) value.charAt(i);
+		}
+	}
+
+	private void writeString(CharSequence str) {
+		int strLength = str.length();
+		// most characters are 1 byte so this is usually the only check
+		ensureCapacity(strLength + 2);
+		buffer[length++] = '"';
+		for (int i = 0; i < strLength; i++) {
+			char ch = str.charAt(i);
+			if (ch < 0x80) {
+				if (ch == '"' || ch == '\\') {
+					writeByte('\\');
+					writeByte(ch);
+				} else if (ch >= 0x20) {
+					writeByte(ch);
+				} else {
+					writeControlChar(ch);
+				}
+			} else if (ch < 0x800) {
+				ensureCapacity(2);
+				buffer[length++] = (byte) (0xC0 | (ch >> 6));
+				buffer[length++] = (byte) (0x80 | (ch & 0x3F));
+			} else if (Character.isHighSurrogate(ch) && i + 1 < strLength
+					&& Character.isLowSurrogate(str.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(ch, str.charAt(++i));
+				ensureCapacity(4);
+				buffer[length++] = (byte) (0xF0 | (codePoint >> 18));
+				buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				buffer[length++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else if (Character.isSurrogate(ch)) {
+				// unpaired surrogate so write it escaped since it isn't valid UTF-8
+				writeUnicodeEscape(ch);
+			} else {
+				ensureCapacity(3);
+				buffer[length++] = (byte) (0xE0 | (ch >> 12));
+				buffer[length++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+				buffer[length++] = (byte) (0x80 | (ch & 0x3F));
+			}
+		}
+		writeByte('"');
+	}
+
+	private void writeControlChar(char ch) {
+		switch (ch) {
+			case '\n':
+				writeByte('\\');
+				writeByte('n');
+				break;
+			case '\r':
+				writeByte('\\');
+				writeByte('r');
+				break;
+			case '\t':
+				writeByte('\\');
+				writeByte('t');
+				break;
+			case '\b':
+				writeByte('\\');
+				writeByte('b');
+				break;
+			case '\f':
+				writeByte('\\');
+				writeByte('f');
+				break;
+			default:
+				writeUnicodeEscape(ch);
+				break;
+		}
+	}
+
+	private void writeUnicodeEscape(char ch) {
+		ensureCapacity(6);
+		buffer[length++] = '\\';
+		buffer[length++] = 'u';
+		buffer[length++] = HEX_DIGITS[(ch >> 12) & 0xF];
+		buffer[length++] = HEX_DIGITS[(ch >> 8) & 0xF];
+		buffer[length++] = HEX_DIGITS[(ch >> 4) & 0xF];
+		buffer[length++] = HEX_DIGITS[ch & 0xF];
+	}
+
+	private void writeBytes(byte[] bytes) {
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, buffer, length, bytes.length);
+		length += bytes.length;
+	}
+
+	private void writeByte(int ch) {
+		ensureCapacity(1);
+		buffer[length++] = (byte) ch;
+	}
+
+	private void ensureCapacity(int needed) {
+		if (length + needed > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + needed));
+		}
+	}
+}
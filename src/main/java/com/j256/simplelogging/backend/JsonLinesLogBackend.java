@@ -0,0 +1,300 @@
+package com.j256.simplelogging.backend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogBackend;
+import com.j256.simplelogging.LogBackendFactory;
+import com.j256.simplelogging.LogFields;
+import com.j256.simplelogging.LoggerConstants;
+import com.j256.simplelogging.LoggingMetrics;
+import com.j256.simplelogging.ObjectPool;
+import com.j256.simplelogging.PropertyUtils;
+import com.j256.simplelogging.StringBuilderPool;
+import com.j256.simplelogging.StructuredLogBackend;
+import com.j256.simplelogging.backend.NullLogBackend.NullLogBackendFactory;
+
+/**
+ * Log backend that writes each message as a JSON object on its own line, also known as JSON Lines, so the output can be
+ * read by log shippers without parsing free text. The objects have the fields: timestamp, level, logger, message,
+ * throwable (if any) followed by any structured fields from {@link com.j256.simplelogging.FluentContext#field}. The
+ * lines are encoded by a {@link JsonEncoder} straight into a reused byte buffer. The levels use the
+ * {@link LocalLogBackend} configuration.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <pre>
+ * {"timestamp":"2026-01-02T03:04:05.678Z","level":"INFO","logger":"com.foo.Bar","message":"done","status":200}
+ * </pre>
+ *
+ * <p>
+ * The output goes to stdout unless a file path is set with the {@link LoggerConstants#JSON_LOG_FILE_PROPERTY} system
+ * property or the {@code json.file.path} property in the properties file. Files are written with a
+ * {@link LogFileWriter}. The timestamp format defaults to ISO8601 and can be changed with the
+ * {@code json.timestamp.format} property. See {@link TimestampFormatter} for the supported values. The epoch formats
+ * are written as numbers.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class JsonLinesLogBackend implements StructuredLogBackend {
+
+	/** properties file path of the log file */
+	public static final String JSON_FILE_PATH_PROPERTY = "json.file.path";
+	/** properties file format of the timestamps */
+	public static final String JSON_TIMESTAMP_FORMAT_PROPERTY = "json.timestamp.format";
+
+	private static final ObjectPool<JsonEncoder> encoderPool =
+			ObjectPool.perProcessor(LoggerConstants.BUFFER_POOL_SIZE_PER_PROCESSOR);
+
+	private final JsonLinesLogBackendFactory factory;
+	private final String className;
+	private final LocalLogLevel level;
+
+	public JsonLinesLogBackend(JsonLinesLogBackendFactory factory, String className) {
+		this.factory = factory;
+		this.className = className;
+		this.level = new LocalLogLevel(className);
+	}
+
+	@Override
+	public boolean isLevelEnabled(Level level) {
+		return this.level.isEnabled(level);
+	}
+
+	@Override
+	public void log(Level level, String msg) {
+		printMessage(level, msg, null, null);
+	}
+
+	@Override
+	public void log(Level level, String msg, Throwable throwable) {
+		printMessage(level, msg, throwable, null);
+	}
+
+	@Override
+	public void log(Level level, String msg, Throwable throwable, LogFields fields) {
+		printMessage(level, msg, throwable, fields);
+	}
+
+	private void printMessage(Level level, String message, Throwable throwable, LogFields fields) {
+		if (!isLevelEnabled(level)) {
+			return;
+		}
+		JsonEncoder encoder = encoderPool.acquire();
+		if (encoder == null) {
+			encoder = new JsonEncoder();
+		}
+		encoder.startObject();
+		StringBuilder sb = StringBuilderPool.acquire();
+		TimestampFormatter timestampFormatter = factory.timestampFormatter;
+		timestampFormatter.appendTimestamp(sb);
+		encoder.key("timestamp");
+		if (timestampFormatter.isEpoch()) {
+			encoder.rawValue(sb);
+		} else {
+			encoder.value(sb);
+		}
+		encoder.key("level");
+		encoder.value(level.name());
+		encoder.key("logger");
+		encoder.value(className);
+		encoder.key("message");
+		encoder.value(message);
+		if (throwable != null) {
+			sb.setLength(0);
+			LogBackendUtil.appendThrowable(sb, throwable);
+			encoder.key("throwable");
+			encoder.value(sb);
+		}
+		if (fields != null) {
+			appendFields(encoder, fields, sb);
+		}
+		StringBuilderPool.release(sb);
+		encoder.endObject();
+		encoder.newline();
+
+		factory.write(level, encoder.getBuffer(), encoder.getLength());
+		if (encoder.getBuffer().length <= LoggerConstants.MAX_POOLED_BUFFER_LENGTH) {
+			encoder.reset();
+			encoderPool.release(encoder);
+		}
+	}
+
+	private void appendFields(JsonEncoder encoder, LogFields fields, StringBuilder sb) {
+		for (int i = 0; i < fields.size(); i++) {
+			encoder.key(fields.getKey(i));
+			switch (fields.getType(i)) {
+				case LONG:
+					encoder.value(fields.getLong(i));
+					break;
+				case DOUBLE:
+					encoder.value(fields.getDouble(i));
+					break;
+				case BOOLEAN:
+					encoder.value(fields.getBoolean(i));
+					break;
+				case OBJECT:
+				default:
+					Object value = fields.getObject(i);
+					if (value == null) {
+						encoder.nullValue();
+					} else if (value instanceof Boolean) {
+						encoder.value(((Boolean) value).booleanValue());
+					} else if (value instanceof Long || value instanceof Integer || value instanceof Short
+							|| value instanceof Byte) {
+						encoder.value(((Number) value).longValue());
+					} else if (value instanceof Double || value instanceof Float) {
+						encoder.value(((Number) value).doubleValue());
+					} else {
+						// render it like the message arguments
+						sb.setLength(0);
+						fields.appendValue(sb, i);
+						encoder.value(sb);
+					}
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Factory for generating JsonLinesLogBackend instances. All of the backends from a factory write to the same file
+	 * or stream.
+	 */
+	public static class JsonLinesLogBackendFactory implements LogBackendFactory {
+
+		private final File file;
+		private final OutputStream outputStream;
+		private final TimestampFormatter timestampFormatter;
+		private volatile LogFileWriter fileWriter;
+
+		/**
+		 * Create a factory that uses the file path and timestamp format from the system property or the properties
+		 * file. If there is no file path then the lines are written to stdout.
+		 */
+		public JsonLinesLogBackendFactory() {
+			this(configuredFile(), System.out, configuredTimestampFormatter());
+		}
+
+		/**
+		 * Create a factory that writes the lines to the file using ISO8601 timestamps.
+		 */
+		public JsonLinesLogBackendFactory(File file) {
+			this(file, null, new TimestampFormatter(TimestampFormatter.ISO8601_FORMAT));
+		}
+
+		/**
+		 * Create a factory that writes the lines to the stream using the timestamp formatter.
+		 */
+		public JsonLinesLogBackendFactory(OutputStream outputStream, TimestampFormatter timestampFormatter) {
+			this(null, outputStream, timestampFormatter);
+		}
+
+		private JsonLinesLogBackendFactory(File file, OutputStream outputStream,
+				TimestampFormatter timestampFormatter) {
+			this.file = file;
+			this.outputStream = outputStream;
+			this.timestampFormatter = timestampFormatter;
+		}
+
+		@Override
+		public boolean isAvailable() {
+			// always available
+			return true;
+		}
+
+		@Override
+		public LogBackend createLogBackend(String classLabel) {
+			return new JsonLinesLogBackend(this, classLabel);
+		}
+
+		/**
+		 * Return the file that the backends write to or null if they write to a stream.
+		 */
+		public File getFile() {
+			return file;
+		}
+
+		/**
+		 * Write any buffered lines to the file or stream.
+		 */
+		public void flush() {
+			LogFileWriter writer = fileWriter;
+			if (writer != null) {
+				writer.flush();
+			}
+		}
+
+		/**
+		 * Close the file. The next line that is logged will reopen it.
+		 */
+		public void close() {
+			LogFileWriter writer;
+			synchronized (this) {
+				writer = fileWriter;
+				fileWriter = null;
+			}
+			if (writer != null) {
+				writer.close();
+			}
+		}
+
+		void write(Level level, byte[] bytes, int length) {
+			if (file == null) {
+				synchronized (outputStream) {
+					try {
+						outputStream.write(bytes, 0, length);
+						outputStream.flush();
+						LoggingMetrics.recordBytesWritten(length);
+					} catch (IOException ioe) {
+						// ignored, the line is dropped since there is nowhere to report it
+					}
+				}
+			} else {
+				getFileWriter().write(level, bytes, 0, length);
+			}
+		}
+
+		private LogFileWriter getFileWriter() {
+			LogFileWriter writer = fileWriter;
+			if (writer == null) {
+				synchronized (this) {
+					writer = fileWriter;
+					if (writer == null) {
+						try {
+							writer = new LogFileWriter(file);
+						} catch (IOException e) {
+							throw new IllegalArgumentException("JSON log file " + file + " could not be opened", e);
+						}
+						fileWriter = writer;
+					}
+				}
+			}
+			return writer;
+		}
+
+		private static File configuredFile() {
+			String path = System.getProperty(LoggerConstants.JSON_LOG_FILE_PROPERTY);
+			if (path == null) {
+				// this is created while the LogBackendType enum is initializing so we can't use LogBackendType.NULL
+				path = PropertyUtils.readProperty(NullLogBackendFactory.getSingleton(), JSON_FILE_PATH_PROPERTY);
+			}
+			if (path == null) {
+				return null;
+			} else {
+				return new File(path);
+			}
+		}
+
+		private static TimestampFormatter configuredTimestampFormatter() {
+			TimestampFormatter formatter = PropertyUtils.readTimestampFormatProperty(
+					NullLogBackendFactory.getSingleton(), JSON_TIMESTAMP_FORMAT_PROPERTY);
+			if (formatter == null) {
+				formatter = new TimestampFormatter(TimestampFormatter.ISO8601_FORMAT);
+			}
+			return formatter;
+		}
+	}
+}
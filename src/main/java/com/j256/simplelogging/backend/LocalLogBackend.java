@@ -1,21 +1,19 @@
 package com.j256.simplelogging.backend;
 
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintStream;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.j256.simplelogging.Level;
 import com.j256.simplelogging.LogBackend;
 import com.j256.simplelogging.LogBackendFactory;
-import com.j256.simplelogging.LogBackendType;
 import com.j256.simplelogging.LoggerConstants;
 import com.j256.simplelogging.PropertyUtils;
 import com.j256.simplelogging.PropertyUtils.PatternLevel;
+import com.j256.simplelogging.StringBuilderPool;
+import com.j256.simplelogging.backend.NullLogBackend.NullLogBackendFactory;
 
 /**
  * Simple log backend that uses logging classes if they are not available.
@@ -43,21 +41,54 @@ import com.j256.simplelogging.PropertyUtils.PatternLevel;
  * localog.com\.foo\.yourclass\.StatementExecutor = TRACE
  * </pre>
  * 
+ * <p>
+ * The patterns can be replaced while the application is running with {@link #setClassLevels(List)} or by a
+ * {@link com.j256.simplelogging.PropertiesWatcher} and the existing backends pick up their new levels.
+ * </p>
+ * 
+ * <p>
+ * When logging to a file, the lines are buffered and written in groups by a {@link LogFileWriter}. The
+ * {@code local.file.flush.bytes}, {@code local.file.flush.millis}, {@code local.file.flush.level}, and
+ * {@code local.file.fsync} properties in the properties file control when the buffer is written and whether the file is
+ * forced to disk.
+ * </p>
+ * 
+ * <p>
+ * The timestamp format can be changed with the {@code local.timestamp.format} property in the properties file. See
+ * {@link TimestampFormatter} for the supported values.
+ * </p>
+ * 
  * @author graywatson
  */
 public class LocalLogBackend implements LogBackend {
 
+	/** number of buffered bytes that causes them to be written to the log file */
+	public static final String LOCAL_FILE_FLUSH_BYTES_PROPERTY = "local.file.flush.bytes";
+	/** milliseconds between writes of the buffered bytes to the log file, 0 for none */
+	public static final String LOCAL_FILE_FLUSH_MILLIS_PROPERTY = "local.file.flush.millis";
+	/** level at or above which lines are written to the log file immediately */
+	public static final String LOCAL_FILE_FLUSH_LEVEL_PROPERTY = "local.file.flush.level";
+	/** set to true to force the log file to disk after each write */
+	public static final String LOCAL_FILE_FSYNC_PROPERTY = "local.file.fsync";
+
 	private static final Level DEFAULT_LEVEL = Level.DEBUG;
-	// used with clone()
-	private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS");
+	private static final TimestampFormatter timestampFormatter;
 	private static PrintStream printStream;
-	private static final List<PatternLevel> classLevels;
+	private static volatile LogFileWriter fileWriter;
+	private static volatile List<PatternLevel> classLevels;
 
 	private final String className;
-	private final Level level;
+	private final LocalLogLevel level;
 
 	static {
-		classLevels = PropertyUtils.readLocalLogPatterns(LogBackendType.NULL);
+		// this can be loaded while the LogBackendType enum is being initialized so we can't use LogBackendType.NULL
+		LogBackendFactory nullFactory = NullLogBackendFactory.getSingleton();
+		classLevels = PropertyUtils.readLocalLogPatterns(nullFactory);
+		TimestampFormatter formatter = PropertyUtils.readLocalTimestampFormatProperty(nullFactory);
+		if (formatter == null) {
+			formatter = new TimestampFormatter(TimestampFormatter.DEFAULT_FORMAT);
+		}
+		timestampFormatter = formatter;
 
 		/*
 		 * We need to do this here otherwise each logger has their own open PrintStream to the file and the messages can
@@ -68,14 +99,41 @@ public class LocalLogBackend implements LogBackend {
 	}
 
 	public LocalLogBackend(String className) {
-		// get the last part of the class name
+		this.className = shortClassName(className);
+		this.level = new LocalLogLevel(className);
+	}
+
+	/**
+	 * Return the last part of the class name.
+	 */
+	static String shortClassName(String className) {
 		int index = className.lastIndexOf('.');
 		if (index < 0 || index == className.length() - 1) {
-			this.className = className;
+			return className;
 		} else {
-			this.className = className.substring(index + 1);
+			return className.substring(index + 1);
 		}
+	}
+
+	/**
+	 * Replace the class level patterns that are read from the properties file at startup. The existing backends pick
+	 * up their new levels the next time their levels are checked. Set to null to remove all of the patterns.
+	 */
+	public static void setClassLevels(List<PatternLevel> classLevels) {
+		LocalLogBackend.classLevels = classLevels;
+	}
+
+	/**
+	 * Return the class level patterns or null if none.
+	 */
+	public static List<PatternLevel> getClassLevels() {
+		return classLevels;
+	}
 
+	/**
+	 * Return the level configured for the class from the patterns or the level system property.
+	 */
+	static Level levelForClass(String className, List<PatternLevel> classLevels) {
 		Level level = null;
 		if (classLevels != null) {
 			for (PatternLevel patternLevel : classLevels) {
@@ -102,22 +160,57 @@ public class LocalLogBackend implements LogBackend {
 				}
 			}
 		}
-		this.level = level;
+		return level;
+	}
+
+	/**
+	 * Append the timestamp, level, and class name that start each log line.
+	 */
+	static void appendLinePrefix(StringBuilder sb, Level level, String shortClassName) {
+		timestampFormatter.appendTimestamp(sb);
+		sb.append(" [").append(level.name()).append("] ");
+		sb.append(shortClassName).append(' ');
+	}
+
+	/**
+	 * Append a line separator followed by the stack trace of the throwable without a trailing line separator.
+	 */
+	static void appendStackTrace(StringBuilder sb, Throwable throwable) {
+		sb.append(System.lineSeparator());
+		LogBackendUtil.appendThrowable(sb, throwable);
+		// trim the final line separator
+		sb.setLength(sb.length() - System.lineSeparator().length());
 	}
 
 	/**
 	 * Reopen the associated static logging stream. Set to null to redirect to System.out.
 	 */
 	public static void openLogFile(String logPath) {
+		LogFileWriter oldWriter = fileWriter;
 		if (logPath == null) {
 			printStream = System.out;
+			fileWriter = null;
 		} else {
+			LogBackendFactory nullFactory = NullLogBackendFactory.getSingleton();
+			int flushBytes = PropertyUtils.readIntProperty(nullFactory, LOCAL_FILE_FLUSH_BYTES_PROPERTY,
+					LogFileWriter.DEFAULT_FLUSH_BYTES);
+			int flushMillis = PropertyUtils.readIntProperty(nullFactory, LOCAL_FILE_FLUSH_MILLIS_PROPERTY,
+					(int) LogFileWriter.DEFAULT_FLUSH_MILLIS);
+			Level flushLevel =
+					Level.fromString(PropertyUtils.readProperty(nullFactory, LOCAL_FILE_FLUSH_LEVEL_PROPERTY));
+			if (flushLevel == null) {
+				flushLevel = LogFileWriter.DEFAULT_FLUSH_LEVEL;
+			}
+			boolean fsync = PropertyUtils.readBooleanProperty(nullFactory, LOCAL_FILE_FSYNC_PROPERTY, false);
 			try {
-				printStream = new PrintStream(new File(logPath));
-			} catch (FileNotFoundException e) {
+				fileWriter = new LogFileWriter(new File(logPath), flushBytes, flushMillis, flushLevel, fsync);
+			} catch (IOException e) {
 				throw new IllegalArgumentException("Log file " + logPath + " was not found", e);
 			}
 		}
+		if (oldWriter != null) {
+			oldWriter.close();
+		}
 	}
 
 	@Override
@@ -139,23 +232,32 @@ public class LocalLogBackend implements LogBackend {
 	 * Flush any IO to disk. For testing purposes.
 	 */
 	void flush() {
-		printStream.flush();
+		LogFileWriter writer = fileWriter;
+		if (writer == null) {
+			printStream.flush();
+		} else {
+			writer.flush();
+		}
 	}
 
 	private void printMessage(Level level, String message, Throwable throwable) {
 		if (!isLevelEnabled(level)) {
 			return;
 		}
-		StringBuilder sb = new StringBuilder(128);
-		DateFormat dateFormat = (DateFormat) DATE_FORMAT.clone();
-		sb.append(dateFormat.format(new Date()));
-		sb.append(" [").append(level.name()).append("] ");
-		sb.append(className).append(' ');
+		StringBuilder sb = StringBuilderPool.acquire();
+		appendLinePrefix(sb, level, className);
 		sb.append(message);
-		printStream.println(sb.toString());
 		if (throwable != null) {
-			throwable.printStackTrace(printStream);
+			// write the stack trace with the message so the lines from other threads are not interleaved
+			appendStackTrace(sb, throwable);
+		}
+		LogFileWriter writer = fileWriter;
+		if (writer == null) {
+			printStream.println(StringBuilderPool.toStringAndRelease(sb));
+			return;
 		}
+		writer.writeLine(level, sb);
+		StringBuilderPool.release(sb);
 	}
 
 	/**
@@ -0,0 +1,61 @@
+package com.j256.simplelogging.backend;
+
+import java.util.List;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.PropertyUtils.PatternLevel;
+
+/**
+ * Level of a class from the {@link LocalLogBackend} configuration which is used by the backends that share it. When
+ * the level patterns are replaced with {@link LocalLogBackend#setClassLevels(List)}, the level is recalculated the next
+ * time it is checked. The check is a volatile read of the patterns and of the resolved level with no locking.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * @author graywatson
+ */
+class LocalLogLevel {
+
+	private final String className;
+	private volatile Resolved resolved;
+
+	public LocalLogLevel(String className) {
+		this.className = className;
+		List<PatternLevel> classLevels = LocalLogBackend.getClassLevels();
+		this.resolved = new Resolved(classLevels, LocalLogBackend.levelForClass(className, classLevels));
+	}
+
+	/**
+	 * Return true if the level is enabled for the class.
+	 */
+	public boolean isEnabled(Level level) {
+		return getLevel().isEnabled(level);
+	}
+
+	/**
+	 * Return the level of the class, recalculating it if the patterns have changed.
+	 */
+	public Level getLevel() {
+		Resolved resolved = this.resolved;
+		List<PatternLevel> classLevels = LocalLogBackend.getClassLevels();
+		if (resolved.classLevels != classLevels) {
+			// racing threads may both calculate it but they get the same answer
+			resolved = new Resolved(classLevels, LocalLogBackend.levelForClass(className, classLevels));
+			this.resolved = resolved;
+		}
+		return resolved.level;
+	}
+
+	/**
+	 * The patterns along with the level that was calculated from them so they can be swapped together.
+	 */
+	private static class Resolved {
+		final List<PatternLevel> classLevels;
+		final Level level;
+
+		public Resolved(List<PatternLevel> classLevels, Level level) {
+			this.classLevels = classLevels;
+			this.level = level;
+		}
+	}
+}
@@ -1,17 +1,32 @@
 package com.j256.simplelogging.backend;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+
 import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogArgumentCreator;
 import com.j256.simplelogging.LogBackend;
 import com.j256.simplelogging.LogBackendFactory;
+import com.j256.simplelogging.MessageTemplate;
+import com.j256.simplelogging.TemplateLogBackend;
 
 /**
  * Log backend that delegates to Apache Log4j2.
  * 
  * From SimpleLogging: https://github.com/j256/simplelogging
  *
+ * <p>
+ * Message templates and their arguments are passed to log4j2's parameterized methods so the {} expansion is done by
+ * log4j2 with its garbage-free messages and, if it is configured to do so, on its async logger thread. Log4j2 renders
+ * some arguments differently from us such as dates, collections of arrays, and escaped \{} so the templates and
+ * arguments are checked first and any message which log4j2 would render differently is formatted by us.
+ * </p>
+ *
  * @author graywatson
  */
-public class Log4j2LogBackend implements LogBackend {
+public class Log4j2LogBackend implements TemplateLogBackend {
 
 	private final org.apache.logging.log4j.Logger logger;
 
@@ -91,6 +106,118 @@ public class Log4j2LogBackend implements LogBackend {
 		}
 	}
 
+	@Override
+	public void logTemplate(Level level, Throwable throwable, String template, Object[] args, int argCount) {
+		if (args == null) {
+			// the logger doesn't expand the {} if there are no arguments
+			logMessage(level, template, throwable);
+			return;
+		}
+		MessageTemplate messageTemplate = MessageTemplate.fromMessage(template);
+		if (!isSafeTemplate(messageTemplate, args, argCount)) {
+			logMessage(level, LogBackendUtil.formatTemplate(template, args, argCount), throwable);
+			return;
+		}
+		org.apache.logging.log4j.Level log4jLevel = levelToLog4jLevel(level);
+		/*
+		 * The throwable is passed as an extra argument after the arguments which log4j2 uses as the throwable. We use
+		 * the unrolled methods when we can so log4j2 doesn't hold onto our argument array which may be reused.
+		 */
+		int paramCount = (throwable == null ? argCount : argCount + 1);
+		switch (paramCount) {
+			case 1:
+				logger.log(log4jLevel, template, param(0, args, argCount, throwable));
+				break;
+			case 2:
+				logger.log(log4jLevel, template, param(0, args, argCount, throwable),
+						param(1, args, argCount, throwable));
+				break;
+			case 3:
+				logger.log(log4jLevel, template, param(0, args, argCount, throwable),
+						param(1, args, argCount, throwable), param(2, args, argCount, throwable));
+				break;
+			case 4:
+				logger.log(log4jLevel, template, param(0, args, argCount, throwable),
+						param(1, args, argCount, throwable), param(2, args, argCount, throwable),
+						param(3, args, argCount, throwable));
+				break;
+			default:
+				Object[] params = Arrays.copyOf(args, paramCount);
+				if (throwable != null) {
+					params[argCount] = throwable;
+				}
+				logger.log(log4jLevel, template, params);
+				break;
+		}
+	}
+
+	/**
+	 * Return true if log4j2 will render the template with the arguments the same way that we would. The number of
+	 * arguments has to match the {} exactly because log4j2 leaves extra {} in the message and treats an extra throwable
+	 * argument as the throwable.
+	 */
+	static boolean isSafeTemplate(MessageTemplate template, Object[] args, int argCount) {
+		int templateArgCount = template.getArgCount();
+		if (templateArgCount == 0 || templateArgCount != argCount) {
+			return false;
+		}
+		String msg = template.getTemplate();
+		for (int i = 0; i < templateArgCount; i++) {
+			int offset = template.getArgOffset(i);
+			// log4j2 treats \{} as an escaped {}
+			if (offset > 0 && msg.charAt(offset - 1) == '\\') {
+				return false;
+			}
+		}
+		for (int i = 0; i < argCount; i++) {
+			Object arg = args[i];
+			if (arg == null) {
+				continue;
+			}
+			if (arg.getClass().isArray() || arg instanceof LogArgumentCreator || arg instanceof Date
+					|| arg instanceof Collection || arg instanceof Map || arg instanceof Throwable
+					|| arg instanceof org.apache.logging.log4j.util.StringBuilderFormattable) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void logMessage(Level level, String msg, Throwable throwable) {
+		if (throwable == null) {
+			log(level, msg);
+		} else {
+			log(level, msg, throwable);
+		}
+	}
+
+	private static Object param(int index, Object[] args, int argCount, Throwable throwable) {
+		if (index < argCount) {
+			return args[index];
+		} else {
+			return throwable;
+		}
+	}
+
+	private static org.apache.logging.log4j.Level levelToLog4jLevel(Level level) {
+		switch (level) {
+			case TRACE:
+				return org.apache.logging.log4j.Level.TRACE;
+			case DEBUG:
+				return org.apache.logging.log4j.Level.DEBUG;
+			/* INFO below */
+			case WARNING:
+				return org.apache.logging.log4j.Level.WARN;
+			case ERROR:
+				return org.apache.logging.log4j.Level.ERROR;
+			case FATAL:
+				return org.apache.logging.log4j.Level.FATAL;
+			case INFO:
+			default:
+				return org.apache.logging.log4j.Level.INFO;
+		}
+	}
+
 	/**
 	 * Factory for generating Log4j2LogBackend instances.
 	 */
@@ -1,6 +1,8 @@
 package com.j256.simplelogging.backend;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 
 import com.j256.simplelogging.Level;
 import com.j256.simplelogging.LogBackend;
@@ -12,6 +14,13 @@ import com.j256.simplelogging.LogBackendFactory;
  * 
  * From SimpleLogging: https://github.com/j256/simplelogging
  *
+ * <p>
+ * The log4j methods are looked up once as {@link MethodHandle}s which are adapted to take {@link Object} arguments.
+ * Since the handles are in static final fields, the JIT treats them as constants and can inline the calls through to
+ * log4j which it cannot do with {@link java.lang.reflect.Method#invoke(Object, Object...)}. This also avoids the
+ * argument array and the boxing of the result on every call.
+ * </p>
+ *
  * @author graywatson
  */
 public class Log4jLogBackend implements LogBackend {
@@ -19,16 +28,16 @@ public class Log4jLogBackend implements LogBackend {
 	private final static Class<?> LOGGER_CLASS;
 	private final static Class<?> LEVEL_CLASS;
 	private final static Class<?> PRIORITY_CLASS;
-	private final static Method GET_LOGGER_METHOD;
-	private final static Method IS_ENABLED_FOR_METHOD;
-	private final static Method LOG_LEVEL_MESSAGE_METHOD;
-	private final static Method LOG_LEVEL_MESSAGE_THROWABLE_METHOD;
-	private static Object TRACE_LEVEL;
-	private static Object DEBUG_LEVEL;
-	private static Object INFO_LEVEL;
-	private static Object WARN_LEVEL;
-	private static Object ERROR_LEVEL;
-	private static Object FATAL_LEVEL;
+	private final static MethodHandle GET_LOGGER_METHOD;
+	private final static MethodHandle IS_ENABLED_FOR_METHOD;
+	private final static MethodHandle LOG_LEVEL_MESSAGE_METHOD;
+	private final static MethodHandle LOG_LEVEL_MESSAGE_THROWABLE_METHOD;
+	private final static Object TRACE_LEVEL;
+	private final static Object DEBUG_LEVEL;
+	private final static Object INFO_LEVEL;
+	private final static Object WARN_LEVEL;
+	private final static Object ERROR_LEVEL;
+	private final static Object FATAL_LEVEL;
 
 	private final Object logger;
 
@@ -42,11 +51,21 @@ public class Log4jLogBackend implements LogBackend {
 		}
 
 		try {
-			GET_LOGGER_METHOD = LOGGER_CLASS.getMethod("getLogger", String.class);
-			IS_ENABLED_FOR_METHOD = LOGGER_CLASS.getMethod("isEnabledFor", PRIORITY_CLASS);
-			LOG_LEVEL_MESSAGE_METHOD = LOGGER_CLASS.getMethod("log", PRIORITY_CLASS, Object.class);
-			LOG_LEVEL_MESSAGE_THROWABLE_METHOD =
-					LOGGER_CLASS.getMethod("log", PRIORITY_CLASS, Object.class, Throwable.class);
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			// adapt the handles to Object arguments so we can call invokeExact without the log4j classes
+			GET_LOGGER_METHOD = lookup
+					.findStatic(LOGGER_CLASS, "getLogger", MethodType.methodType(LOGGER_CLASS, String.class))
+					.asType(MethodType.methodType(Object.class, String.class));
+			IS_ENABLED_FOR_METHOD = lookup
+					.findVirtual(LOGGER_CLASS, "isEnabledFor", MethodType.methodType(boolean.class, PRIORITY_CLASS))
+					.asType(MethodType.methodType(boolean.class, Object.class, Object.class));
+			MethodType logType = MethodType.methodType(void.class, PRIORITY_CLASS, Object.class);
+			LOG_LEVEL_MESSAGE_METHOD = lookup.findVirtual(LOGGER_CLASS, "log", logType)
+					.asType(MethodType.methodType(void.class, Object.class, Object.class, Object.class));
+			LOG_LEVEL_MESSAGE_THROWABLE_METHOD = lookup
+					.findVirtual(LOGGER_CLASS, "log", logType.appendParameterTypes(Throwable.class))
+					.asType(MethodType.methodType(void.class, Object.class, Object.class, Object.class,
+							Throwable.class));
 		} catch (Exception e) {
 			throw new RuntimeException("Problems finding log4j v1 methods via reflection", e);
 		}
@@ -66,17 +85,17 @@ public class Log4jLogBackend implements LogBackend {
 
 	public Log4jLogBackend(String className) {
 		try {
-			this.logger = GET_LOGGER_METHOD.invoke(null, className);
-		} catch (Exception e) {
-			throw new RuntimeException("Problems creating a log4j v1 instance via reflection", e);
+			this.logger = (Object) GET_LOGGER_METHOD.invokeExact(className);
+		} catch (Throwable th) {
+			throw new RuntimeException("Problems creating a log4j v1 instance via reflection", th);
 		}
 	}
 
 	@Override
 	public boolean isLevelEnabled(Level level) {
 		try {
-			return (Boolean) IS_ENABLED_FOR_METHOD.invoke(logger, levelToLog4jLevel(level));
-		} catch (Exception e) {
+			return (boolean) IS_ENABLED_FOR_METHOD.invokeExact(logger, levelToLog4jLevel(level));
+		} catch (Throwable th) {
 			// ignored I guess
 			return false;
 		}
@@ -85,8 +104,8 @@ public class Log4jLogBackend implements LogBackend {
 	@Override
 	public void log(Level level, String msg) {
 		try {
-			LOG_LEVEL_MESSAGE_METHOD.invoke(logger, levelToLog4jLevel(level), msg);
-		} catch (Exception e) {
+			LOG_LEVEL_MESSAGE_METHOD.invokeExact(logger, levelToLog4jLevel(level), (Object) msg);
+		} catch (Throwable th) {
 			// ignored I guess
 		}
 	}
@@ -94,8 +113,8 @@ public class Log4jLogBackend implements LogBackend {
 	@Override
 	public void log(Level level, String msg, Throwable t) {
 		try {
-			LOG_LEVEL_MESSAGE_THROWABLE_METHOD.invoke(logger, levelToLog4jLevel(level), msg, t);
-		} catch (Exception e) {
+			LOG_LEVEL_MESSAGE_THROWABLE_METHOD.invokeExact(logger, levelToLog4jLevel(level), (Object) msg, t);
+		} catch (Throwable th) {
 			// ignored I guess
 		}
 	}
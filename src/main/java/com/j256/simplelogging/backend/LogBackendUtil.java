@@ -1,23 +1,90 @@
 package com.j256.simplelogging.backend;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import com.j256.simplelogging.LogBackendFactory;
+import com.j256.simplelogging.LoggerConstants;
+import com.j256.simplelogging.MessageTemplate;
+import com.j256.simplelogging.PropertyUtils;
+import com.j256.simplelogging.StringBuilderPool;
+import com.j256.simplelogging.backend.NullLogBackend.NullLogBackendFactory;
 
 /**
  * Some common utility methods.
- * 
+ *
  * From SimpleLogging: https://github.com/j256/simplelogging
  *
+ * <p>
+ * The stack traces of the throwables are rendered by a {@link StackTraceRenderer} which caches recently rendered
+ * traces. The number of frames printed for each throwable and the depth of the causes can be limited with the
+ * {@code stacktrace.max.frames} and {@code stacktrace.max.cause.depth} properties in the properties file.
+ * </p>
+ *
  * @author graywatson
  */
 public class LogBackendUtil {
 
+	/** properties file maximum number of frames printed for each throwable */
+	public static final String STACK_TRACE_MAX_FRAMES_PROPERTY = "stacktrace.max.frames";
+	/** properties file maximum depth of the causes and suppressed throwables that are printed */
+	public static final String STACK_TRACE_MAX_CAUSE_DEPTH_PROPERTY = "stacktrace.max.cause.depth";
+
+	private static volatile StackTraceRenderer stackTraceRenderer = configuredRenderer();
+
 	/**
 	 * Return a string equivalent to the throwable for logging.
 	 */
 	public static String throwableToString(Throwable throwable) {
-		StringWriter writer = new StringWriter();
-		throwable.printStackTrace(new PrintWriter(writer));
-		return writer.toString();
+		StringBuilder sb = StringBuilderPool.acquire();
+		appendThrowable(sb, throwable);
+		return StringBuilderPool.toStringAndRelease(sb);
+	}
+
+	/**
+	 * Append the stack trace of the throwable to the buffer with each line followed by a line separator.
+	 */
+	public static void appendThrowable(StringBuilder sb, Throwable throwable) {
+		stackTraceRenderer.append(sb, throwable);
+	}
+
+	/**
+	 * Return the message with the {} expanded from the arguments the same way that the logger does it. This is used by
+	 * the {@link com.j256.simplelogging.TemplateLogBackend} backends when they have to format a message themselves.
+	 */
+	public static String formatTemplate(String msg, Object[] args, int argCount) {
+		MessageTemplate template = MessageTemplate.fromMessage(msg);
+		int templateArgCount = template.getArgCount();
+		if (templateArgCount == 0) {
+			return msg;
+		}
+		StringBuilder sb = StringBuilderPool.acquire();
+		for (int i = 0; i < templateArgCount; i++) {
+			template.appendSegment(sb, i);
+			// we have too many {} so we just ignore them
+			if (i < argCount) {
+				MessageTemplate.appendArg(sb, args[i]);
+			}
+		}
+		template.appendSegment(sb, templateArgCount);
+		return StringBuilderPool.toStringAndRelease(sb);
+	}
+
+	/**
+	 * Set the renderer that is used for the stack traces such as to change its limits.
+	 */
+	public static void setStackTraceRenderer(StackTraceRenderer stackTraceRenderer) {
+		LogBackendUtil.stackTraceRenderer = stackTraceRenderer;
+	}
+
+	public static StackTraceRenderer getStackTraceRenderer() {
+		return stackTraceRenderer;
+	}
+
+	private static StackTraceRenderer configuredRenderer() {
+		// this can be loaded while the LogBackendType enum is being initialized so we can't use LogBackendType.NULL
+		LogBackendFactory nullFactory = NullLogBackendFactory.getSingleton();
+		int maxFrames =
+				PropertyUtils.readIntProperty(nullFactory, STACK_TRACE_MAX_FRAMES_PROPERTY, Integer.MAX_VALUE);
+		int maxCauseDepth =
+				PropertyUtils.readIntProperty(nullFactory, STACK_TRACE_MAX_CAUSE_DEPTH_PROPERTY, Integer.MAX_VALUE);
+		return new StackTraceRenderer(maxFrames, maxCauseDepth, LoggerConstants.STACK_TRACE_CACHE_SIZE);
 	}
 }
@@ -0,0 +1,255 @@
+package com.j256.simplelogging.backend;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LoggingMetrics;
+
+/**
+ * Buffered writer of log lines to a file using a {@link FileChannel}. Logging threads copy their lines into a shared
+ * buffer and the buffer is written to the file in groups: when it reaches a number of bytes, periodically from a
+ * background thread, or right away for important log levels. While one thread is writing a full buffer to the file,
+ * the other threads continue to fill a second buffer so they don't wait for the IO.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * By default the data is handed to the operating system when it is written which means that it will survive the JVM
+ * crashing but maybe not the machine crashing. If fsync is enabled then the file is also forced to disk after each
+ * write which is much slower.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class LogFileWriter implements Closeable {
+
+	/** default number of buffered bytes that causes a write to the file */
+	public static final int DEFAULT_FLUSH_BYTES = 8192;
+	/** default number of milliseconds between writes of the buffered bytes to the file, 0 to disable */
+	public static final long DEFAULT_FLUSH_MILLIS = 1000;
+	/** default level at or above which the line is written to the file immediately */
+	public static final Level DEFAULT_FLUSH_LEVEL = Level.ERROR;
+
+	private static final Charset CHARSET = Charset.defaultCharset();
+	private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(CHARSET);
+
+	private final FileChannel channel;
+	private final int flushBytes;
+	private final Level flushLevel;
+	private final boolean fsync;
+	/** protects the active buffer */
+	private final Object bufferLock = new Object();
+	/** protects the flush buffer and the channel, always taken before the buffer lock */
+	private final Object writeLock = new Object();
+	private final Thread flushThread;
+	private final Thread shutdownHook;
+	private ByteBuffer activeBuffer;
+	private ByteBuffer flushBuffer;
+	private volatile boolean closed;
+
+	public LogFileWriter(File file) throws IOException {
+		this(file, DEFAULT_FLUSH_BYTES, DEFAULT_FLUSH_MILLIS, DEFAULT_FLUSH_LEVEL, false);
+	}
+
+	/**
+	 * @param flushBytes
+	 *            Number of buffered bytes that causes the buffer to be written to the file.
+	 * @param flushMillis
+	 *            Number of milliseconds between writes of the buffer by a background thread or 0 for none.
+	 * @param flushLevel
+	 *            Level at or above which a line causes the buffer to be written to the file immediately. Set to
+	 *            {@link Level#OFF} to disable.
+	 * @param fsync
+	 *            If true then the file is forced to disk after each write of the buffer.
+	 */
+	public LogFileWriter(File file, int flushBytes, long flushMillis, Level flushLevel, boolean fsync)
+			throws IOException {
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		this.flushBytes = Math.max(flushBytes, 1);
+		this.flushLevel = flushLevel;
+		this.fsync = fsync;
+		// the buffers are at least the default size so small flush sizes don't cause every line to be written directly
+		int bufferSize = Math.max(this.flushBytes, DEFAULT_FLUSH_BYTES);
+		this.activeBuffer = ByteBuffer.allocate(bufferSize);
+		this.flushBuffer = ByteBuffer.allocate(bufferSize);
+
+		if (flushMillis > 0) {
+			this.flushThread = new Thread(new FlushRunnable(flushMillis), getClass().getSimpleName());
+			this.flushThread.setDaemon(true);
+			this.flushThread.start();
+		} else {
+			this.flushThread = null;
+		}
+		this.shutdownHook = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				flush();
+			}
+		}, getClass().getSimpleName() + "-shutdown");
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	/**
+	 * Write a line to the file followed by a line separator.
+	 */
+	public void writeLine(Level level, CharSequence line) {
+		byte[] bytes = line.toString().getBytes(CHARSET);
+		write(level, bytes, 0, bytes.length, true);
+	}
+
+	/**
+	 * Write the bytes to the file. The caller is responsible for any line separators.
+	 */
+	public void write(Level level, byte[] bytes, int offset, int length) {
+		write(level, bytes, offset, length, false);
+	}
+
+	/**
+	 * Write any buffered bytes to the file.
+	 */
+	public void flush() {
+		synchronized (writeLock) {
+			synchronized (bufferLock) {
+				// swap the buffers so the logging threads can keep going while we do the IO
+				ByteBuffer temp = flushBuffer;
+				flushBuffer = activeBuffer;
+				activeBuffer = temp;
+			}
+			writeFlushBuffer();
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		if (flushThread != null) {
+			flushThread.interrupt();
+		}
+		try {
+			Runtime.getRuntime().removeShutdownHook(shutdownHook);
+		} catch (IllegalStateException ise) {
+			// we are already shutting down
+		}
+		synchronized (writeLock) {
+			flush();
+			try {
+				channel.close();
+			} catch (IOException ioe) {
+				// ignored, not much we can do here
+			}
+		}
+	}
+
+	private void write(Level level, byte[] bytes, int offset, int length, boolean addSeparator) {
+		if (closed) {
+			return;
+		}
+		int total = length;
+		if (addSeparator) {
+			total += LINE_SEPARATOR.length;
+		}
+		LoggingMetrics.recordBytesWritten(total);
+		boolean needFlush;
+		while (true) {
+			synchronized (bufferLock) {
+				if (total <= activeBuffer.remaining()) {
+					activeBuffer.put(bytes, offset, length);
+					if (addSeparator) {
+						activeBuffer.put(LINE_SEPARATOR);
+					}
+					needFlush = (activeBuffer.position() >= flushBytes || flushLevel.isEnabled(level));
+					break;
+				}
+			}
+			// no room so write the buffer out to make room
+			synchronized (writeLock) {
+				flush();
+				if (total > flushBuffer.capacity()) {
+					// too large for the buffers so write it directly, we have the write lock so it stays in order
+					writeDirectly(bytes, offset, length, addSeparator);
+					return;
+				}
+			}
+		}
+		if (needFlush) {
+			flush();
+		}
+	}
+
+	/**
+	 * Must be called while holding the write lock.
+	 */
+	private void writeFlushBuffer() {
+		if (flushBuffer.position() == 0) {
+			return;
+		}
+		flushBuffer.flip();
+		try {
+			while (flushBuffer.hasRemaining()) {
+				channel.write(flushBuffer);
+			}
+			if (fsync) {
+				channel.force(false);
+			}
+		} catch (IOException ioe) {
+			// ignored, the bytes are dropped since there is nowhere to report it
+		} finally {
+			flushBuffer.clear();
+		}
+	}
+
+	/**
+	 * Must be called while holding the write lock.
+	 */
+	private void writeDirectly(byte[] bytes, int offset, int length, boolean addSeparator) {
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			if (addSeparator) {
+				buffer = ByteBuffer.wrap(LINE_SEPARATOR);
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			}
+			if (fsync) {
+				channel.force(false);
+			}
+		} catch (IOException ioe) {
+			// ignored, the bytes are dropped since there is nowhere to report it
+		}
+	}
+
+	/**
+	 * Writes the buffer to the file periodically so lines don't sit in the buffer when logging is slow.
+	 */
+	private class FlushRunnable implements Runnable {
+
+		private final long flushMillis;
+
+		public FlushRunnable(long flushMillis) {
+			this.flushMillis = flushMillis;
+		}
+
+		@Override
+		public void run() {
+			while (!closed) {
+				try {
+					Thread.sleep(flushMillis);
+				} catch (InterruptedException ie) {
+					// we are being closed
+					return;
+				}
+				flush();
+			}
+		}
+	}
+}
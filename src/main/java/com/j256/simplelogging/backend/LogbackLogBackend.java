@@ -1,8 +1,12 @@
 package com.j256.simplelogging.backend;
 
+import java.util.Arrays;
+
 import com.j256.simplelogging.Level;
 import com.j256.simplelogging.LogBackend;
 import com.j256.simplelogging.LogBackendFactory;
+import com.j256.simplelogging.MessageTemplate;
+import com.j256.simplelogging.TemplateLogBackend;
 
 /**
  * Log backend that delegates to logback directly. The org.slf4j classes are part of the slf4j-api but not the actual
@@ -10,9 +14,17 @@ import com.j256.simplelogging.LogBackendFactory;
  * 
  * From SimpleLogging: https://github.com/j256/simplelogging
  *
+ * <p>
+ * Message templates and their arguments are passed to logback unformatted so its turbo filters can reject the event
+ * before any string is built and the message is only formatted when an appender needs it.
+ * </p>
+ *
  * @author graywatson
  */
-public class LogbackLogBackend implements LogBackend {
+public class LogbackLogBackend implements TemplateLogBackend {
+
+	/** we use the logback logger's class so the caller data is the same as for the other log methods */
+	private static final String LOGGER_FQCN = ch.qos.logback.classic.Logger.class.getName();
 
 	private final ch.qos.logback.classic.Logger logger;
 
@@ -22,22 +34,8 @@ public class LogbackLogBackend implements LogBackend {
 
 	@Override
 	public boolean isLevelEnabled(Level level) {
-		switch (level) {
-			case TRACE:
-				return logger.isTraceEnabled();
-			case DEBUG:
-				return logger.isDebugEnabled();
-			/* INFO below */
-			case WARNING:
-				return logger.isWarnEnabled();
-			case ERROR:
-				return logger.isErrorEnabled();
-			case FATAL:
-				return logger.isErrorEnabled();
-			case INFO:
-			default:
-				return logger.isInfoEnabled();
-		}
+		// this goes through the turbo filters and then the effective level the same as logback's log methods
+		return logger.isEnabledFor(levelToLogbackLevel(level));
 	}
 
 	@Override
@@ -93,15 +91,64 @@ public class LogbackLogBackend implements LogBackend {
 		}
 	}
 
+	@Override
+	public void logTemplate(Level level, Throwable throwable, String template, Object[] args, int argCount) {
+		if (args == null) {
+			// the logger doesn't expand the {} if there are no arguments
+			logMessage(level, template, throwable);
+		} else if (Slf4jLoggingLogBackend.isSafeTemplate(MessageTemplate.fromMessage(template), args, argCount)) {
+			// the array is copied since logback holds onto it in the event and ours may be reused
+			int levelInt = ch.qos.logback.classic.Level.toLocationAwareLoggerInteger(levelToLogbackLevel(level));
+			logger.log(null, LOGGER_FQCN, levelInt, template, Arrays.copyOf(args, argCount), throwable);
+		} else {
+			logMessage(level, LogBackendUtil.formatTemplate(template, args, argCount), throwable);
+		}
+	}
+
+	private void logMessage(Level level, String msg, Throwable throwable) {
+		if (throwable == null) {
+			log(level, msg);
+		} else {
+			log(level, msg, throwable);
+		}
+	}
+
+	private static ch.qos.logback.classic.Level levelToLogbackLevel(Level level) {
+		switch (level) {
+			case TRACE:
+				return ch.qos.logback.classic.Level.TRACE;
+			case DEBUG:
+				return ch.qos.logback.classic.Level.DEBUG;
+			/* INFO below */
+			case WARNING:
+				return ch.qos.logback.classic.Level.WARN;
+			case ERROR:
+			case FATAL:
+				// no level higher than error
+				return ch.qos.logback.classic.Level.ERROR;
+			case INFO:
+			default:
+				return ch.qos.logback.classic.Level.INFO;
+		}
+	}
+
 	/**
-	 * Factory for generating LogbackLogBackend instances.
+	 * Factory for generating LogbackLogBackend instances. By default this uses the logger-context that slf4j has bound
+	 * to so the backends share the application's configured appenders and turbo filters.
 	 */
 	public static class LogbackLogBackendFactory implements LogBackendFactory {
 
 		private final ch.qos.logback.classic.LoggerContext loggerContext;
 
 		public LogbackLogBackendFactory() {
-			this.loggerContext = new ch.qos.logback.classic.LoggerContext();
+			this(findLoggerContext());
+		}
+
+		/**
+		 * Create a factory which gets its loggers from a specific logger-context.
+		 */
+		public LogbackLogBackendFactory(ch.qos.logback.classic.LoggerContext loggerContext) {
+			this.loggerContext = loggerContext;
 		}
 
 		@Override
@@ -114,5 +161,22 @@ public class LogbackLogBackend implements LogBackend {
 		public LogBackend createLogBackend(String classLabel) {
 			return new LogbackLogBackend(loggerContext.getLogger(classLabel));
 		}
+
+		/**
+		 * Return the logger-context that the backends are using.
+		 */
+		public ch.qos.logback.classic.LoggerContext getLoggerContext() {
+			return loggerContext;
+		}
+
+		private static ch.qos.logback.classic.LoggerContext findLoggerContext() {
+			org.slf4j.ILoggerFactory factory = org.slf4j.LoggerFactory.getILoggerFactory();
+			if (factory instanceof ch.qos.logback.classic.LoggerContext) {
+				return (ch.qos.logback.classic.LoggerContext) factory;
+			} else {
+				// slf4j is bound to some other implementation so logback has not been configured
+				return new ch.qos.logback.classic.LoggerContext();
+			}
+		}
 	}
 }
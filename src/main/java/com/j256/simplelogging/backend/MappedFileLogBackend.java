@@ -0,0 +1,426 @@
+package com.j256.simplelogging.backend;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogBackend;
+import com.j256.simplelogging.LogBackendFactory;
+import com.j256.simplelogging.LoggerConstants;
+import com.j256.simplelogging.LoggingMetrics;
+import com.j256.simplelogging.PropertyUtils;
+import com.j256.simplelogging.StringBuilderPool;
+import com.j256.simplelogging.backend.NullLogBackend.NullLogBackendFactory;
+
+/**
+ * Log backend that appends the log lines to a memory-mapped file. Each line reserves its space in the file with an
+ * atomic offset and then copies its bytes into the mapped memory so there are no locks or system calls when logging.
+ * Since the operating system owns the mapped pages, the lines that have been copied survive the JVM crashing. The
+ * lines are formatted like the {@link LocalLogBackend} and use its level configuration.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * The file is mapped in regions which are added as the log grows so the file on disk is extended a region at a time.
+ * Only the last couple of regions are kept mapped. If a region can't be mapped then the line is dropped and counted
+ * in the {@link LoggingMetrics}.
+ * When the JVM shuts down normally the file is truncated to the end of the log. If it crashes then the file may end
+ * with zero bytes which are skipped when the file is next opened and appended to.
+ * </p>
+ *
+ * <p>
+ * The file path is set with the {@link LoggerConstants#MAPPED_LOG_FILE_PROPERTY} system property or the
+ * {@code mapped.file.path} property in the properties file. The region size is set with the
+ * {@code mapped.file.region.size} property.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class MappedFileLogBackend implements LogBackend {
+
+	/** properties file path of the log file */
+	public static final String MAPPED_FILE_PATH_PROPERTY = "mapped.file.path";
+	/** properties file size of the mapped regions of the log file */
+	public static final String MAPPED_FILE_REGION_SIZE_PROPERTY = "mapped.file.region.size";
+	/** default path of the log file */
+	public static final String DEFAULT_PATH = "simplelogging.log";
+	/** default size of the mapped regions */
+	public static final int DEFAULT_REGION_SIZE = 16 * 1024 * 1024;
+
+	private static final Charset CHARSET = Charset.defaultCharset();
+	private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(CHARSET);
+
+	private final MappedFileLogBackendFactory factory;
+	private final String className;
+	private final LocalLogLevel level;
+
+	public MappedFileLogBackend(MappedFileLogBackendFactory factory, String className) {
+		this.factory = factory;
+		this.className = LocalLogBackend.shortClassName(className);
+		this.level = new LocalLogLevel(className);
+	}
+
+	@Override
+	public boolean isLevelEnabled(Level level) {
+		return this.level.isEnabled(level);
+	}
+
+	@Override
+	public void log(Level level, String msg) {
+		printMessage(level, msg, null);
+	}
+
+	@Override
+	public void log(Level level, String msg, Throwable throwable) {
+		printMessage(level, msg, throwable);
+	}
+
+	private void printMessage(Level level, String message, Throwable throwable) {
+		if (!isLevelEnabled(level)) {
+			return;
+		}
+		StringBuilder sb = StringBuilderPool.acquire();
+		LocalLogBackend.appendLinePrefix(sb, level, className);
+		sb.append(message);
+		if (throwable != null) {
+			LocalLogBackend.appendStackTrace(sb, throwable);
+		}
+		byte[] bytes = StringBuilderPool.toStringAndRelease(sb).getBytes(CHARSET);
+		factory.getLogFile().writeLine(bytes);
+	}
+
+	/**
+	 * Factory for generating MappedFileLogBackend instances. All of the backends from a factory write to the same file
+	 * which is opened when the first line is logged.
+	 */
+	public static class MappedFileLogBackendFactory implements LogBackendFactory {
+
+		private final File file;
+		private final int regionSize;
+		private volatile MappedLogFile logFile;
+
+		/**
+		 * Create a factory that uses the file path and region size from the system property or the properties file.
+		 */
+		public MappedFileLogBackendFactory() {
+			// this is created while the LogBackendType enum is being initialized so we can't use LogBackendType.NULL
+			this(new File(configuredPath()), PropertyUtils.readIntProperty(NullLogBackendFactory.getSingleton(),
+					MAPPED_FILE_REGION_SIZE_PROPERTY, DEFAULT_REGION_SIZE));
+		}
+
+		/**
+		 * @param regionSize
+		 *            Size of the regions of the file that are mapped at a time. A larger size means fewer mappings but
+		 *            more disk space in the file before it is truncated on shutdown.
+		 */
+		public MappedFileLogBackendFactory(File file, int regionSize) {
+			this.file = file;
+			this.regionSize = regionSize;
+		}
+
+		@Override
+		public boolean isAvailable() {
+			// always available
+			return true;
+		}
+
+		@Override
+		public LogBackend createLogBackend(String classLabel) {
+			return new MappedFileLogBackend(this, classLabel);
+		}
+
+		/**
+		 * Return the file that the backends write to.
+		 */
+		public File getFile() {
+			return file;
+		}
+
+		/**
+		 * Truncate the file to the end of the log and stop writing to it. The next line that is logged will reopen it.
+		 */
+		public void close() {
+			MappedLogFile logFile;
+			synchronized (this) {
+				logFile = this.logFile;
+				this.logFile = null;
+			}
+			if (logFile != null) {
+				logFile.close();
+			}
+		}
+
+		MappedLogFile getLogFile() {
+			MappedLogFile logFile = this.logFile;
+			if (logFile == null) {
+				synchronized (this) {
+					logFile = this.logFile;
+					if (logFile == null) {
+						try {
+							logFile = new MappedLogFile(file, regionSize);
+						} catch (IOException e) {
+							throw new IllegalArgumentException("Mapped log file " + file + " could not be opened", e);
+						}
+						this.logFile = logFile;
+					}
+				}
+			}
+			return logFile;
+		}
+
+		private static String configuredPath() {
+			String path = System.getProperty(LoggerConstants.MAPPED_LOG_FILE_PROPERTY);
+			if (path == null) {
+				path = PropertyUtils.readProperty(NullLogBackendFactory.getSingleton(), MAPPED_FILE_PATH_PROPERTY);
+			}
+			if (path == null) {
+				path = DEFAULT_PATH;
+			}
+			return path;
+		}
+	}
+
+	/**
+	 * The mapped file. Writers reserve their bytes by adding to the position and then copy them into the regions that
+	 * cover those bytes, mapping new regions as needed.
+	 */
+	static class MappedLogFile {
+
+		private static final long CLOSE_WAIT_MILLIS = 1000;
+		/** number of regions that are kept mapped, the current one and the next */
+		private static final int NUM_WINDOW_REGIONS = 2;
+		private static final RegionWindow EMPTY_WINDOW = new RegionWindow(0, new MappedByteBuffer[NUM_WINDOW_REGIONS]);
+
+		private final FileChannel channel;
+		private final int regionSize;
+		private final AtomicLong position = new AtomicLong();
+		/** number of threads copying into the regions which must finish before the file can be truncated */
+		private final AtomicInteger activeWriters = new AtomicInteger();
+		private final Thread shutdownHook;
+		/**
+		 * The last regions that were mapped. Since the position only increases, the older regions are dropped so they
+		 * can be unmapped by the GC once any writers that are still copying into them are done.
+		 */
+		private volatile RegionWindow window = EMPTY_WINDOW;
+		private volatile boolean closed;
+
+		public MappedLogFile(File file, int regionSize) throws IOException {
+			this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			this.regionSize = Math.max(regionSize, 4096);
+			this.position.set(findEndOfLog());
+			this.shutdownHook = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					close();
+				}
+			}, getClass().getSimpleName() + "-shutdown");
+			Runtime.getRuntime().addShutdownHook(shutdownHook);
+		}
+
+		/**
+		 * Append the bytes followed by a line separator to the log.
+		 */
+		public void writeLine(byte[] bytes) {
+			activeWriters.incrementAndGet();
+			try {
+				if (closed) {
+					return;
+				}
+				long start = position.getAndAdd(bytes.length + LINE_SEPARATOR.length);
+				if (copy(start, bytes) && copy(start + bytes.length, LINE_SEPARATOR)) {
+					LoggingMetrics.recordBytesWritten(bytes.length + LINE_SEPARATOR.length);
+				} else if (!closed) {
+					// a region could not be mapped so the line is dropped like the other backends' write errors
+					LoggingMetrics.recordDropped();
+				}
+			} finally {
+				activeWriters.decrementAndGet();
+			}
+		}
+
+		/**
+		 * Return the offset of the end of the log.
+		 */
+		public long getPosition() {
+			return position.get();
+		}
+
+		/**
+		 * Truncate the file to the end of the log and close it.
+		 */
+		public void close() {
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				closed = true;
+				try {
+					Runtime.getRuntime().removeShutdownHook(shutdownHook);
+				} catch (IllegalStateException ise) {
+					// we are already shutting down
+				}
+				window = EMPTY_WINDOW;
+				// truncating the file under a thread that is still copying into a region would crash it
+				long deadline = System.currentTimeMillis() + CLOSE_WAIT_MILLIS;
+				while (activeWriters.get() > 0 && System.currentTimeMillis() < deadline) {
+					Thread.yield();
+				}
+				if (activeWriters.get() == 0) {
+					try {
+						// this may fail on some platforms while the regions are still mapped
+						channel.truncate(position.get());
+					} catch (IOException ioe) {
+						// ignored, the trailing zeros are skipped when the file is reopened
+					}
+				}
+				try {
+					channel.close();
+				} catch (IOException ioe) {
+					// ignored
+				}
+			}
+		}
+
+		/**
+		 * Return the number of regions that are kept mapped. For testing purposes.
+		 */
+		int getNumWindowRegions() {
+			int count = 0;
+			for (MappedByteBuffer region : window.regions) {
+				if (region != null) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * Map a region of the file. This extends the file if needed. Exposed for testing.
+		 */
+		MappedByteBuffer mapRegion(int regionIndex) throws IOException {
+			return channel.map(MapMode.READ_WRITE, (long) regionIndex * regionSize, regionSize);
+		}
+
+		/**
+		 * Copy the bytes into the regions at the offset. Returns false if we are closed or a region could not be mapped.
+		 */
+		private boolean copy(long offset, byte[] bytes) {
+			int bytesOffset = 0;
+			while (bytesOffset < bytes.length) {
+				int regionIndex = (int) (offset / regionSize);
+				int regionOffset = (int) (offset % regionSize);
+				MappedByteBuffer region = getRegion(regionIndex);
+				if (region == null) {
+					return false;
+				}
+				// the bytes may cross into the next region
+				int length = Math.min(bytes.length - bytesOffset, regionSize - regionOffset);
+				ByteBuffer buffer = region.duplicate();
+				buffer.position(regionOffset);
+				buffer.put(bytes, bytesOffset, length);
+				bytesOffset += length;
+				offset += length;
+			}
+			return true;
+		}
+
+		/**
+		 * Return the region, mapping it if needed, or null if we are closed or it could not be mapped.
+		 */
+		private MappedByteBuffer getRegion(int regionIndex) {
+			MappedByteBuffer region = window.get(regionIndex);
+			if (region != null) {
+				return region;
+			}
+			synchronized (this) {
+				if (closed) {
+					return null;
+				}
+				RegionWindow window = this.window;
+				region = window.get(regionIndex);
+				if (region != null) {
+					return region;
+				}
+				try {
+					region = mapRegion(regionIndex);
+				} catch (IOException ioe) {
+					return null;
+				}
+				if (regionIndex >= window.firstIndex) {
+					this.window = window.with(regionIndex, region);
+				}
+				// else a slow writer is behind the window so we don't keep its region
+				return region;
+			}
+		}
+
+		/**
+		 * Find the end of the existing log in the file skipping any zero bytes left by a crash.
+		 */
+		private long findEndOfLog() throws IOException {
+			long end = channel.size();
+			ByteBuffer buffer = ByteBuffer.allocate(8192);
+			while (end > 0) {
+				long start = Math.max(0, end - buffer.capacity());
+				buffer.clear();
+				buffer.limit((int) (end - start));
+				while (buffer.hasRemaining()) {
+					if (channel.read(buffer, start + buffer.position()) < 0) {
+						break;
+					}
+				}
+				for (int i = buffer.position() - 1; i >= 0; i--) {
+					if (buffer.get(i) != 0) {
+						return start + i + 1;
+					}
+				}
+				end = start;
+			}
+			return 0;
+		}
+
+		/**
+		 * Immutable window of the most recently mapped regions starting at the first index.
+		 */
+		private static class RegionWindow {
+			final int firstIndex;
+			final MappedByteBuffer[] regions;
+
+			public RegionWindow(int firstIndex, MappedByteBuffer[] regions) {
+				this.firstIndex = firstIndex;
+				this.regions = regions;
+			}
+
+			public MappedByteBuffer get(int regionIndex) {
+				int index = regionIndex - firstIndex;
+				if (index >= 0 && index < regions.length) {
+					return regions[index];
+				} else {
+					return null;
+				}
+			}
+
+			/**
+			 * Return a new window with the region which slides forward to include it if necessary.
+			 */
+			public RegionWindow with(int regionIndex, MappedByteBuffer region) {
+				int newFirstIndex = Math.max(firstIndex, regionIndex - regions.length + 1);
+				MappedByteBuffer[] newRegions = new MappedByteBuffer[regions.length];
+				for (int i = 0; i < newRegions.length; i++) {
+					newRegions[i] = get(newFirstIndex + i);
+				}
+				newRegions[regionIndex - newFirstIndex] = region;
+				return new RegionWindow(newFirstIndex, newRegions);
+			}
+		}
+	}
+}
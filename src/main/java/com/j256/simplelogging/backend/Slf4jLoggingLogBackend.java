@@ -1,17 +1,28 @@
 package com.j256.simplelogging.backend;
 
+import java.util.Arrays;
+
 import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogArgumentCreator;
 import com.j256.simplelogging.LogBackend;
 import com.j256.simplelogging.LogBackendFactory;
+import com.j256.simplelogging.MessageTemplate;
+import com.j256.simplelogging.TemplateLogBackend;
 
 /**
  * Log backend that delegates to slf4j.
  * 
  * From SimpleLogging: https://github.com/j256/simplelogging
  *
+ * <p>
+ * Message templates and their arguments are passed to slf4j's parameterized methods so the {} expansion is done by the
+ * slf4j implementation only if the message is actually written. With logback, for example, the turbo filters see the
+ * template and arguments and the message is only formatted when an appender needs it.
+ * </p>
+ *
  * @author graywatson
  */
-public class Slf4jLoggingLogBackend implements LogBackend {
+public class Slf4jLoggingLogBackend implements TemplateLogBackend {
 
 	private final org.slf4j.Logger logger;
 
@@ -92,6 +103,86 @@ public class Slf4jLoggingLogBackend implements LogBackend {
 		}
 	}
 
+	@Override
+	public void logTemplate(Level level, Throwable throwable, String template, Object[] args, int argCount) {
+		if (args == null) {
+			// the logger doesn't expand the {} if there are no arguments
+			logMessage(level, template, throwable);
+			return;
+		}
+		if (!isSafeTemplate(MessageTemplate.fromMessage(template), args, argCount)) {
+			logMessage(level, LogBackendUtil.formatTemplate(template, args, argCount), throwable);
+			return;
+		}
+		// slf4j uses a throwable as the last argument as the throwable, copied since our array may be reused
+		Object[] params;
+		if (throwable == null) {
+			params = Arrays.copyOf(args, argCount);
+		} else {
+			params = Arrays.copyOf(args, argCount + 1);
+			params[argCount] = throwable;
+		}
+		switch (level) {
+			case TRACE:
+				logger.trace(template, params);
+				break;
+			case DEBUG:
+				logger.debug(template, params);
+				break;
+			/* INFO below */
+			case WARNING:
+				logger.warn(template, params);
+				break;
+			case ERROR:
+				logger.error(template, params);
+				break;
+			case FATAL:
+				// no level higher than error
+				logger.error(template, params);
+				break;
+			case INFO:
+			default:
+				logger.info(template, params);
+				break;
+		}
+	}
+
+	/**
+	 * Return true if slf4j's message formatter, which is also used by logback, will render the template with the
+	 * arguments the same way that we would. The number of arguments has to match the {} exactly because slf4j leaves
+	 * extra {} in the message and treats a throwable as the last argument as the throwable.
+	 */
+	static boolean isSafeTemplate(MessageTemplate template, Object[] args, int argCount) {
+		int templateArgCount = template.getArgCount();
+		if (templateArgCount == 0 || templateArgCount != argCount) {
+			return false;
+		}
+		String msg = template.getTemplate();
+		for (int i = 0; i < templateArgCount; i++) {
+			int offset = template.getArgOffset(i);
+			// slf4j treats \{} as an escaped {}
+			if (offset > 0 && msg.charAt(offset - 1) == '\\') {
+				return false;
+			}
+		}
+		for (int i = 0; i < argCount; i++) {
+			Object arg = args[i];
+			if (arg != null
+					&& (arg.getClass().isArray() || arg instanceof LogArgumentCreator || arg instanceof Throwable)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void logMessage(Level level, String msg, Throwable throwable) {
+		if (throwable == null) {
+			log(level, msg);
+		} else {
+			log(level, msg, throwable);
+		}
+	}
+
 	/**
 	 * Factory for generating Slf4jLoggingLogBackend instances.
 	 */
@@ -0,0 +1,225 @@
+package com.j256.simplelogging.backend;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Renders throwables in the same format as {@link Throwable#printStackTrace()} but straight into a
+ * {@link StringBuilder} and with optional limits on the number of frames printed for each throwable and on the depth of
+ * the causes. Like the JDK, the frames that a cause or suppressed throwable has in common with its enclosing throwable
+ * are collapsed into a "... N more" line.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * When a downstream service fails, the same stack trace can be logged thousands of times a second. Each throwable is
+ * fingerprinted with a 64-bit hash of its class, message, and frames, along with those of its causes and suppressed
+ * throwables, and the rendered text of a bounded number of recent fingerprints is cached. The cache is direct-mapped
+ * like the {@link com.j256.simplelogging.MessageTemplate} cache so a new fingerprint replaces whatever was in its slot.
+ * Fingerprinting still has to get the stack trace from the throwable but it is much cheaper than rendering it.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class StackTraceRenderer {
+
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+	private static final long HASH_MULTIPLIER = 0x100000001B3L;
+
+	private final int maxFrames;
+	private final int maxCauseDepth;
+	/**
+	 * Racy cache of the rendered traces. This is safe without synchronization since the entry fields are final so any
+	 * thread which sees an entry reference sees the fully constructed object.
+	 */
+	private final CachedTrace[] cache;
+	private final int cacheMask;
+
+	/**
+	 * @param maxFrames
+	 *            Maximum number of frames printed for each throwable. The rest are replaced by a "... N frames
+	 *            truncated" line. Use {@link Integer#MAX_VALUE} for no limit.
+	 * @param maxCauseDepth
+	 *            Maximum depth of the nested causes and suppressed throwables that are printed. Use
+	 *            {@link Integer#MAX_VALUE} for no limit.
+	 * @param cacheSize
+	 *            Number of rendered traces to cache which will be rounded up to a power of 2 or 0 for no cache.
+	 */
+	public StackTraceRenderer(int maxFrames, int maxCauseDepth, int cacheSize) {
+		this.maxFrames = Math.max(0, maxFrames);
+		this.maxCauseDepth = Math.max(0, maxCauseDepth);
+		if (cacheSize <= 0) {
+			this.cache = null;
+			this.cacheMask = 0;
+		} else {
+			// round up to a power of 2 so we can mask the hash
+			int size = 1;
+			while (size < cacheSize && size < (1 << 20)) {
+				size <<= 1;
+			}
+			this.cache = new CachedTrace[size];
+			this.cacheMask = size - 1;
+		}
+	}
+
+	/**
+	 * Append the stack trace of the throwable to the buffer with each line followed by a line separator.
+	 */
+	public void append(StringBuilder sb, Throwable throwable) {
+		if (cache == null) {
+			render(sb, throwable);
+			return;
+		}
+		long fingerprint = fingerprint(throwable);
+		int index = (int) (fingerprint ^ (fingerprint >>> 32)) & cacheMask;
+		CachedTrace cached = cache[index];
+		if (cached != null && cached.fingerprint == fingerprint) {
+			sb.append(cached.rendered);
+			return;
+		}
+		int start = sb.length();
+		render(sb, throwable);
+		cache[index] = new CachedTrace(fingerprint, sb.substring(start));
+	}
+
+	/**
+	 * Return the 64-bit fingerprint of everything in the throwable that is rendered. Exposed for testing.
+	 */
+	long fingerprint(Throwable throwable) {
+		return fingerprint(1, throwable, null, 0);
+	}
+
+	/**
+	 * Clear the cache. For testing purposes.
+	 */
+	void clearCache() {
+		if (cache != null) {
+			for (int i = 0; i < cache.length; i++) {
+				cache[i] = null;
+			}
+		}
+	}
+
+	private long fingerprint(long hash, Throwable throwable, Set<Throwable> seen, int depth) {
+		hash = mix(hash, throwable.toString().hashCode());
+		if (depth > maxCauseDepth) {
+			return hash;
+		}
+		for (StackTraceElement frame : throwable.getStackTrace()) {
+			hash = mix(hash, frame.hashCode());
+		}
+		Throwable[] suppressed = throwable.getSuppressed();
+		Throwable cause = throwable.getCause();
+		if (suppressed.length == 0 && cause == null) {
+			return hash;
+		}
+		if (seen == null) {
+			seen = newIdentitySet();
+			seen.add(throwable);
+		}
+		for (Throwable enclosed : suppressed) {
+			// the markers keep a suppressed throwable from hashing the same as a cause
+			hash = fingerprintEnclosed(mix(hash, 'S'), enclosed, seen, depth + 1);
+		}
+		if (cause != null) {
+			hash = fingerprintEnclosed(mix(hash, 'C'), cause, seen, depth + 1);
+		}
+		return mix(hash, 'E');
+	}
+
+	private long fingerprintEnclosed(long hash, Throwable throwable, Set<Throwable> seen, int depth) {
+		if (!seen.add(throwable)) {
+			return mix(hash, System.identityHashCode(throwable));
+		}
+		return fingerprint(hash, throwable, seen, depth);
+	}
+
+	private static long mix(long hash, int value) {
+		return (hash ^ value) * HASH_MULTIPLIER;
+	}
+
+	private void render(StringBuilder sb, Throwable throwable) {
+		sb.append(throwable).append(LINE_SEPARATOR);
+		StackTraceElement[] trace = throwable.getStackTrace();
+		appendFrames(sb, trace, trace.length, "");
+		Throwable[] suppressed = throwable.getSuppressed();
+		Throwable cause = throwable.getCause();
+		if (suppressed.length == 0 && cause == null) {
+			return;
+		}
+		Set<Throwable> seen = newIdentitySet();
+		seen.add(throwable);
+		for (Throwable enclosed : suppressed) {
+			renderEnclosed(sb, enclosed, trace, "Suppressed: ", "\t", seen, 1);
+		}
+		if (cause != null) {
+			renderEnclosed(sb, cause, trace, "Caused by: ", "", seen, 1);
+		}
+	}
+
+	private void renderEnclosed(StringBuilder sb, Throwable throwable, StackTraceElement[] enclosingTrace,
+			String caption, String prefix, Set<Throwable> seen, int depth) {
+		if (!seen.add(throwable)) {
+			sb.append(prefix).append(caption).append("[CIRCULAR REFERENCE: ").append(throwable).append(']');
+			sb.append(LINE_SEPARATOR);
+			return;
+		}
+		sb.append(prefix).append(caption).append(throwable);
+		if (depth > maxCauseDepth) {
+			sb.append(" [cause depth limit of ").append(maxCauseDepth).append(" reached]").append(LINE_SEPARATOR);
+			return;
+		}
+		sb.append(LINE_SEPARATOR);
+
+		// find the frames in common with the enclosing trace
+		StackTraceElement[] trace = throwable.getStackTrace();
+		int m = trace.length - 1;
+		int n = enclosingTrace.length - 1;
+		while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+			m--;
+			n--;
+		}
+		int framesInCommon = trace.length - 1 - m;
+		appendFrames(sb, trace, m + 1, prefix);
+		if (framesInCommon != 0) {
+			sb.append(prefix).append("\t... ").append(framesInCommon).append(" more").append(LINE_SEPARATOR);
+		}
+
+		for (Throwable enclosed : throwable.getSuppressed()) {
+			renderEnclosed(sb, enclosed, trace, "Suppressed: ", prefix + "\t", seen, depth + 1);
+		}
+		Throwable cause = throwable.getCause();
+		if (cause != null) {
+			renderEnclosed(sb, cause, trace, "Caused by: ", prefix, seen, depth + 1);
+		}
+	}
+
+	private void appendFrames(StringBuilder sb, StackTraceElement[] trace, int numFrames, String prefix) {
+		int printed = Math.min(numFrames, maxFrames);
+		for (int i = 0; i < printed; i++) {
+			sb.append(prefix).append("\tat ").append(trace[i]).append(LINE_SEPARATOR);
+		}
+		if (printed < numFrames) {
+			sb.append(prefix).append("\t... ").append(numFrames - printed).append(" frames truncated");
+			sb.append(LINE_SEPARATOR);
+		}
+	}
+
+	private static Set<Throwable> newIdentitySet() {
+		return Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>());
+	}
+
+	/**
+	 * Rendered trace and its fingerprint.
+	 */
+	private static class CachedTrace {
+		final long fingerprint;
+		final String rendered;
+
+		public CachedTrace(long fingerprint, String rendered) {
+			this.fingerprint = fingerprint;
+			this.rendered = rendered;
+		}
+	}
+}
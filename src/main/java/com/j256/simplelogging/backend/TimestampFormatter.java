@@ -0,0 +1,205 @@
+package com.j256.simplelogging.backend;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Formats log timestamps into a buffer without allocating a date or formatter each time. The parts of the timestamp
+ * that only change once a second are formatted with {@link SimpleDateFormat} and cached so each log line just copies
+ * them and writes the fractional-second digits.
+ *
+ * From SimpleLogging: https://github.com/j256/simplelogging
+ *
+ * <p>
+ * The pattern is a {@link SimpleDateFormat} pattern where the first run of 'S' characters is the fraction of the
+ * second with that many digits so "SSS" is milliseconds, "SSSSSS" is microseconds, and "SSSSSSSSS" is nanoseconds.
+ * Sub-millisecond precision depends on the JVM clock. The pattern can also be one of {@link #ISO8601_FORMAT},
+ * {@link #EPOCH_MILLIS_FORMAT}, {@link #EPOCH_MICROS_FORMAT}, or {@link #EPOCH_NANOS_FORMAT}.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class TimestampFormatter {
+
+	/** default pattern used by the local log */
+	public static final String DEFAULT_FORMAT = "yyyy-MM-dd HH:mm:ss,SSS";
+	/** ISO-8601 timestamp with milliseconds and the time-zone offset */
+	public static final String ISO8601_FORMAT = "ISO8601";
+	/** milliseconds since the epoch */
+	public static final String EPOCH_MILLIS_FORMAT = "EPOCH_MILLIS";
+	/** microseconds since the epoch */
+	public static final String EPOCH_MICROS_FORMAT = "EPOCH_MICROS";
+	/** nanoseconds since the epoch */
+	public static final String EPOCH_NANOS_FORMAT = "EPOCH_NANOS";
+
+	private static final String ISO8601_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX";
+	private static final int MAX_FRACTION_DIGITS = 9;
+	private static final int MILLIS_FRACTION_DIGITS = 3;
+	private static final int[] POWERS_OF_TEN =
+			new int[] { 1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000, 1000000000 };
+
+	private final String pattern;
+	private final EpochUnit epochUnit;
+	private final SimpleDateFormat prefixFormat;
+	private final SimpleDateFormat suffixFormat;
+	private final int fractionDigits;
+	private volatile CachedSecond cachedSecond;
+
+	public TimestampFormatter(String pattern) {
+		this.pattern = pattern;
+		if (EPOCH_MILLIS_FORMAT.equals(pattern)) {
+			this.epochUnit = EpochUnit.MILLIS;
+		} else if (EPOCH_MICROS_FORMAT.equals(pattern)) {
+			this.epochUnit = EpochUnit.MICROS;
+		} else if (EPOCH_NANOS_FORMAT.equals(pattern)) {
+			this.epochUnit = EpochUnit.NANOS;
+		} else {
+			this.epochUnit = null;
+		}
+		if (epochUnit != null) {
+			this.prefixFormat = null;
+			this.suffixFormat = null;
+			this.fractionDigits = 0;
+			return;
+		}
+
+		String datePattern = pattern;
+		if (ISO8601_FORMAT.equals(pattern)) {
+			datePattern = ISO8601_PATTERN;
+		}
+		// find the first run of S characters that are not in quotes
+		int fractionStart = -1;
+		int fractionEnd = -1;
+		boolean inQuote = false;
+		for (int i = 0; i < datePattern.length(); i++) {
+			char ch = datePattern.charAt(i);
+			if (ch == '\'') {
+				inQuote = !inQuote;
+			} else if (ch == 'S' && !inQuote) {
+				fractionStart = i;
+				fractionEnd = i;
+				while (fractionEnd < datePattern.length() && datePattern.charAt(fractionEnd) == 'S') {
+					fractionEnd++;
+				}
+				break;
+			}
+		}
+		// these throw IllegalArgumentException if the pattern is invalid
+		if (fractionStart < 0) {
+			this.prefixFormat = new SimpleDateFormat(datePattern);
+			this.suffixFormat = null;
+			this.fractionDigits = 0;
+		} else {
+			this.prefixFormat = new SimpleDateFormat(datePattern.substring(0, fractionStart));
+			this.suffixFormat = new SimpleDateFormat(datePattern.substring(fractionEnd));
+			this.fractionDigits = Math.min(fractionEnd - fractionStart, MAX_FRACTION_DIGITS);
+		}
+	}
+
+	/**
+	 * Append the current time to the buffer.
+	 */
+	public void appendTimestamp(StringBuilder sb) {
+		if (epochUnit == EpochUnit.MILLIS || (epochUnit == null && fractionDigits <= MILLIS_FRACTION_DIGITS)) {
+			long millis = System.currentTimeMillis();
+			appendTimestamp(sb, Math.floorDiv(millis, 1000), (int) Math.floorMod(millis, 1000) * 1000000);
+		} else {
+			Instant now = Instant.now();
+			appendTimestamp(sb, now.getEpochSecond(), now.getNano());
+		}
+	}
+
+	/**
+	 * Append the time to the buffer.
+	 *
+	 * @param epochSecond
+	 *            Seconds since the epoch.
+	 * @param nanos
+	 *            Nanoseconds within the second.
+	 */
+	public void appendTimestamp(StringBuilder sb, long epochSecond, int nanos) {
+		if (epochUnit != null) {
+			switch (epochUnit) {
+				case MILLIS:
+					sb.append(epochSecond * 1000 + nanos / 1000000);
+					break;
+				case MICROS:
+					sb.append(epochSecond * 1000000 + nanos / 1000);
+					break;
+				case NANOS:
+				default:
+					sb.append(epochSecond * 1000000000 + nanos);
+					break;
+			}
+			return;
+		}
+		CachedSecond cached = cachedSecond;
+		if (cached == null || cached.epochSecond != epochSecond) {
+			cached = formatSecond(epochSecond);
+			cachedSecond = cached;
+		}
+		sb.append(cached.prefix);
+		if (fractionDigits > 0) {
+			int fraction = nanos / POWERS_OF_TEN[MAX_FRACTION_DIGITS - fractionDigits];
+			// zero pad the fraction
+			for (int power = POWERS_OF_TEN[fractionDigits - 1]; power > 1 && fraction < power; power /= 10) {
+				sb.append('0');
+			}
+			sb.append(fraction);
+			sb.append(cached.suffix);
+		}
+	}
+
+	/**
+	 * Return true if the timestamps are numbers since the epoch instead of dates.
+	 */
+	public boolean isEpoch() {
+		return (epochUnit != null);
+	}
+
+	/**
+	 * Return the pattern that we were constructed with.
+	 */
+	public String getPattern() {
+		return pattern;
+	}
+
+	private CachedSecond formatSecond(long epochSecond) {
+		Date date = new Date(epochSecond * 1000);
+		// this only happens once a second so the lock doesn't matter and it protects the formats
+		synchronized (this) {
+			String prefix = prefixFormat.format(date);
+			String suffix;
+			if (suffixFormat == null) {
+				suffix = "";
+			} else {
+				suffix = suffixFormat.format(date);
+			}
+			return new CachedSecond(epochSecond, prefix, suffix);
+		}
+	}
+
+	/**
+	 * Formatted parts of the timestamp that stay the same for the second.
+	 */
+	private static class CachedSecond {
+		final long epochSecond;
+		final String prefix;
+		final String suffix;
+
+		public CachedSecond(long epochSecond, String prefix, String suffix) {
+			this.epochSecond = epochSecond;
+			this.prefix = prefix;
+			this.suffix = suffix;
+		}
+	}
+
+	private enum EpochUnit {
+		MILLIS,
+		MICROS,
+		NANOS,
+		// end
+		;
+	}
+}
@@ -1,10 +1,28 @@
 package com.j256.simplelogging;
 
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.aryEq;
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.getCurrentArguments;
+import static org.easymock.EasyMock.isNull;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.easymock.IAnswer;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -380,6 +398,347 @@ public class FluentLoggerTest {
 		verify(mockBackend);
 	}
 
+	@Test
+	public void testContextRecycling() {
+		FluentLogger.setContextRecycling(true);
+		try {
+			expect(mockBackend.isLevelEnabled(Level.INFO)).andReturn(true).times(3);
+			mockBackend.log(Level.INFO, "hello 1 2");
+			mockBackend.log(Level.INFO, "appended x");
+			mockBackend.log(Level.INFO, "array 3 4");
+			replay(mockBackend);
+			FluentContext context = fluentLogger.atInfo();
+			context.msg("hello {} {}").arg(1).arg(2).log();
+			// these calls after the log() call are ignored while the context is in the pool
+			context.msg("ignored").arg(3).log();
+			fluentLogger.atInfo().msg("appended").appendMsg(" {}").arg("x").log();
+			Object[] args = new Object[] { 3, 4 };
+			fluentLogger.atInfo().msg("array {} {}").args(args).log();
+			// we must not touch the caller's array when recycling
+			assertEquals(3, args[0]);
+			assertEquals(4, args[1]);
+			verify(mockBackend);
+		} finally {
+			FluentLogger.setContextRecycling(false);
+		}
+	}
+
+	@Test
+	public void testContextRecyclingReuse() {
+		assertFalse(FluentLogger.isContextRecycling());
+		FluentLogger.setContextRecycling(true);
+		try {
+			expect(mockBackend.isLevelEnabled(Level.INFO)).andReturn(true).times(2);
+			mockBackend.log(Level.INFO, "first 1");
+			mockBackend.log(Level.INFO, "second");
+			replay(mockBackend);
+			FluentContext context1 = fluentLogger.atInfo();
+			context1.msg("first {}").arg(1).log();
+			FluentContext context2 = fluentLogger.atInfo();
+			// the args from the first call must have been cleared
+			context2.msg("second").log();
+			assertSame(context1, context2);
+			verify(mockBackend);
+		} finally {
+			FluentLogger.setContextRecycling(false);
+		}
+	}
+
+	@Test
+	public void testPrimitiveArgs() {
+		expect(mockBackend.isLevelEnabled(Level.INFO)).andReturn(true).times(4);
+		mockBackend.log(Level.INFO, "all true 1 x 2 3 4 5.5 6.25 obj");
+		mockBackend.log(Level.INFO, "'-1', 'str', 'false'");
+		mockBackend.log(Level.INFO, "array a b 1 2 3");
+		mockBackend.log(Level.INFO, "grow 1 2 3 4 5 6 7 8 9");
+		replay(mockBackend);
+		fluentLogger.atInfo()
+				.msg("all {} {} {} {} {} {} {} {} {}")
+				.arg(true)
+				.arg((byte) 1)
+				.arg('x')
+				.arg((short) 2)
+				.arg(3)
+				.arg(4L)
+				.arg(5.5F)
+				.arg(6.25)
+				.arg("obj")
+				.log();
+		fluentLogger.atInfo().arg(-1).arg("str").arg(false).log();
+		Object[] args = new Object[] { "a", "b" };
+		fluentLogger.atInfo().msg("array {} {} {} {} {}").args(args).arg(1).arg(2L).arg((short) 3).log();
+		assertEquals("a", args[0]);
+		FluentContext context = fluentLogger.atInfo().msg("grow");
+		for (int i = 1; i <= 9; i++) {
+			context.appendMsg(" {}").arg(i);
+		}
+		context.log();
+		verify(mockBackend);
+	}
+
+	@Test
+	public void testPrimitiveArgsRecycling() {
+		FluentLogger.setContextRecycling(true);
+		try {
+			expect(mockBackend.isLevelEnabled(Level.INFO)).andReturn(true).times(2);
+			mockBackend.log(Level.INFO, "first 1 2.5");
+			mockBackend.log(Level.INFO, "second obj c");
+			replay(mockBackend);
+			fluentLogger.atInfo().msg("first {} {}").arg(1).arg(2.5).log();
+			// the recycled context must not see the old primitive slots
+			fluentLogger.atInfo().msg("second {} {}").arg("obj").arg('c').log();
+			verify(mockBackend);
+		} finally {
+			FluentLogger.setContextRecycling(false);
+		}
+	}
+
+	@Test
+	public void testFields() {
+		expect(mockBackend.isLevelEnabled(Level.INFO)).andReturn(true).times(3);
+		mockBackend.log(Level.INFO, "done 1 status=200 millis=12.5 ok=true user=[a, b] none=null");
+		mockBackend.log(Level.INFO, "oops key=1", throwable);
+		mockBackend.log(Level.INFO, BaseLogger.NO_MESSAGE_MESSAGE + " key=value");
+		expect(mockBackend.isLevelEnabled(Level.TRACE)).andReturn(false);
+		replay(mockBackend);
+		fluentLogger.atInfo()
+				.msg("done {}")
+				.field("status", 200)
+				.field("millis", 12.5)
+				.field("ok", true)
+				.field("user", new String[] { "a", "b" })
+				.field("none", (Object) null)
+				.field(null, 1)
+				.arg(1)
+				.log();
+		fluentLogger.atInfo().msg("oops").throwable(throwable).field("key", 1L).log();
+		fluentLogger.atInfo().field("key", "value").log();
+		// fields are ignored when the level is not enabled
+		fluentLogger.atTrace().msg("off").field("key", 1).log();
+		verify(mockBackend);
+	}
+
+	@Test
+	public void testStructuredFields() {
+		StructuredLogBackend structuredBackend = createMock(StructuredLogBackend.class);
+		FluentLogger.setContextRecycling(true);
+		try {
+			expect(structuredBackend.isLevelEnabled(Level.INFO)).andReturn(true).times(2);
+			final List<String> fieldStrings = new ArrayList<String>();
+			structuredBackend.log(eq(Level.INFO), eq("hello 1"), isNull(Throwable.class), anyObject(LogFields.class));
+			expectLastCall().andAnswer(new IAnswer<Object>() {
+				@Override
+				public Object answer() {
+					LogFields fields = (LogFields) getCurrentArguments()[3];
+					assertEquals(4, fields.size());
+					assertEquals("count", fields.getKey(0));
+					assertEquals(LogFields.FieldType.LONG, fields.getType(0));
+					assertEquals(10, fields.getLong(0));
+					assertEquals(LogFields.FieldType.DOUBLE, fields.getType(1));
+					assertEquals(0.5, fields.getDouble(1), 0);
+					assertEquals(LogFields.FieldType.BOOLEAN, fields.getType(2));
+					assertTrue(fields.getBoolean(2));
+					assertEquals(LogFields.FieldType.OBJECT, fields.getType(3));
+					assertEquals("str", fields.getObject(3));
+					fieldStrings.add(fields.toString());
+					return null;
+				}
+			});
+			// the fields from the recycled context must be cleared
+			structuredBackend.log(eq(Level.INFO), eq("again"), isNull(Throwable.class), anyObject(LogFields.class));
+			expectLastCall().andAnswer(new IAnswer<Object>() {
+				@Override
+				public Object answer() {
+					fieldStrings.add(getCurrentArguments()[3].toString());
+					return null;
+				}
+			});
+			replay(structuredBackend);
+			FluentLogger logger = new FluentLogger(structuredBackend);
+			logger.atInfo()
+					.msg("hello {}")
+					.arg(1)
+					.field("count", 10)
+					.field("half", 0.5)
+					.field("flag", true)
+					.field("name", "str")
+					.log();
+			logger.atInfo().msg("again").field("other", 'x').log();
+			verify(structuredBackend);
+			assertEquals(Arrays.asList("count=10 half=0.5 flag=true name=str", "other=120"), fieldStrings);
+		} finally {
+			FluentLogger.setContextRecycling(false);
+		}
+	}
+
+	@Test
+	public void testTemplateBackend() {
+		TemplateLogBackend templateBackend = createMock(TemplateLogBackend.class);
+		FluentLogger logger = new FluentLogger(templateBackend);
+		expect(templateBackend.isLevelEnabled(Level.INFO)).andReturn(true).times(2);
+		// the primitives are boxed for the backend
+		templateBackend.logTemplate(eq(Level.INFO), isNull(Throwable.class), eq("{} {} {}"),
+				aryEq(new Object[] { 1L, "str", true }), eq(3));
+		// fields are passed to the regular methods
+		templateBackend.log(Level.INFO, "msg key=1");
+		replay(templateBackend);
+		logger.atInfo().msg("{} {} {}").arg(1).arg("str").arg(true).log();
+		logger.atInfo().msg("msg").field("key", 1).log();
+		verify(templateBackend);
+	}
+
+	@Test
+	public void testEvery() {
+		RateLimiter.clear();
+		expect(mockBackend.isLevelEnabled(Level.INFO)).andReturn(true).times(10);
+		mockBackend.log(Level.INFO, "every 0");
+		mockBackend.log(Level.INFO, "every 3");
+		mockBackend.log(Level.INFO, "every 6");
+		mockBackend.log(Level.INFO, "every 9");
+		replay(mockBackend);
+		for (int i = 0; i < 10; i++) {
+			fluentLogger.atInfo().every(3).msg("every {}").arg(i).log();
+		}
+		verify(mockBackend);
+	}
+
+	@Test
+	public void testEveryCallSites() {
+		RateLimiter.clear();
+		FluentLogger.setContextRecycling(true);
+		try {
+			expect(mockBackend.isLevelEnabled(Level.INFO)).andReturn(true).times(6);
+			mockBackend.log(Level.INFO, "first");
+			mockBackend.log(Level.INFO, "second");
+			mockBackend.log(Level.INFO, "first");
+			// every of 1 does nothing and the recycled context must not keep the limit
+			mockBackend.log(Level.INFO, "third");
+			mockBackend.log(Level.INFO, "third");
+			replay(mockBackend);
+			fluentLogger.atInfo().every(2).msg("first").log();
+			fluentLogger.atInfo().every(2).msg("second").log();
+			fluentLogger.atInfo().every(2).msg("first").log();
+			fluentLogger.atInfo().every(2).msg("first").log();
+			fluentLogger.atInfo().every(1).msg("third").log();
+			fluentLogger.atInfo().msg("third").log();
+			verify(mockBackend);
+		} finally {
+			FluentLogger.setContextRecycling(false);
+		}
+	}
+
+	@Test
+	public void testAtMostEvery() throws Exception {
+		RateLimiter.clear();
+		expect(mockBackend.isLevelEnabled(Level.INFO)).andReturn(true).anyTimes();
+		mockBackend.log(Level.INFO, "hour counter");
+		mockBackend.log(Level.INFO, "interval 0");
+		mockBackend.log(Level.INFO, "interval 1");
+		replay(mockBackend);
+		// should not be formatted when suppressed
+		ToStringCounter counter = new ToStringCounter();
+		fluentLogger.atInfo().atMostEvery(1, TimeUnit.HOURS).msg("hour {}").arg(counter).log();
+		for (int i = 0; i < 10; i++) {
+			fluentLogger.atInfo().atMostEvery(1, TimeUnit.HOURS).msg("hour {}").arg(counter).log();
+		}
+		assertEquals(1, counter.count);
+		fluentLogger.atInfo().atMostEvery(10, TimeUnit.MILLISECONDS).msg("interval {}").arg(0).log();
+		fluentLogger.atInfo().atMostEvery(10, TimeUnit.MILLISECONDS).msg("interval {}").arg(-1).log();
+		Thread.sleep(20);
+		fluentLogger.atInfo().atMostEvery(10, TimeUnit.MILLISECONDS).msg("interval {}").arg(1).log();
+		verify(mockBackend);
+	}
+
+	@Test
+	public void testEveryThreads() throws Exception {
+		RateLimiter.clear();
+		final AtomicInteger logCount = new AtomicInteger();
+		final FluentLogger logger = new FluentLogger(new NullBackend() {
+			@Override
+			public boolean isLevelEnabled(Level level) {
+				return true;
+			}
+
+			@Override
+			public void log(Level level, String message) {
+				logCount.incrementAndGet();
+			}
+		});
+		final int numThreads = 4;
+		final int numCalls = 10000;
+		final int every = 100;
+		Thread[] threads = new Thread[numThreads];
+		for (int i = 0; i < numThreads; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < numCalls; j++) {
+						logger.atInfo().every(every).msg("threads").log();
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		// each stripe logs its first call so there may be a few extra
+		int expected = numThreads * numCalls / every;
+		assertTrue("count is " + logCount.get(),
+				logCount.get() >= expected && logCount.get() <= expected + numThreads);
+	}
+
+	@Test
+	public void testEveryAfterMsg() {
+		RateLimiter.clear();
+		expect(mockBackend.isLevelEnabled(Level.INFO)).andReturn(true).times(8);
+		mockBackend.log(Level.INFO, "late 0");
+		mockBackend.log(Level.INFO, "late 2");
+		mockBackend.log(Level.INFO, "dynamic");
+		mockBackend.log(Level.INFO, "dynamic");
+		replay(mockBackend);
+		for (int i = 0; i < 4; i++) {
+			fluentLogger.atInfo().msg("late {}").arg(i).every(2).log();
+		}
+		// equal messages that are built at runtime are the same call site
+		for (int i = 0; i < 4; i++) {
+			fluentLogger.atInfo().every(2).msg(new String("dynamic")).log();
+		}
+		verify(mockBackend);
+	}
+
+	@Test
+	public void testRateLimit() {
+		RateLimit first = RateLimit.every(2);
+		RateLimit second = RateLimit.every(2);
+		expect(mockBackend.isLevelEnabled(Level.INFO)).andReturn(true).anyTimes();
+		mockBackend.log(Level.INFO, "shared 0");
+		mockBackend.log(Level.INFO, "shared 1");
+		mockBackend.log(Level.INFO, "shared 4");
+		mockBackend.log(Level.INFO, "shared 5");
+		mockBackend.log(Level.INFO, "counter counter");
+		mockBackend.log(Level.INFO, "unlimited");
+		replay(mockBackend);
+		// the same message from two call sites is limited separately
+		for (int i = 0; i < 6; i += 2) {
+			fluentLogger.atInfo().rateLimit(first).msg("shared {}").arg(i).log();
+			fluentLogger.atInfo().rateLimit(second).msg("shared {}").arg(i + 1).log();
+		}
+		RateLimit hourly = RateLimit.atMostEvery(1, TimeUnit.HOURS);
+		ToStringCounter counter = new ToStringCounter();
+		for (int i = 0; i < 5; i++) {
+			FluentContext context = fluentLogger.atInfo().rateLimit(hourly);
+			// calls on a suppressed context are ignored even when it isn't chained
+			context.msg("{} {}");
+			context.arg(counter);
+			context.arg(counter);
+			context.log();
+		}
+		assertEquals(2, counter.count);
+		fluentLogger.atInfo().rateLimit(null).msg("unlimited").log();
+		verify(mockBackend);
+	}
+
 	@Test
 	@Ignore("Only to be run once and a while")
 	public void testPerformance() {
@@ -401,6 +760,16 @@ public class FluentLoggerTest {
 		}
 	}
 
+	private static class ToStringCounter {
+		int count;
+
+		@Override
+		public String toString() {
+			count++;
+			return "counter";
+		}
+	}
+
 	private static class NullBackend implements LogBackend {
 
 		@Override
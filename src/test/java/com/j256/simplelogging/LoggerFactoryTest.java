@@ -6,14 +6,21 @@ import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
 
 import org.junit.Test;
 
+import com.j256.simplelogging.backend.AsyncLogBackend.AsyncLogBackendFactory;
+import com.j256.simplelogging.backend.CollapsingLogBackend.CollapsingLogBackendFactory;
 import com.j256.simplelogging.backend.CommonsLoggingLogBackend;
 import com.j256.simplelogging.backend.JavaUtilLogBackend;
 import com.j256.simplelogging.backend.LocalLogBackend;
@@ -34,6 +41,26 @@ public class LoggerFactoryTest {
 		assertNotNull(LoggerFactory.getLogger(getClass().getName()));
 	}
 
+	@Test
+	public void testGetLoggerFreshClassLoader() throws Exception {
+		/*
+		 * The static initialization order problems only show up the first time the classes are loaded so we load them
+		 * again in a class-loader which doesn't delegate to ours.
+		 */
+		URL classesUrl = LoggerFactory.class.getProtectionDomain().getCodeSource().getLocation();
+		URLClassLoader classLoader = new URLClassLoader(new URL[] { classesUrl }, null);
+		try {
+			Class<?> factoryClass = Class.forName(LoggerFactory.class.getName(), true, classLoader);
+			assertNotSame(LoggerFactory.class, factoryClass);
+			Object logger = factoryClass.getMethod("getLogger", String.class).invoke(null, "fresh");
+			assertNotNull(logger);
+			Method traceMethod = logger.getClass().getMethod("trace", String.class);
+			traceMethod.invoke(logger, "fresh class-loader");
+		} finally {
+			classLoader.close();
+		}
+	}
+
 	@Test
 	public void testGetFluentLoggerClass() {
 		LoggerFactory.setLogBackendFactory(null);
@@ -250,6 +277,88 @@ public class LoggerFactoryTest {
 		}
 	}
 
+	@Test
+	public void testLoggerCaching() {
+		LogBackendFactory factory = LoggerFactory.getLogBackendFactory();
+		try {
+			LoggerFactory.setLogBackendFactory(LogBackendType.NULL);
+			Logger logger = LoggerFactory.getLogger("cached");
+			assertSame(logger, LoggerFactory.getLogger("cached"));
+			assertNotSame(logger, LoggerFactory.getLogger("other"));
+			FluentLogger fluentLogger = LoggerFactory.getFluentLogger("cached");
+			assertSame(fluentLogger, LoggerFactory.getFluentLogger("cached"));
+
+			// changing the factory drops the cached loggers
+			LoggerFactory.setLogBackendFactory(LogBackendType.LOCAL);
+			Logger logger2 = LoggerFactory.getLogger("cached");
+			assertNotSame(logger, logger2);
+			assertTrue(logger2.getLogBackend() instanceof LocalLogBackend);
+			assertNotSame(fluentLogger, LoggerFactory.getFluentLogger("cached"));
+		} finally {
+			LoggerFactory.setLogBackendFactory(factory);
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testLoggerCachingThreads() throws Exception {
+		LogBackendFactory factory = LoggerFactory.getLogBackendFactory();
+		try {
+			LoggerFactory.setLogBackendFactory(LogBackendType.NULL);
+			final Logger[] loggers = new Logger[8];
+			Thread[] threads = new Thread[loggers.length];
+			for (int i = 0; i < threads.length; i++) {
+				final int index = i;
+				threads[i] = new Thread() {
+					@Override
+					public void run() {
+						loggers[index] = LoggerFactory.getLogger("threaded");
+					}
+				};
+				threads[i].start();
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			for (Logger logger : loggers) {
+				assertSame(loggers[0], logger);
+			}
+		} finally {
+			LoggerFactory.setLogBackendFactory(factory);
+		}
+	}
+
+	@Test
+	public void testMaybeWrapAsync() {
+		try {
+			PropertyUtils.clearProperties();
+			PropertyUtils.setPropertiesInputStream(
+					new ByteArrayInputStream((PropertyUtils.ASYNC_ENABLED_PROPERTY + " = true\n").getBytes()));
+			LogBackendFactory factory = LoggerFactory.maybeWrapAsync(LogBackendType.NULL);
+			assertTrue(factory instanceof AsyncLogBackendFactory);
+			assertSame(LogBackendType.NULL, ((AsyncLogBackendFactory) factory).getDelegateFactory());
+		} finally {
+			PropertyUtils.clearProperties();
+			PropertyUtils.setPropertiesInputStream(null);
+		}
+		assertSame(LogBackendType.NULL, LoggerFactory.maybeWrapAsync(LogBackendType.NULL));
+	}
+
+	@Test
+	public void testMaybeWrapCollapsing() {
+		try {
+			PropertyUtils.clearProperties();
+			PropertyUtils.setPropertiesInputStream(
+					new ByteArrayInputStream((PropertyUtils.COLLAPSE_ENABLED_PROPERTY + " = true\n").getBytes()));
+			LogBackendFactory factory = LoggerFactory.maybeWrapCollapsing(LogBackendType.NULL);
+			assertTrue(factory instanceof CollapsingLogBackendFactory);
+			assertSame(LogBackendType.NULL, ((CollapsingLogBackendFactory) factory).getDelegateFactory());
+		} finally {
+			PropertyUtils.clearProperties();
+			PropertyUtils.setPropertiesInputStream(null);
+		}
+		assertSame(LogBackendType.NULL, LoggerFactory.maybeWrapCollapsing(LogBackendType.NULL));
+	}
+
 	private String extractSimpleClassName(String className) {
 		// get the last part of the class name
 		int index = className.lastIndexOf('.');
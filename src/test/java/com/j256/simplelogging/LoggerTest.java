@@ -1,9 +1,13 @@
 package com.j256.simplelogging;
 
+import static org.easymock.EasyMock.aryEq;
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.isNull;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.reset;
+import static org.easymock.EasyMock.same;
 import static org.easymock.EasyMock.verify;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
@@ -13,10 +17,13 @@ import static org.junit.Assert.fail;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.j256.simplelogging.backend.NullLogBackend;
+
 public class LoggerTest {
 
 	private Logger logger;
@@ -539,6 +546,74 @@ public class LoggerTest {
 		}
 	}
 
+	@Test
+	public void testPrimitiveArg0() throws Exception {
+		String msg = "123 ";
+		String pattern = msg + "{}";
+		Class<?>[] types = new Class<?>[] { boolean.class, char.class, long.class, float.class, double.class };
+		Object[] args = new Object[] { true, 'x', Long.MIN_VALUE, 1.1F, -2.5E100 };
+		for (Level level : Level.values()) {
+			if (level == Level.OFF) {
+				continue;
+			}
+			for (int i = 0; i < types.length; i++) {
+				String result = msg + args[i];
+				Method method = Logger.class.getMethod(getNameFromLevel(level), String.class, types[i]);
+				reset(mockBackend);
+				expect(mockBackend.isLevelEnabled(level)).andReturn(true);
+				mockBackend.log(level, result);
+				replay(mockBackend);
+				method.invoke(logger, pattern, args[i]);
+				verify(mockBackend);
+
+				method = Logger.class.getMethod(getNameFromLevel(level), Throwable.class, String.class, types[i]);
+				reset(mockBackend);
+				expect(mockBackend.isLevelEnabled(level)).andReturn(true);
+				mockBackend.log(level, result, throwable);
+				replay(mockBackend);
+				method.invoke(logger, throwable, pattern, args[i]);
+				verify(mockBackend);
+
+				method = Logger.class.getMethod("log", Level.class, String.class, types[i]);
+				reset(mockBackend);
+				expect(mockBackend.isLevelEnabled(level)).andReturn(true);
+				mockBackend.log(level, result);
+				replay(mockBackend);
+				method.invoke(logger, level, pattern, args[i]);
+				verify(mockBackend);
+
+				method = Logger.class.getMethod("log", Level.class, Throwable.class, String.class, types[i]);
+				reset(mockBackend);
+				expect(mockBackend.isLevelEnabled(level)).andReturn(false);
+				replay(mockBackend);
+				method.invoke(logger, level, throwable, pattern, args[i]);
+				verify(mockBackend);
+			}
+		}
+	}
+
+	@Test
+	public void testPrimitiveArgFormatting() {
+		int intArg = 123;
+		byte byteArg = -1;
+		reset(mockBackend);
+		expect(mockBackend.isLevelEnabled(Level.INFO)).andReturn(true).times(6);
+		mockBackend.log(Level.INFO, "int 123 and ");
+		mockBackend.log(Level.INFO, "byte -1");
+		mockBackend.log(Level.INFO, "no args");
+		mockBackend.log(Level.INFO, "'123'");
+		mockBackend.log(Level.INFO, "float 0.1");
+		mockBackend.log(Level.INFO, "char c");
+		replay(mockBackend);
+		logger.info("int {} and {}", intArg);
+		logger.info("byte {}", byteArg);
+		logger.info("no args", 1L);
+		logger.info((String) null, intArg);
+		logger.info("float {}", 0.1F);
+		logger.info("char {}", 'c');
+		verify(mockBackend);
+	}
+
 	private String getNameFromLevel(Level level) {
 		String name;
 		switch (level) {
@@ -670,6 +745,96 @@ public class LoggerTest {
 		verify(mockBackend);
 	}
 
+	@Test
+	public void testLevelCaching() {
+		String msg = "cached message";
+		reset(mockBackend);
+		// the levels are each checked once when the cache is calculated
+		expectLevelChecks(Level.INFO);
+		mockBackend.log(Level.INFO, msg);
+		mockBackend.log(Level.WARNING, msg);
+		// after the refresh they are checked again
+		expectLevelChecks(Level.DEBUG);
+		mockBackend.log(Level.DEBUG, msg);
+		// after the global level changes they are checked again
+		expectLevelChecks(Level.DEBUG);
+		try {
+			replay(mockBackend);
+			Logger.setLevelCaching(true);
+			assertTrue(Logger.isLevelCaching());
+			assertFalse(logger.isLevelEnabled(Level.DEBUG));
+			assertTrue(logger.isLevelEnabled(Level.INFO));
+			logger.debug(msg);
+			logger.info(msg);
+			logger.warn(msg);
+			Logger.refreshLevelCache();
+			logger.trace(msg);
+			logger.debug(msg);
+			Logger.setGlobalLogLevel(Level.INFO);
+			// enabled in the backend but not globally
+			assertTrue(logger.isLevelEnabled(Level.DEBUG));
+			logger.debug(msg);
+			verify(mockBackend);
+		} finally {
+			Logger.setLevelCaching(false);
+			Logger.setGlobalLogLevel(null);
+		}
+		assertFalse(Logger.isLevelCaching());
+	}
+
+	@Test(timeout = 10000)
+	public void testLevelCacheRefresher() throws Exception {
+		final AtomicBoolean enabled = new AtomicBoolean(false);
+		LogBackend backend = new NullLogBackend() {
+			@Override
+			public boolean isLevelEnabled(Level level) {
+				return enabled.get();
+			}
+		};
+		Logger logger = new Logger(backend);
+		try {
+			Logger.setLevelCaching(true);
+			assertFalse(logger.isLevelEnabled(Level.INFO));
+			enabled.set(true);
+			Logger.setLevelCacheRefreshMillis(10);
+			while (!logger.isLevelEnabled(Level.INFO)) {
+				Thread.sleep(10);
+			}
+		} finally {
+			Logger.setLevelCacheRefreshMillis(0);
+			Logger.setLevelCaching(false);
+		}
+	}
+
+	@Test
+	public void testTemplateBackend() {
+		TemplateLogBackend templateBackend = createMock(TemplateLogBackend.class);
+		Logger logger = new Logger(templateBackend);
+		expect(templateBackend.isLevelEnabled(Level.INFO)).andReturn(true).times(5);
+		templateBackend.logTemplate(Level.INFO, null, "no args", null, 0);
+		templateBackend.logTemplate(eq(Level.INFO), isNull(Throwable.class), eq("one {}"), aryEq(new Object[] { "x" }),
+				eq(1));
+		templateBackend.logTemplate(eq(Level.INFO), same(throwable), eq("{} {} {} {}"),
+				aryEq(new Object[] { 1, 2, 3, 4 }), eq(4));
+		templateBackend.logTemplate(eq(Level.INFO), isNull(Throwable.class), eq("primitive {}"),
+				aryEq(new Object[] { 1.5 }), eq(1));
+		// no template so it is formatted
+		templateBackend.log(Level.INFO, "'x', 'y'");
+		replay(templateBackend);
+		logger.info("no args");
+		logger.info("one {}", "x");
+		logger.info(throwable, "{} {} {} {}", 1, 2, 3, 4);
+		logger.info("primitive {}", 1.5);
+		logger.info((String) null, "x", "y");
+		verify(templateBackend);
+	}
+
+	private void expectLevelChecks(Level minLevel) {
+		for (Level level : Level.values()) {
+			expect(mockBackend.isLevelEnabled(level)).andReturn(minLevel.isEnabled(level));
+		}
+	}
+
 	private static class Foo {
 		final static String TO_STRING = "foo to string";
 
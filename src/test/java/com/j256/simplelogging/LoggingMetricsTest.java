@@ -0,0 +1,140 @@
+package com.j256.simplelogging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.j256.simplelogging.backend.LogFileWriter;
+
+public class LoggingMetricsTest {
+
+	@Before
+	public void before() {
+		LoggingMetrics.getInstance().reset();
+		LoggingMetrics.setEnabled(true);
+	}
+
+	@After
+	public void after() {
+		LoggingMetrics.setEnabled(false);
+		LoggingMetrics.getInstance().reset();
+	}
+
+	@Test
+	public void testMessages() {
+		LoggingMetrics metrics = LoggingMetrics.getInstance();
+		Logger logger = new Logger(new EnabledBackend());
+		logger.setMetricsName("com.j256.metrics.Foo");
+		Logger otherLogger = new Logger(new EnabledBackend());
+		logger.info("hello {}", 1);
+		logger.info("hello {} {}", 1, "there");
+		logger.warn("oops");
+		otherLogger.error(new Throwable(), "bad");
+
+		assertEquals(4, metrics.getMessageCount());
+		Map<String, Long> levelCounts = metrics.getLevelCounts();
+		assertEquals(2L, (long) levelCounts.get(Level.INFO.name()));
+		assertEquals(1L, (long) levelCounts.get(Level.WARNING.name()));
+		assertEquals(1L, (long) levelCounts.get(Level.ERROR.name()));
+		assertEquals(0L, (long) levelCounts.get(Level.TRACE.name()));
+		// the other logger has no name
+		assertEquals(3L, (long) metrics.getLoggerPrefixCounts().get("com.j256.metrics"));
+		assertTrue(metrics.getBackendNanos() >= 0);
+		assertTrue(metrics.getFormattingNanos() >= 0);
+
+		metrics.reset();
+		assertEquals(0, metrics.getMessageCount());
+		assertEquals(0L, (long) metrics.getLoggerPrefixCounts().get("com.j256.metrics"));
+	}
+
+	@Test
+	public void testDisabled() {
+		LoggingMetrics.setEnabled(false);
+		assertFalse(LoggingMetrics.isEnabled());
+		Logger logger = new Logger(new EnabledBackend());
+		logger.info("hello");
+		LoggingMetrics.recordSuppressed();
+		assertEquals(0, LoggingMetrics.getInstance().getMessageCount());
+		assertEquals(0, LoggingMetrics.getInstance().getSuppressedCount());
+	}
+
+	@Test
+	public void testSuppressed() {
+		FluentLogger logger = new FluentLogger(new EnabledBackend());
+		for (int i = 0; i < 4; i++) {
+			logger.atInfo().every(2).msg("every other").log();
+		}
+		assertEquals(2, LoggingMetrics.getInstance().getMessageCount());
+		assertEquals(2, LoggingMetrics.getInstance().getSuppressedCount());
+	}
+
+	@Test
+	public void testBytesWritten() throws IOException {
+		File file = new File("target/LoggingMetricsTest.log");
+		LogFileWriter writer = new LogFileWriter(file);
+		try {
+			byte[] bytes = "hello".getBytes();
+			writer.write(Level.INFO, bytes, 0, bytes.length);
+		} finally {
+			writer.close();
+			file.delete();
+		}
+		assertEquals(5, LoggingMetrics.getInstance().getBytesWritten());
+		LoggingMetrics.recordDropped();
+		assertEquals(1, LoggingMetrics.getInstance().getDroppedCount());
+	}
+
+	@Test
+	public void testRegister() throws Exception {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(LoggingMetrics.OBJECT_NAME);
+		assertTrue(LoggingMetrics.register());
+		try {
+			assertTrue(server.isRegistered(name));
+			new Logger(new EnabledBackend()).info("hello");
+			assertEquals(1L, server.getAttribute(name, "MessageCount"));
+			// registering again is fine
+			assertTrue(LoggingMetrics.register());
+		} finally {
+			LoggingMetrics.unregister();
+		}
+		assertFalse(server.isRegistered(name));
+	}
+
+	@Test
+	public void testPrefix() {
+		assertEquals("com.j256.simplelogging", LoggingMetrics.prefix("com.j256.simplelogging.backend.Foo", 3));
+		assertEquals("com", LoggingMetrics.prefix("com.j256.simplelogging.backend.Foo", 1));
+		assertEquals("com.Foo", LoggingMetrics.prefix("com.Foo", 3));
+		assertEquals("Foo", LoggingMetrics.prefix("Foo", 3));
+	}
+
+	private static class EnabledBackend implements LogBackend {
+		@Override
+		public boolean isLevelEnabled(Level level) {
+			return true;
+		}
+
+		@Override
+		public void log(Level level, String msg) {
+			// ignored
+		}
+
+		@Override
+		public void log(Level level, String msg, Throwable throwable) {
+			// ignored
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.j256.simplelogging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MessageTemplateTest {
+
+	@Test
+	public void testParse() {
+		String msg = "connected to {} port {}!";
+		MessageTemplate template = MessageTemplate.parse(msg);
+		assertSame(msg, template.getTemplate());
+		assertEquals(2, template.getArgCount());
+		assertEquals("connected to ", template.getSegment(0));
+		assertEquals(" port ", template.getSegment(1));
+		assertEquals("!", template.getSegment(2));
+		assertEquals(13, template.getArgOffset(0));
+		assertEquals(21, template.getArgOffset(1));
+	}
+
+	@Test
+	public void testParseEdges() {
+		MessageTemplate template = MessageTemplate.parse("{}{}");
+		assertEquals(2, template.getArgCount());
+		assertEquals("", template.getSegment(0));
+		assertEquals("", template.getSegment(1));
+		assertEquals("", template.getSegment(2));
+
+		template = MessageTemplate.parse("no args { } here");
+		assertEquals(0, template.getArgCount());
+		// the whole message is the only segment
+		assertEquals("no args { } here", template.getSegment(0));
+
+		template = MessageTemplate.parse("{{}}");
+		assertEquals(1, template.getArgCount());
+		assertEquals("{", template.getSegment(0));
+		assertEquals("}", template.getSegment(1));
+	}
+
+	@Test
+	public void testCache() {
+		MessageTemplate.clearCache();
+		String msg = "cached {}";
+		assertFalse(MessageTemplate.isCached(msg));
+		MessageTemplate template = MessageTemplate.fromMessage(msg);
+		assertTrue(MessageTemplate.isCached(msg));
+		assertSame(template, MessageTemplate.fromMessage(msg));
+
+		// same characters but a different string instance is a different key
+		String copy = new String(msg);
+		MessageTemplate copyTemplate = MessageTemplate.fromMessage(copy);
+		assertNotSame(template, copyTemplate);
+		assertEquals(1, copyTemplate.getArgCount());
+	}
+
+	@Test
+	public void testAppendSegment() {
+		MessageTemplate template = MessageTemplate.parse("a {} bc {}");
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i <= template.getArgCount(); i++) {
+			template.appendSegment(sb, i);
+			sb.append('|');
+		}
+		assertEquals("a | bc ||", sb.toString());
+	}
+
+	@Test
+	public void testNoArgsNotCached() {
+		MessageTemplate.clearCache();
+		String msg = "no args here";
+		MessageTemplate template = MessageTemplate.fromMessage(msg);
+		assertEquals(0, template.getArgCount());
+		assertSame(msg, template.getTemplate());
+		assertFalse(MessageTemplate.isCached(msg));
+	}
+
+	@Test
+	public void testCacheBounded() {
+		MessageTemplate.clearCache();
+		// dynamic messages replace each other in the cache but it never grows
+		for (int i = 0; i < LoggerConstants.MESSAGE_TEMPLATE_CACHE_SIZE * 4; i++) {
+			String msg = "dynamic " + i + " {}";
+			assertEquals(1, MessageTemplate.fromMessage(msg).getArgCount());
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package com.j256.simplelogging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ObjectPoolTest {
+
+	@Test
+	public void testAcquireRelease() {
+		ObjectPool<Object> pool = new ObjectPool<Object>(4);
+		assertNull(pool.acquire());
+		Object obj = new Object();
+		assertTrue(pool.release(obj));
+		assertSame(obj, pool.acquire());
+		assertNull(pool.acquire());
+	}
+
+	@Test
+	public void testBounded() {
+		ObjectPool<Object> pool = new ObjectPool<Object>(1);
+		int released = 0;
+		for (int i = 0; i < 100; i++) {
+			if (pool.release(new Object())) {
+				released++;
+			}
+		}
+		// the pool never holds more than its size
+		assertEquals(1, released);
+		assertNotNull(pool.acquire());
+		assertNull(pool.acquire());
+	}
+
+	@Test(timeout = 10000)
+	public void testThreads() throws Exception {
+		final ObjectPool<AtomicInteger> pool = new ObjectPool<AtomicInteger>(8);
+		Thread[] threads = new Thread[8];
+		final AtomicInteger created = new AtomicInteger();
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					for (int j = 0; j < 10000; j++) {
+						AtomicInteger obj = pool.acquire();
+						if (obj == null) {
+							obj = new AtomicInteger();
+							created.incrementAndGet();
+						}
+						// make sure no one else is using the object
+						assertEquals(1, obj.incrementAndGet());
+						obj.decrementAndGet();
+						pool.release(obj);
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertFalse(created.get() == 0);
+	}
+}
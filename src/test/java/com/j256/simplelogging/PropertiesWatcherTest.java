@@ -0,0 +1,66 @@
+package com.j256.simplelogging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.simplelogging.PropertyUtils.PatternLevel;
+import com.j256.simplelogging.backend.LocalLogBackend;
+
+public class PropertiesWatcherTest {
+
+	@Test
+	public void testReload() throws IOException {
+		File file = new File("target/PropertiesWatcherTest.properties");
+		List<PatternLevel> classLevels = LocalLogBackend.getClassLevels();
+		Level globalLevel = Logger.getGlobalLevel();
+		try {
+			writeFile(file, "locallog.com\\.foo\\..* = ERROR\n");
+			PropertiesWatcher.start(file, 60000);
+			assertEquals(file, PropertiesWatcher.getWatchedFile());
+			LogBackend backend = LogBackendType.LOCAL.createLogBackend("com.foo.Watched");
+			LogBackend otherBackend = LogBackendType.LOCAL.createLogBackend("com.bar.Other");
+			assertFalse(backend.isLevelEnabled(Level.INFO));
+			assertTrue(backend.isLevelEnabled(Level.ERROR));
+			assertFalse(PropertiesWatcher.checkForChanges());
+
+			long lastModified = file.lastModified();
+			writeFile(file, "locallog.com\\.foo\\..* = TRACE\nglobal.level = INFO\n");
+			// make sure that the change is seen even with a coarse file-system clock
+			assertTrue(file.setLastModified(lastModified + 2000));
+			assertTrue(PropertiesWatcher.checkForChanges());
+			// the existing backends see the new levels
+			assertTrue(backend.isLevelEnabled(Level.TRACE));
+			assertTrue(otherBackend.isLevelEnabled(Level.DEBUG));
+			assertEquals(Level.INFO, Logger.getGlobalLevel());
+
+			// a missing file leaves the levels alone
+			assertTrue(file.delete());
+			assertFalse(PropertiesWatcher.checkForChanges());
+			assertTrue(backend.isLevelEnabled(Level.TRACE));
+		} finally {
+			PropertiesWatcher.stop();
+			LocalLogBackend.setClassLevels(classLevels);
+			Logger.setGlobalLogLevel(globalLevel);
+			file.delete();
+		}
+		assertNull(PropertiesWatcher.getWatchedFile());
+		assertFalse(PropertiesWatcher.checkForChanges());
+	}
+
+	private void writeFile(File file, String contents) throws IOException {
+		file.getParentFile().mkdirs();
+		try (Writer writer = new FileWriter(file)) {
+			writer.write(contents);
+		}
+	}
+}
@@ -2,6 +2,7 @@ package com.j256.simplelogging;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -230,4 +231,41 @@ public class PropertyUtilsTest {
 		assertNull(PropertyUtils.processDiscoveryOrderValue(null, LogBackendType.LOCAL));
 		assertNull(PropertyUtils.processDiscoveryOrderValue("", LogBackendType.LOCAL));
 	}
+
+	@Test
+	public void testAsyncProperties() {
+		StringWriter stringWriter = new StringWriter();
+		stringWriter.write(PropertyUtils.ASYNC_ENABLED_PROPERTY + " = true\n");
+		stringWriter.write(PropertyUtils.ASYNC_QUEUE_SIZE_PROPERTY + " = 100\n");
+		stringWriter.write(PropertyUtils.ASYNC_BLOCK_WHEN_FULL_PROPERTY + " = not-a-number\n");
+		PropertyUtils.clearProperties();
+		PropertyUtils.setPropertiesInputStream(new ByteArrayInputStream(stringWriter.toString().getBytes()));
+		assertTrue(
+				PropertyUtils.readBooleanProperty(LogBackendType.LOCAL, PropertyUtils.ASYNC_ENABLED_PROPERTY, false));
+		assertTrue(PropertyUtils.readBooleanProperty(LogBackendType.LOCAL, "unknown", true));
+		assertEquals(100,
+				PropertyUtils.readIntProperty(LogBackendType.LOCAL, PropertyUtils.ASYNC_QUEUE_SIZE_PROPERTY, 1));
+		assertEquals(1, PropertyUtils.readIntProperty(LogBackendType.LOCAL, "unknown", 1));
+		assertEquals(2,
+				PropertyUtils.readIntProperty(LogBackendType.LOCAL, PropertyUtils.ASYNC_BLOCK_WHEN_FULL_PROPERTY, 2));
+		assertNull(PropertyUtils.readProperty(LogBackendType.LOCAL, "unknown"));
+	}
+
+	@Test
+	public void testLocalTimestampFormat() {
+		PropertyUtils.clearProperties();
+		PropertyUtils.setPropertiesInputStream(new ByteArrayInputStream(new byte[0]));
+		assertNull(PropertyUtils.readLocalTimestampFormatProperty(LogBackendType.NULL));
+
+		PropertyUtils.clearProperties();
+		PropertyUtils.setPropertiesInputStream(new ByteArrayInputStream(
+				(PropertyUtils.LOCAL_TIMESTAMP_FORMAT_PROPERTY + " = EPOCH_MILLIS\n").getBytes()));
+		assertEquals("EPOCH_MILLIS", PropertyUtils.readLocalTimestampFormatProperty(LogBackendType.NULL).getPattern());
+
+		PropertyUtils.clearProperties();
+		PropertyUtils.setPropertiesInputStream(new ByteArrayInputStream(
+				(PropertyUtils.LOCAL_TIMESTAMP_FORMAT_PROPERTY + " = yyyy-bb\n").getBytes()));
+		assertNull(PropertyUtils.readLocalTimestampFormatProperty(LogBackendType.NULL));
+		PropertyUtils.clearProperties();
+	}
 }
@@ -0,0 +1,58 @@
+package com.j256.simplelogging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class RateLimiterTest {
+
+	@Test
+	public void testAlternatingCallSites() {
+		RateLimiter.clear();
+		Object logger = new Object();
+		// find call sites that all start probing at the same slot
+		int numSites = 4;
+		String[] sites = new String[numSites];
+		int index = RateLimiter.tableIndex(logger, "site 0".hashCode());
+		sites[0] = "site 0";
+		int found = 1;
+		for (int i = 1; found < numSites; i++) {
+			String site = "site " + i;
+			if (RateLimiter.tableIndex(logger, site.hashCode()) == index) {
+				sites[found++] = site;
+			}
+		}
+		// colliding sites must not reset each other's counts
+		for (int round = 0; round < 4; round++) {
+			for (String site : sites) {
+				assertEquals(site + " round " + round, (round % 2 == 0), RateLimiter.shouldLog(logger, site, 2, 0));
+			}
+		}
+	}
+
+	@Test
+	public void testLoggerAndMessage() {
+		RateLimiter.clear();
+		Object logger1 = new Object();
+		Object logger2 = new Object();
+		assertTrue(RateLimiter.shouldLog(logger1, "msg", 2, 0));
+		assertTrue(RateLimiter.shouldLog(logger2, "msg", 2, 0));
+		assertTrue(RateLimiter.shouldLog(logger1, null, 2, 0));
+		assertFalse(RateLimiter.shouldLog(logger1, new String("msg"), 2, 0));
+		assertFalse(RateLimiter.shouldLog(logger2, "msg", 2, 0));
+		assertFalse(RateLimiter.shouldLog(logger1, null, 2, 0));
+		assertTrue(RateLimiter.shouldLog(logger1, "msg", 2, 0));
+	}
+
+	@Test
+	public void testFullTable() {
+		RateLimiter.clear();
+		Object logger = new Object();
+		// more sites than the table holds replaces some of them but each new site logs its first call
+		for (int i = 0; i < LoggerConstants.RATE_LIMIT_CALL_SITES * 4; i++) {
+			assertTrue(RateLimiter.shouldLog(logger, "full " + i, 1000, 0));
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.j256.simplelogging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import org.junit.Test;
+
+public class StringBuilderPoolTest {
+
+	@Test
+	public void testReuse() {
+		StringBuilder sb = StringBuilderPool.acquire();
+		sb.append("hello");
+		assertEquals("hello", StringBuilderPool.toStringAndRelease(sb));
+		StringBuilder sb2 = StringBuilderPool.acquire();
+		// may or may not be the same buffer but it must be empty
+		assertEquals(0, sb2.length());
+		StringBuilderPool.release(sb2);
+	}
+
+	@Test
+	public void testLargeBufferDropped() {
+		StringBuilder sb = StringBuilderPool.acquire();
+		for (int i = 0; i <= LoggerConstants.MAX_POOLED_BUFFER_LENGTH; i++) {
+			sb.append('x');
+		}
+		StringBuilderPool.release(sb);
+		StringBuilder sb2 = StringBuilderPool.acquire();
+		assertNotSame(sb, sb2);
+		StringBuilderPool.release(sb2);
+	}
+}
@@ -1,6 +1,10 @@
 package com.j256.simplelogging.backend;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -8,6 +12,7 @@ import com.j256.simplelogging.LogBackendFactory;
 import com.j256.simplelogging.LogBackendType;
 import com.j256.simplelogging.Logger;
 import com.j256.simplelogging.LoggerFactory;
+import com.j256.simplelogging.backend.AndroidLogBackend.TagLevels;
 
 public class AndroidLogBackendTest {
 
@@ -28,4 +33,80 @@ public class AndroidLogBackendTest {
 	public void testCoverage() {
 		new AndroidLogBackend("classnametoolong01234567890123456789");
 	}
+
+	@Test
+	public void testTagLevelsRefresh() {
+		boolean[] first = new boolean[] { false, true };
+		TestTagLevels tagLevels = new TestTagLevels(first, 1000, 100);
+		assertSame(first, tagLevels.getLevelCache(100));
+		assertEquals(0, tagLevels.loadCount.get());
+
+		boolean[] second = new boolean[] { true, true };
+		tagLevels.nextLevels = second;
+		// not reloaded until the levels are old enough
+		assertSame(first, tagLevels.getLevelCache(1099));
+		assertEquals(0, tagLevels.loadCount.get());
+		assertSame(second, tagLevels.getLevelCache(1100));
+		assertEquals(1, tagLevels.loadCount.get());
+		assertSame(second, tagLevels.getLevelCache(2099));
+		assertEquals(1, tagLevels.loadCount.get());
+
+		// equal levels keep the published array
+		tagLevels.nextLevels = new boolean[] { true, true };
+		assertSame(second, tagLevels.getLevelCache(2100));
+		assertEquals(2, tagLevels.loadCount.get());
+	}
+
+	@Test(timeout = 10000)
+	public void testTagLevelsPublication() throws Exception {
+		boolean[] first = new boolean[] { false, false };
+		final TestTagLevels tagLevels = new TestTagLevels(first, 1000, 0);
+		final boolean[] second = new boolean[] { false, true };
+		tagLevels.nextLevels = second;
+		int numThreads = 4;
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		final AtomicInteger sawSecondCount = new AtomicInteger();
+		Thread[] threads = new Thread[numThreads];
+		for (int i = 0; i < numThreads; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						startLatch.await();
+					} catch (InterruptedException ie) {
+						return;
+					}
+					tagLevels.getLevelCache(1000);
+					// once any thread has reloaded the new levels are seen by the others
+					while (tagLevels.getLevelCache(1000) != second) {
+						Thread.yield();
+					}
+					sawSecondCount.incrementAndGet();
+				}
+			});
+			threads[i].start();
+		}
+		startLatch.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(numThreads, sawSecondCount.get());
+		// only one of the threads reloads the levels
+		assertEquals(1, tagLevels.loadCount.get());
+	}
+
+	private static class TestTagLevels extends TagLevels {
+		final AtomicInteger loadCount = new AtomicInteger();
+		volatile boolean[] nextLevels;
+
+		public TestTagLevels(boolean[] levelCache, long refreshMillis, long nowMillis) {
+			super("tag", levelCache, refreshMillis, nowMillis);
+		}
+
+		@Override
+		boolean[] loadLevels() {
+			loadCount.incrementAndGet();
+			return nextLevels;
+		}
+	}
 }
@@ -0,0 +1,250 @@
+package com.j256.simplelogging.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import com.j256.simplelogging.FluentLogger;
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogBackend;
+import com.j256.simplelogging.LogBackendFactory;
+import com.j256.simplelogging.LogBackendType;
+import com.j256.simplelogging.LogFields;
+import com.j256.simplelogging.StructuredLogBackend;
+import com.j256.simplelogging.backend.AsyncLogBackend.AsyncLogBackendFactory;
+import com.j256.simplelogging.backend.AsyncLogBackend.AsyncWriter;
+
+public class AsyncLogBackendTest extends BaseLogBackendTest {
+
+	public AsyncLogBackendTest() {
+		super(new AsyncLogBackendFactory(LogBackendType.NULL));
+	}
+
+	@Test(timeout = 10000)
+	public void testMessagesDelivered() {
+		RecordingBackend recorder = new RecordingBackend(null);
+		AsyncLogBackendFactory factory = new AsyncLogBackendFactory(new RecordingFactory(recorder), 4, true);
+		LogBackend backend = factory.createLogBackend("foo");
+		assertTrue(backend.isLevelEnabled(Level.INFO));
+		Throwable throwable = new Throwable();
+		int numMessages = 100;
+		for (int i = 0; i < numMessages; i++) {
+			backend.log(Level.INFO, "message " + i);
+		}
+		backend.log(Level.ERROR, "with throwable", throwable);
+		assertTrue(factory.flush(5000));
+		assertEquals(numMessages + 1, recorder.messages.size());
+		for (int i = 0; i < numMessages; i++) {
+			assertEquals("message " + i, recorder.messages.get(i));
+		}
+		assertSame(throwable, recorder.lastThrowable);
+		assertEquals(0, factory.getDroppedCount());
+	}
+
+	@Test(timeout = 10000)
+	public void testDropWhenFull() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		RecordingBackend recorder = new RecordingBackend(latch);
+		AsyncLogBackendFactory factory = new AsyncLogBackendFactory(new RecordingFactory(recorder), 2, false);
+		LogBackend backend = factory.createLogBackend("foo");
+		// the writer thread blocks on the first message so the next ones fill the queue
+		for (int i = 0; i < 10; i++) {
+			backend.log(Level.INFO, "message " + i);
+		}
+		assertTrue(factory.getDroppedCount() > 0);
+		assertFalse(factory.flush(10));
+		latch.countDown();
+		assertTrue(factory.flush(5000));
+		assertEquals(10, recorder.messages.size() + factory.getDroppedCount());
+	}
+
+	@Test(timeout = 10000)
+	public void testFields() {
+		RecordingBackend recorder = new RecordingBackend(null);
+		AsyncLogBackendFactory factory = new AsyncLogBackendFactory(new RecordingFactory(recorder), 4, true);
+		FluentLogger logger = new FluentLogger(factory.createLogBackend("foo"));
+		StructuredRecordingBackend structuredRecorder = new StructuredRecordingBackend();
+		AsyncLogBackendFactory structuredFactory =
+				new AsyncLogBackendFactory(new RecordingFactory(structuredRecorder), 4, true);
+		FluentLogger structuredLogger = new FluentLogger(structuredFactory.createLogBackend("foo"));
+		FluentLogger.setContextRecycling(true);
+		try {
+			logger.atInfo().msg("hello").field("key", 1).log();
+			for (int i = 0; i < 10; i++) {
+				structuredLogger.atInfo().msg("message").field("count", i).log();
+			}
+		} finally {
+			FluentLogger.setContextRecycling(false);
+		}
+		assertTrue(factory.flush(5000));
+		assertEquals(Arrays.asList("hello key=1"), recorder.messages);
+		assertTrue(structuredFactory.flush(5000));
+		// the recycled context reused its fields so the queued ones must have been copied
+		assertEquals(10, structuredRecorder.messages.size());
+		for (int i = 0; i < 10; i++) {
+			assertEquals("message count=" + i, structuredRecorder.messages.get(i));
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testErrorDoesNotKillWriter() {
+		RecordingBackend recorder = new RecordingBackend(null) {
+			@Override
+			public void log(Level level, String message) {
+				if (message.equals("error")) {
+					throw new OutOfMemoryError("simulated");
+				}
+				super.log(level, message);
+			}
+		};
+		AsyncLogBackendFactory factory = new AsyncLogBackendFactory(new RecordingFactory(recorder), 4, true);
+		LogBackend backend = factory.createLogBackend("foo");
+		backend.log(Level.INFO, "error");
+		for (int i = 0; i < 10; i++) {
+			backend.log(Level.INFO, "after " + i);
+		}
+		assertTrue(factory.flush(5000));
+		assertEquals(10, recorder.messages.size());
+		assertEquals("after 9", recorder.messages.get(9));
+		factory.close();
+	}
+
+	@Test(timeout = 10000)
+	public void testClose() {
+		RecordingBackend recorder = new RecordingBackend(null);
+		AsyncWriter writer = new AsyncWriter(4, true);
+		writer.enqueue(recorder, Level.INFO, "before", null);
+		assertTrue(writer.close(5000));
+		assertFalse(writer.isRunning());
+		// written by the logging thread now
+		writer.enqueue(recorder, Level.INFO, "after", null);
+		assertEquals(Arrays.asList("before", "after"), recorder.messages);
+		// closing again is fine
+		assertTrue(writer.close(5000));
+
+		AsyncLogBackendFactory factory = new AsyncLogBackendFactory(new RecordingFactory(recorder));
+		LogBackend backend = factory.createLogBackend("foo");
+		backend.log(Level.INFO, "factory before");
+		factory.close();
+		backend.log(Level.INFO, "factory after");
+		assertEquals(Arrays.asList("before", "after", "factory before", "factory after"), recorder.messages);
+	}
+
+	@Test(timeout = 60000)
+	public void testCloseRace() throws Exception {
+		for (int round = 0; round < 100; round++) {
+			RecordingBackend recorder = new RecordingBackend(null);
+			final AsyncWriter writer = new AsyncWriter(16, (round % 2 == 0));
+			final LogBackend backend = recorder;
+			int numThreads = 4;
+			final int numMessages = 1000;
+			final CountDownLatch startLatch = new CountDownLatch(1);
+			Thread[] threads = new Thread[numThreads];
+			for (int i = 0; i < numThreads; i++) {
+				threads[i] = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							startLatch.await();
+						} catch (InterruptedException ie) {
+							return;
+						}
+						for (int j = 0; j < numMessages; j++) {
+							writer.enqueue(backend, Level.INFO, "message", null);
+						}
+					}
+				});
+				threads[i].start();
+			}
+			startLatch.countDown();
+			// close while the producers are still enqueuing
+			writer.close(5000);
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			// every message was either written by the writer, by the logging thread, or counted as dropped
+			assertEquals(numThreads * numMessages, recorder.messages.size() + writer.getDroppedCount());
+		}
+	}
+
+	@Test
+	public void testAvailable() {
+		AsyncLogBackendFactory factory = new AsyncLogBackendFactory(LogBackendType.LOCAL);
+		assertTrue(factory.isAvailable());
+		assertSame(LogBackendType.LOCAL, factory.getDelegateFactory());
+		assertTrue(((AsyncLogBackend) factory.createLogBackend("foo")).getDelegate() instanceof LocalLogBackend);
+	}
+
+	private static class RecordingFactory implements LogBackendFactory {
+		private final LogBackend backend;
+
+		public RecordingFactory(LogBackend backend) {
+			this.backend = backend;
+		}
+
+		@Override
+		public boolean isAvailable() {
+			return true;
+		}
+
+		@Override
+		public LogBackend createLogBackend(String classLabel) {
+			return backend;
+		}
+	}
+
+	private static class StructuredRecordingBackend extends RecordingBackend implements StructuredLogBackend {
+
+		public StructuredRecordingBackend() {
+			super(null);
+		}
+
+		@Override
+		public void log(Level level, String message, Throwable throwable, LogFields fields) {
+			log(level, message + " " + fields);
+		}
+	}
+
+	private static class RecordingBackend implements LogBackend {
+		private final CountDownLatch latch;
+		final List<String> messages = new ArrayList<String>();
+		volatile Throwable lastThrowable;
+
+		public RecordingBackend(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		@Override
+		public boolean isLevelEnabled(Level level) {
+			return true;
+		}
+
+		@Override
+		public void log(Level level, String message) {
+			if (latch != null) {
+				try {
+					latch.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			synchronized (messages) {
+				messages.add(message);
+			}
+		}
+
+		@Override
+		public void log(Level level, String message, Throwable throwable) {
+			lastThrowable = throwable;
+			log(level, message);
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package com.j256.simplelogging.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import com.j256.simplelogging.FluentLogger;
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogBackendType;
+import com.j256.simplelogging.Logger;
+import com.j256.simplelogging.LoggerConstants;
+import com.j256.simplelogging.backend.BinaryLogBackend.BinaryLogBackendFactory;
+
+public class BinaryLogBackendTest extends BaseLogBackendTest {
+
+	private static final BinaryLogBackendFactory baseFactory =
+			new BinaryLogBackendFactory(new File("target/BinaryLogBackendTest-base.bin"));
+
+	public BinaryLogBackendTest() {
+		super(baseFactory);
+	}
+
+	@AfterClass
+	public static void afterClass() {
+		baseFactory.close();
+		baseFactory.getFile().delete();
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		File file = new File("target/BinaryLogBackendTest-roundtrip.bin");
+		BinaryLogBackendFactory factory = new BinaryLogBackendFactory(file);
+		try {
+			Logger logger = new Logger(factory.createLogBackend("com.foo.Bar"));
+			FluentLogger fluentLogger = new FluentLogger(factory.createLogBackend("com.foo.Baz"));
+			logger.info("hello {} and {}", "world", 123);
+			logger.info("hello {} and {}", "again", -1L);
+			logger.error(new RuntimeException("ouch"), "failed {} times", 3);
+			logger.info("types {} {} {} {} {} {}", new Object[] { null, 1.5, 2.5F, 'c', new int[] { 1, 2 }, true });
+			logger.info("too few {} {}", "x");
+			logger.info("too many {}", "x", "y");
+			logger.info((String) null, "no", "template");
+			logger.info("primitive {}", 0.1F);
+			fluentLogger.atWarn().msg("fluent {} {}").arg(7).arg(false).log();
+			logger.info("plain hello");
+			logger.info("literal {} no args");
+			logger.info("no braces", "x");
+			factory.flush();
+
+			List<String> lines = decode(file);
+			assertTrue(lines.get(0), lines.get(0).endsWith(" [INFO] Bar hello world and 123"));
+			assertTrue(lines.get(1).endsWith(" [INFO] Bar hello again and -1"));
+			assertTrue(lines.get(2).endsWith(" [ERROR] Bar failed 3 times"));
+			assertEquals(RuntimeException.class.getName() + ": ouch", lines.get(3));
+			// the stack trace lines are skipped
+			int index = 4;
+			while (lines.get(index).startsWith("\t")) {
+				index++;
+			}
+			List<String> expected = Arrays.asList(" [INFO] Bar types null 1.5 2.5 c [1, 2] true",
+					" [INFO] Bar too few x ", " [INFO] Bar too many x", " [INFO] Bar 'no', 'template'",
+					" [INFO] Bar primitive 0.1", " [WARNING] Baz fluent 7 false", " [INFO] Bar plain hello",
+					" [INFO] Bar literal {} no args", " [INFO] Bar no braces");
+			for (String suffix : expected) {
+				assertTrue(lines.get(index), lines.get(index).endsWith(suffix));
+				index++;
+			}
+			assertEquals(index, lines.size());
+		} finally {
+			factory.close();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testTemplateWrittenOnce() throws Exception {
+		File file = new File("target/BinaryLogBackendTest-once.bin");
+		BinaryLogBackendFactory factory = new BinaryLogBackendFactory(file);
+		try {
+			Logger logger = new Logger(factory.createLogBackend("foo"));
+			String template = "a fairly long message template that should only be written once {}";
+			for (int i = 0; i < 100; i++) {
+				logger.info(template, i);
+			}
+			factory.flush();
+			// each event is a few bytes plus the template once
+			assertTrue(file.length() < template.length() * 2 + 100 * 10);
+			List<String> lines = decode(file);
+			assertEquals(100, lines.size());
+			assertTrue(lines.get(99).endsWith(" once 99"));
+		} finally {
+			factory.close();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testReopen() throws Exception {
+		File file = new File("target/BinaryLogBackendTest-reopen.bin");
+		BinaryLogBackendFactory factory = new BinaryLogBackendFactory(file);
+		try {
+			Logger logger = new Logger(factory.createLogBackend("foo"));
+			logger.info("first {}", 1);
+			factory.close();
+			// the file is truncated and the dictionary is written again
+			logger.info("first {}", 2);
+			factory.close();
+			List<String> lines = decode(file);
+			assertEquals(1, lines.size());
+			assertTrue(lines.get(0).endsWith("first 2"));
+		} finally {
+			factory.close();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testTruncatedFile() throws Exception {
+		File file = new File("target/BinaryLogBackendTest-truncated.bin");
+		BinaryLogBackendFactory factory = new BinaryLogBackendFactory(file);
+		try {
+			Logger logger = new Logger(factory.createLogBackend("foo"));
+			logger.info("first {}", "event");
+			logger.info("second {}", "event");
+			factory.close();
+			byte[] bytes = Files.readAllBytes(file.toPath());
+			// cut off the end of the last event like after a crash
+			BinaryLogDecoder decoder = new BinaryLogDecoder(new ByteArrayInputStream(bytes, 0, bytes.length - 2));
+			StringBuilder sb = new StringBuilder();
+			assertTrue(decoder.readEvent(sb));
+			assertTrue(sb.toString().endsWith("first event"));
+			assertFalse(decoder.readEvent(sb));
+			decoder.close();
+		} finally {
+			factory.close();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testNotBinaryLog() throws Exception {
+		try {
+			new BinaryLogDecoder(new ByteArrayInputStream("not a log file".getBytes()));
+			fail("Should have thrown");
+		} catch (IOException ioe) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testPathProperty() {
+		System.setProperty(LoggerConstants.BINARY_LOG_FILE_PROPERTY, "target/foo.bin");
+		try {
+			assertEquals(new File("target/foo.bin"), new BinaryLogBackendFactory().getFile());
+		} finally {
+			System.clearProperty(LoggerConstants.BINARY_LOG_FILE_PROPERTY);
+		}
+		assertEquals(new File(BinaryLogBackend.DEFAULT_PATH), new BinaryLogBackendFactory().getFile());
+		assertTrue(LogBackendType.BINARY.isAvailable());
+		assertTrue(LogBackendType.BINARY.createLogBackend("foo").isLevelEnabled(Level.INFO));
+	}
+
+	private List<String> decode(File file) throws IOException {
+		BinaryLogDecoder decoder = new BinaryLogDecoder(new FileInputStream(file));
+		List<String> lines = new ArrayList<String>();
+		try {
+			StringBuilder sb = new StringBuilder();
+			while (decoder.readEvent(sb)) {
+				lines.addAll(Arrays.asList(sb.toString().split(System.lineSeparator())));
+				sb.setLength(0);
+			}
+		} finally {
+			decoder.close();
+		}
+		return lines;
+	}
+}
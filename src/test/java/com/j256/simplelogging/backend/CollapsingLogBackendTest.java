@@ -0,0 +1,249 @@
+package com.j256.simplelogging.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import com.j256.simplelogging.FluentLogger;
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogBackend;
+import com.j256.simplelogging.LogBackendFactory;
+import com.j256.simplelogging.LogBackendType;
+import com.j256.simplelogging.Logger;
+import com.j256.simplelogging.TemplateLogBackend;
+import com.j256.simplelogging.backend.CollapsingLogBackend.CollapsingLogBackendFactory;
+
+public class CollapsingLogBackendTest extends BaseLogBackendTest {
+
+	public CollapsingLogBackendTest() {
+		super(new CollapsingLogBackendFactory(LogBackendType.NULL));
+	}
+
+	@Test
+	public void testRepeats() {
+		RecordingBackend recorder = new RecordingBackend();
+		CollapsingLogBackendFactory factory = new CollapsingLogBackendFactory(new RecordingFactory(recorder));
+		Logger logger = new Logger(factory.createLogBackend("foo"));
+		for (int i = 0; i < 100; i++) {
+			logger.warn("connection to {} failed", i);
+		}
+		logger.warn("connection to {} failed", 1000);
+		logger.info("connection to {} failed", 2000);
+		logger.info("different");
+		assertEquals(4, recorder.messages.size());
+		assertEquals("connection to 0 failed", recorder.messages.get(0));
+		assertTrue(recorder.messages.get(1).startsWith("last message repeated 100 times in "));
+		assertEquals(Level.WARNING, recorder.levels.get(1));
+		// the level is part of the comparison
+		assertEquals("connection to 2000 failed", recorder.messages.get(2));
+		assertEquals("different", recorder.messages.get(3));
+		factory.flush();
+		assertEquals(4, recorder.messages.size());
+	}
+
+	@Test
+	public void testMessages() {
+		RecordingBackend recorder = new RecordingBackend();
+		CollapsingLogBackendFactory factory = new CollapsingLogBackendFactory(new RecordingFactory(recorder));
+		LogBackend backend = factory.createLogBackend("foo");
+		Throwable throwable = new Throwable();
+		backend.log(Level.ERROR, "failed", throwable);
+		backend.log(Level.ERROR, "fail" + "ed".trim(), throwable);
+		backend.log(Level.ERROR, "failed");
+		backend.log(Level.ERROR, "other");
+		backend.log(Level.ERROR, "failed");
+		factory.flush();
+		assertEquals(Arrays.asList("failed", recorder.messages.get(1), "other", "failed"), recorder.messages);
+		assertTrue(recorder.messages.get(1).startsWith("last message repeated 2 times in "));
+		assertSame(throwable, recorder.lastThrowable);
+	}
+
+	@Test
+	public void testFlush() {
+		RecordingBackend recorder = new RecordingBackend();
+		CollapsingLogBackendFactory factory = new CollapsingLogBackendFactory(new RecordingFactory(recorder));
+		LogBackend backend = factory.createLogBackend("foo");
+		backend.log(Level.INFO, "hello");
+		backend.log(Level.INFO, "hello");
+		backend.log(Level.INFO, "hello");
+		assertEquals(1, recorder.messages.size());
+		factory.flush();
+		assertEquals(2, recorder.messages.size());
+		assertTrue(recorder.messages.get(1).startsWith("last message repeated 2 times in "));
+		// after the burst is summarized the message is logged again
+		backend.log(Level.INFO, "hello");
+		assertEquals(3, recorder.messages.size());
+		assertEquals("hello", recorder.messages.get(2));
+	}
+
+	@Test
+	public void testMaxInterval() {
+		RecordingBackend recorder = new RecordingBackend();
+		CollapsingLogBackendFactory factory =
+				new CollapsingLogBackendFactory(new RecordingFactory(recorder), 0, 60000);
+		LogBackend backend = factory.createLogBackend("foo");
+		backend.log(Level.INFO, "hello");
+		backend.log(Level.INFO, "hello");
+		backend.log(Level.INFO, "hello");
+		assertEquals(3, recorder.messages.size());
+		assertEquals("hello", recorder.messages.get(0));
+		assertTrue(recorder.messages.get(1).startsWith("last message repeated 1 times in "));
+		assertTrue(recorder.messages.get(2).startsWith("last message repeated 1 times in "));
+	}
+
+	@Test(timeout = 10000)
+	public void testQuiet() throws Exception {
+		RecordingBackend recorder = new RecordingBackend();
+		CollapsingLogBackendFactory factory =
+				new CollapsingLogBackendFactory(new RecordingFactory(recorder), 60000, 10);
+		LogBackend backend = factory.createLogBackend("foo");
+		backend.log(Level.INFO, "hello");
+		backend.log(Level.INFO, "hello");
+		while (recorder.size() < 2) {
+			Thread.sleep(10);
+		}
+		synchronized (recorder.messages) {
+			assertTrue(recorder.messages.get(1).startsWith("last message repeated 1 times in "));
+		}
+	}
+
+	@Test
+	public void testTemplateDelegate() {
+		TemplateRecordingBackend recorder = new TemplateRecordingBackend();
+		CollapsingLogBackendFactory factory = new CollapsingLogBackendFactory(new RecordingFactory(recorder));
+		FluentLogger logger = new FluentLogger(factory.createLogBackend("foo"));
+		for (int i = 0; i < 10; i++) {
+			logger.atInfo().msg("count {}").arg(i).log();
+		}
+		logger.atInfo().msg("done").field("key", 1).log();
+		assertEquals(Arrays.asList("count {}", recorder.messages.get(1), "done key=1"), recorder.messages);
+		assertTrue(recorder.messages.get(1).startsWith("last message repeated 9 times in "));
+	}
+
+	@Test(timeout = 10000)
+	public void testClose() throws Exception {
+		RecordingBackend recorder = new RecordingBackend();
+		CollapsingLogBackendFactory factory =
+				new CollapsingLogBackendFactory(new RecordingFactory(recorder), 60000, 60000);
+		LogBackend backend = factory.createLogBackend("foo");
+		backend.log(Level.INFO, "hello");
+		backend.log(Level.INFO, "hello");
+		factory.close();
+		assertEquals(2, recorder.size());
+		assertTrue(recorder.messages.get(1).startsWith("last message repeated 1 times in "));
+		// messages are no longer collapsed after the close
+		backend.log(Level.INFO, "hello");
+		backend.log(Level.INFO, "hello");
+		assertEquals(4, recorder.size());
+		// closing again is fine
+		factory.close();
+	}
+
+	@Test(timeout = 10000)
+	public void testDelegateNotLocked() throws Exception {
+		final CountDownLatch inDelegateLatch = new CountDownLatch(1);
+		final CountDownLatch releaseLatch = new CountDownLatch(1);
+		RecordingBackend recorder = new RecordingBackend() {
+			@Override
+			public void log(Level level, String message) {
+				if (message.equals("slow")) {
+					inDelegateLatch.countDown();
+					try {
+						releaseLatch.await();
+					} catch (InterruptedException ie) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				super.log(level, message);
+			}
+		};
+		CollapsingLogBackendFactory factory = new CollapsingLogBackendFactory(new RecordingFactory(recorder));
+		final LogBackend backend = factory.createLogBackend("foo");
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				backend.log(Level.INFO, "slow");
+			}
+		});
+		thread.start();
+		inDelegateLatch.await();
+		// the other thread is blocked in the delegate but this doesn't wait for it
+		backend.log(Level.INFO, "fast");
+		assertEquals(Arrays.asList("fast"), recorder.messages);
+		releaseLatch.countDown();
+		thread.join();
+		assertEquals(2, recorder.size());
+		factory.close();
+	}
+
+	@Test
+	public void testAvailable() {
+		CollapsingLogBackendFactory factory = new CollapsingLogBackendFactory(LogBackendType.LOCAL);
+		assertTrue(factory.isAvailable());
+		assertSame(LogBackendType.LOCAL, factory.getDelegateFactory());
+		assertTrue(((CollapsingLogBackend) factory.createLogBackend("foo")).getDelegate() instanceof LocalLogBackend);
+	}
+
+	private static class RecordingFactory implements LogBackendFactory {
+		private final LogBackend backend;
+
+		public RecordingFactory(LogBackend backend) {
+			this.backend = backend;
+		}
+
+		@Override
+		public boolean isAvailable() {
+			return true;
+		}
+
+		@Override
+		public LogBackend createLogBackend(String classLabel) {
+			return backend;
+		}
+	}
+
+	private static class TemplateRecordingBackend extends RecordingBackend implements TemplateLogBackend {
+		@Override
+		public void logTemplate(Level level, Throwable throwable, String template, Object[] args, int argCount) {
+			log(level, template);
+		}
+	}
+
+	private static class RecordingBackend implements LogBackend {
+		final List<String> messages = new ArrayList<String>();
+		final List<Level> levels = new ArrayList<Level>();
+		volatile Throwable lastThrowable;
+
+		@Override
+		public boolean isLevelEnabled(Level level) {
+			return true;
+		}
+
+		@Override
+		public void log(Level level, String message) {
+			synchronized (messages) {
+				messages.add(message);
+				levels.add(level);
+			}
+		}
+
+		@Override
+		public void log(Level level, String message, Throwable throwable) {
+			lastThrowable = throwable;
+			log(level, message);
+		}
+
+		public int size() {
+			synchronized (messages) {
+				return messages.size();
+			}
+		}
+	}
+}
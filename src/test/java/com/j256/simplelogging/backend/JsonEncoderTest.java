@@ -0,0 +1,93 @@
+package com.j256.simplelogging.backend;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+public class JsonEncoderTest {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	@Test
+	public void testObject() {
+		JsonEncoder encoder = new JsonEncoder();
+		encoder.startObject();
+		encoder.key("str");
+		encoder.value("hello");
+		encoder.key("long");
+		encoder.value(-123L);
+		encoder.key("double");
+		encoder.value(1.5);
+		encoder.key("bool");
+		encoder.value(true);
+		encoder.key("null");
+		encoder.nullValue();
+		encoder.key("nullStr");
+		encoder.value((String) null);
+		encoder.endObject();
+		encoder.newline();
+		assertEquals("{\"str\":\"hello\",\"long\":-123,\"double\":1.5,\"bool\":true,\"null\":null,\"nullStr\":null}\n",
+				toString(encoder));
+	}
+
+	@Test
+	public void testNumbers() {
+		assertEquals("0", encodeLong(0));
+		assertEquals("7", encodeLong(7));
+		assertEquals("10", encodeLong(10));
+		assertEquals("-99", encodeLong(-99));
+		assertEquals(Long.toString(Long.MAX_VALUE), encodeLong(Long.MAX_VALUE));
+		assertEquals(Long.toString(Long.MIN_VALUE), encodeLong(Long.MIN_VALUE));
+		JsonEncoder encoder = new JsonEncoder();
+		encoder.value(Double.NaN);
+		encoder.value(Double.NEGATIVE_INFINITY);
+		assertEquals("\"NaN\"\"-Infinity\"", toString(encoder));
+	}
+
+	@Test
+	public void testEscaping() {
+		JsonEncoder encoder = new JsonEncoder();
+		encoder.value("q\"b\\n\nr\rt\tb\bf\fc\u0001");
+		assertEquals("\"q\\\"b\\\\n\\nr\\rt\\tb\\bf\\fc\\u0001\"", toString(encoder));
+	}
+
+	@Test
+	public void testUtf8() {
+		// 2, 3, and 4 byte characters
+		String str = "\u00e9\u20ac\ud83d\ude00";
+		JsonEncoder encoder = new JsonEncoder();
+		encoder.value(str);
+		assertEquals("\"" + str + "\"", toString(encoder));
+		assertEquals(2 + 2 + 3 + 4, encoder.getLength());
+
+		// unpaired surrogate is escaped
+		encoder.reset();
+		encoder.value("x\ud83dy");
+		assertEquals("\"x\\ud83dy\"", toString(encoder));
+	}
+
+	@Test
+	public void testGrowAndReset() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			sb.append("\u20ac");
+		}
+		JsonEncoder encoder = new JsonEncoder();
+		encoder.value(sb);
+		assertEquals("\"" + sb + "\"", toString(encoder));
+		encoder.reset();
+		assertEquals(0, encoder.getLength());
+	}
+
+	private String encodeLong(long value) {
+		JsonEncoder encoder = new JsonEncoder();
+		encoder.value(value);
+		return toString(encoder);
+	}
+
+	private String toString(JsonEncoder encoder) {
+		return new String(encoder.getBuffer(), 0, encoder.getLength(), UTF8);
+	}
+}
@@ -0,0 +1,104 @@
+package com.j256.simplelogging.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.simplelogging.FluentLogger;
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogBackend;
+import com.j256.simplelogging.LogBackendType;
+import com.j256.simplelogging.LoggerConstants;
+import com.j256.simplelogging.backend.JsonLinesLogBackend.JsonLinesLogBackendFactory;
+
+public class JsonLinesLogBackendTest extends BaseLogBackendTest {
+
+	public JsonLinesLogBackendTest() {
+		super(new JsonLinesLogBackendFactory(new ByteArrayOutputStream(),
+				new TimestampFormatter(TimestampFormatter.ISO8601_FORMAT)));
+	}
+
+	@Test
+	public void testLine() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		JsonLinesLogBackendFactory factory = new JsonLinesLogBackendFactory(output,
+				new TimestampFormatter(TimestampFormatter.EPOCH_MILLIS_FORMAT));
+		LogBackend backend = factory.createLogBackend("com.foo.Bar");
+		long before = System.currentTimeMillis();
+		backend.log(Level.INFO, "hello \"there\"");
+		String line = output.toString("UTF-8");
+		assertTrue(line,
+				line.endsWith(",\"level\":\"INFO\",\"logger\":\"com.foo.Bar\",\"message\":\"hello \\\"there\\\"\"}\n"));
+		assertTrue(line.startsWith("{\"timestamp\":"));
+		long timestamp = Long.parseLong(line.substring("{\"timestamp\":".length(), line.indexOf(',')));
+		assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis());
+
+		output.reset();
+		backend.log(Level.ERROR, "oops", new RuntimeException("ouch"));
+		line = output.toString("UTF-8");
+		assertTrue(line, line.contains(",\"message\":\"oops\",\"throwable\":\"java.lang.RuntimeException: ouch"));
+		// the stack trace is escaped so the object is on one line
+		assertEquals(line.length() - 1, line.indexOf('\n'));
+		assertTrue(line.endsWith("\"}\n"));
+	}
+
+	@Test
+	public void testFields() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		JsonLinesLogBackendFactory factory =
+				new JsonLinesLogBackendFactory(output, new TimestampFormatter(TimestampFormatter.ISO8601_FORMAT));
+		FluentLogger logger = new FluentLogger(factory.createLogBackend("foo"));
+		logger.atInfo()
+				.msg("done")
+				.field("status", 200)
+				.field("millis", 12.5)
+				.field("ok", false)
+				.field("count", Integer.valueOf(3))
+				.field("ids", new int[] { 1, 2 })
+				.field("none", (Object) null)
+				.log();
+		String line = output.toString("UTF-8");
+		assertTrue(line, line.endsWith(",\"message\":\"done\",\"status\":200,\"millis\":12.5,\"ok\":false,\"count\":3,"
+				+ "\"ids\":\"[1, 2]\",\"none\":null}\n"));
+	}
+
+	@Test
+	public void testFile() throws Exception {
+		File file = new File("target/JsonLinesLogBackendTest.log");
+		file.delete();
+		JsonLinesLogBackendFactory factory = new JsonLinesLogBackendFactory(file);
+		try {
+			LogBackend backend = factory.createLogBackend("foo");
+			backend.log(Level.INFO, "first");
+			backend.log(Level.INFO, "second \u20ac");
+			factory.flush();
+			List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+			assertEquals(2, lines.size());
+			assertTrue(lines.get(0).endsWith("\"message\":\"first\"}"));
+			assertTrue(lines.get(1).endsWith("\"message\":\"second \u20ac\"}"));
+		} finally {
+			factory.close();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testPathProperty() {
+		System.setProperty(LoggerConstants.JSON_LOG_FILE_PROPERTY, "target/foo.json");
+		try {
+			assertEquals(new File("target/foo.json"), new JsonLinesLogBackendFactory().getFile());
+		} finally {
+			System.clearProperty(LoggerConstants.JSON_LOG_FILE_PROPERTY);
+		}
+		assertNull(new JsonLinesLogBackendFactory().getFile());
+		assertTrue(LogBackendType.JSON_LINES.isAvailable());
+	}
+}
@@ -5,6 +5,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -66,6 +68,29 @@ public class LocalLogBackendTest extends BaseLogBackendTest {
 		}
 	}
 
+	@Test
+	public void testFileThrowable() throws Exception {
+		String logPath = "target/foo.txt";
+		File logFile = new File(logPath);
+		logFile.delete();
+		LocalLogBackend.openLogFile(logPath);
+		try {
+			LocalLogBackend log = new LocalLogBackend("foo");
+			String msg = "wopejfwpefjwe";
+			log.log(Level.FATAL, msg, new RuntimeException("ouch"));
+			log.log(Level.FATAL, msg);
+			log.flush();
+			List<String> lines = Files.readAllLines(logFile.toPath());
+			assertTrue(lines.get(0).endsWith(msg));
+			assertEquals(RuntimeException.class.getName() + ": ouch", lines.get(1));
+			assertTrue(lines.get(2).contains("testFileThrowable"));
+			assertTrue(lines.get(lines.size() - 1).endsWith(msg));
+		} finally {
+			LocalLogBackend.openLogFile(null);
+			logFile.delete();
+		}
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void testInvalidFileProperty() {
 		LocalLogBackend.openLogFile("not-a-proper-directory-name-we-hope/foo.txt");
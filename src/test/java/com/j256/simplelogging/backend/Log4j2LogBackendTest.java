@@ -1,5 +1,18 @@
 package com.j256.simplelogging.backend;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.junit.Test;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogArgumentCreator;
+import com.j256.simplelogging.MessageTemplate;
 import com.j256.simplelogging.backend.Log4j2LogBackend.Log4j2LogBackendFactory;
 
 public class Log4j2LogBackendTest extends BaseLogBackendTest {
@@ -7,4 +20,68 @@ public class Log4j2LogBackendTest extends BaseLogBackendTest {
 	public Log4j2LogBackendTest() {
 		super(new Log4j2LogBackendFactory());
 	}
+
+	@Test
+	public void testLogTemplate() {
+		Log4j2LogBackend backend = (Log4j2LogBackend) log;
+		Throwable throwable = new Throwable("template throwable");
+		backend.logTemplate(Level.INFO, null, "no args {}", null, 0);
+		for (int argCount = 1; argCount <= 6; argCount++) {
+			StringBuilder sb = new StringBuilder("template");
+			Object[] args = new Object[argCount];
+			for (int i = 0; i < argCount; i++) {
+				sb.append(" {}");
+				args[i] = i;
+			}
+			String template = sb.toString();
+			backend.logTemplate(Level.INFO, null, template, args, argCount);
+			backend.logTemplate(Level.WARNING, throwable, template, args, argCount);
+		}
+		// not safe so we format it
+		backend.logTemplate(Level.ERROR, throwable, "unsafe {} {}", new Object[] { new int[] { 1 } }, 1);
+	}
+
+	@Test
+	public void testSafeTemplate() {
+		assertTrue(isSafe("hello {} there {}", 1, "foo"));
+		assertTrue(isSafe("hello {}", (Object) null));
+		assertTrue(isSafe("hello {}", Level.INFO));
+		assertTrue(isSafe("hello {}", 1.5D));
+		// too few or too many arguments
+		assertFalse(isSafe("hello {} {}", 1));
+		assertFalse(isSafe("hello {}", 1, 2));
+		assertFalse(isSafe("hello", 1));
+		// escaped
+		assertFalse(isSafe("hello \\{}", 1));
+		// rendered differently
+		assertFalse(isSafe("hello {}", new int[] { 1 }));
+		assertFalse(isSafe("hello {}", new Date()));
+		assertFalse(isSafe("hello {}", Arrays.asList(1, 2)));
+		assertFalse(isSafe("hello {}", new Throwable()));
+		assertFalse(isSafe("hello {}", new LogArgumentCreator() {
+			@Override
+			public String createLogArg() {
+				return "created";
+			}
+		}));
+	}
+
+	@Test
+	public void testSafeTemplateFormatsTheSame() {
+		String template = "a {} b {} c {} d {}";
+		Object[] args = new Object[] { "str", 10L, 'c', null };
+		assertTrue(isSafe(template, args));
+		StringBuilder sb = new StringBuilder();
+		MessageTemplate messageTemplate = MessageTemplate.fromMessage(template);
+		for (int i = 0; i < args.length; i++) {
+			sb.append(messageTemplate.getSegment(i));
+			MessageTemplate.appendArg(sb, args[i]);
+		}
+		sb.append(messageTemplate.getSegment(args.length));
+		assertEquals(ParameterizedMessage.format(template, args), sb.toString());
+	}
+
+	private boolean isSafe(String template, Object... args) {
+		return Log4j2LogBackend.isSafeTemplate(MessageTemplate.fromMessage(template), args, args.length);
+	}
 }
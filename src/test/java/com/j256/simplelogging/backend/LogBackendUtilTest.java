@@ -1,5 +1,7 @@
 package com.j256.simplelogging.backend;
 
+import static org.junit.Assert.assertEquals;
+
 import org.junit.Test;
 
 public class LogBackendUtilTest {
@@ -8,4 +10,13 @@ public class LogBackendUtilTest {
 	public void testCoverage() {
 		new LogBackendUtil();
 	}
+
+	@Test
+	public void testFormatTemplate() {
+		assertEquals("no args", LogBackendUtil.formatTemplate("no args", new Object[] { 1 }, 1));
+		Object[] args = new Object[] { 1, new int[] { 2, 3 } };
+		assertEquals("a 1 b [2, 3] c", LogBackendUtil.formatTemplate("a {} b {} c", args, 2));
+		// too many {} are ignored
+		assertEquals("a 1 b  c", LogBackendUtil.formatTemplate("a {} b {} c", new Object[] { 1, 2 }, 1));
+	}
 }
@@ -0,0 +1,148 @@
+package com.j256.simplelogging.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.j256.simplelogging.Level;
+
+public class LogFileWriterTest {
+
+	private final File logFile = new File("target/LogFileWriterTest.log");
+
+	@Before
+	@After
+	public void deleteFile() {
+		logFile.delete();
+	}
+
+	@Test
+	public void testFlushBytes() throws Exception {
+		LogFileWriter writer = new LogFileWriter(logFile, 20, 0, Level.OFF, false);
+		try {
+			writer.writeLine(Level.INFO, "0123456789");
+			assertEquals(0, logFile.length());
+			writer.writeLine(Level.INFO, "0123456789");
+			assertTrue(logFile.length() >= 20);
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testFlushLevel() throws Exception {
+		LogFileWriter writer = new LogFileWriter(logFile, 1000, 0, Level.ERROR, false);
+		try {
+			writer.writeLine(Level.WARNING, "line1");
+			assertEquals(0, logFile.length());
+			writer.writeLine(Level.ERROR, "line2");
+			assertEquals(2, readLines().size());
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testFlushMillis() throws Exception {
+		LogFileWriter writer = new LogFileWriter(logFile, 1000, 10, Level.OFF, true);
+		try {
+			writer.writeLine(Level.INFO, "line1");
+			while (logFile.length() == 0) {
+				Thread.sleep(10);
+			}
+			assertEquals(1, readLines().size());
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testBytesAndExplicitFlush() throws Exception {
+		LogFileWriter writer = new LogFileWriter(logFile, 1000, 0, Level.OFF, false);
+		try {
+			byte[] bytes = "xxabcxx".getBytes();
+			writer.write(Level.INFO, bytes, 2, 3);
+			writer.flush();
+			assertEquals("abc", new String(Files.readAllBytes(logFile.toPath())));
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testLargerThanBuffer() throws Exception {
+		LogFileWriter writer = new LogFileWriter(logFile, 10, 0, Level.OFF, true);
+		try {
+			writer.writeLine(Level.INFO, "short");
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < LogFileWriter.DEFAULT_FLUSH_BYTES * 2; i++) {
+				sb.append('x');
+			}
+			String longLine = sb.toString();
+			writer.writeLine(Level.INFO, longLine);
+			writer.flush();
+			List<String> lines = readLines();
+			assertEquals(2, lines.size());
+			assertEquals("short", lines.get(0));
+			assertEquals(longLine, lines.get(1));
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	public void testClose() throws Exception {
+		LogFileWriter writer = new LogFileWriter(logFile);
+		writer.writeLine(Level.INFO, "line1");
+		writer.close();
+		// ignored after close
+		writer.writeLine(Level.FATAL, "line2");
+		writer.flush();
+		writer.close();
+		assertEquals(1, readLines().size());
+	}
+
+	@Test(timeout = 20000)
+	public void testThreads() throws Exception {
+		final LogFileWriter writer = new LogFileWriter(logFile, 100, 1, Level.OFF, false);
+		final int numThreads = 4;
+		final int numLines = 1000;
+		Thread[] threads = new Thread[numThreads];
+		for (int i = 0; i < numThreads; i++) {
+			final int threadNum = i;
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < numLines; j++) {
+						writer.writeLine(Level.INFO, "thread " + threadNum + " line " + j);
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		writer.close();
+		List<String> lines = readLines();
+		assertEquals(numThreads * numLines, lines.size());
+		Set<String> uniqueLines = new HashSet<String>(lines);
+		assertEquals(numThreads * numLines, uniqueLines.size());
+		for (int i = 0; i < numThreads; i++) {
+			assertTrue(uniqueLines.contains("thread " + i + " line " + (numLines - 1)));
+		}
+	}
+
+	private List<String> readLines() throws Exception {
+		return Files.readAllLines(logFile.toPath());
+	}
+}
@@ -1,10 +1,103 @@
 package com.j256.simplelogging.backend;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.slf4j.Marker;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogBackend;
 import com.j256.simplelogging.backend.LogbackLogBackend.LogbackLogBackendFactory;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.read.ListAppender;
+import ch.qos.logback.core.spi.FilterReply;
+
 public class LogbackLogBackendTest extends BaseLogBackendTest {
 
 	public LogbackLogBackendTest() {
 		super(new LogbackLogBackendFactory());
 	}
+
+	@Test
+	public void testLogTemplate() {
+		LoggerContext loggerContext = new LoggerContext();
+		Logger logger = loggerContext.getLogger(getClass().getSimpleName());
+		ListAppender<ILoggingEvent> appender = new ListAppender<ILoggingEvent>();
+		appender.setContext(loggerContext);
+		appender.start();
+		logger.addAppender(appender);
+		LogbackLogBackend backend = new LogbackLogBackend(logger);
+
+		Object[] args = new Object[] { 1, "two", null };
+		Throwable throwable = new Throwable("template throwable");
+		backend.logTemplate(Level.WARNING, throwable, "hello {} {}", args, 2);
+		// the array may be reused by the logger
+		args[0] = 100;
+		ILoggingEvent event = appender.list.get(0);
+		assertEquals("hello {} {}", event.getMessage());
+		assertArrayEquals(new Object[] { 1, "two" }, event.getArgumentArray());
+		assertEquals("hello 1 two", event.getFormattedMessage());
+		assertEquals(ch.qos.logback.classic.Level.WARN, event.getLevel());
+		assertEquals(throwable.getMessage(), event.getThrowableProxy().getMessage());
+
+		// not safe so it is formatted by us
+		backend.logTemplate(Level.FATAL, null, "array {}", new Object[] { new int[] { 1, 2 } }, 1);
+		event = appender.list.get(1);
+		assertEquals("array [1, 2]", event.getMessage());
+		assertNull(event.getArgumentArray());
+		assertEquals(ch.qos.logback.classic.Level.ERROR, event.getLevel());
+
+		// no arguments so the {} is not expanded
+		backend.logTemplate(Level.INFO, null, "none {}", null, 0);
+		assertEquals("none {}", appender.list.get(2).getFormattedMessage());
+	}
+
+	@Test
+	public void testSharedLoggerContext() {
+		LogbackLogBackendFactory factory = new LogbackLogBackendFactory();
+		Object slf4jFactory = org.slf4j.LoggerFactory.getILoggerFactory();
+		if (slf4jFactory instanceof LoggerContext) {
+			assertSame(slf4jFactory, factory.getLoggerContext());
+		}
+	}
+
+	@Test
+	public void testSuppliedLoggerContext() {
+		LoggerContext loggerContext = new LoggerContext();
+		LogbackLogBackendFactory factory = new LogbackLogBackendFactory(loggerContext);
+		assertSame(loggerContext, factory.getLoggerContext());
+		loggerContext.getLogger("supplied").setLevel(ch.qos.logback.classic.Level.WARN);
+		LogBackend backend = factory.createLogBackend("supplied");
+		assertFalse(backend.isLevelEnabled(Level.INFO));
+		assertTrue(backend.isLevelEnabled(Level.WARNING));
+		assertTrue(backend.isLevelEnabled(Level.FATAL));
+
+		// turbo filters are consulted before the level
+		loggerContext.addTurboFilter(new TurboFilter() {
+			@Override
+			public FilterReply decide(Marker marker, Logger logger, ch.qos.logback.classic.Level level, String format,
+					Object[] params, Throwable t) {
+				if (level == ch.qos.logback.classic.Level.ERROR) {
+					return FilterReply.DENY;
+				} else if (level == ch.qos.logback.classic.Level.DEBUG) {
+					return FilterReply.ACCEPT;
+				} else {
+					return FilterReply.NEUTRAL;
+				}
+			}
+		});
+		assertTrue(backend.isLevelEnabled(Level.DEBUG));
+		assertFalse(backend.isLevelEnabled(Level.INFO));
+		assertTrue(backend.isLevelEnabled(Level.WARNING));
+		assertFalse(backend.isLevelEnabled(Level.ERROR));
+	}
 }
@@ -0,0 +1,209 @@
+package com.j256.simplelogging.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogBackend;
+import com.j256.simplelogging.LogBackendType;
+import com.j256.simplelogging.LoggerConstants;
+import com.j256.simplelogging.LoggingMetrics;
+import com.j256.simplelogging.backend.MappedFileLogBackend.MappedFileLogBackendFactory;
+import com.j256.simplelogging.backend.MappedFileLogBackend.MappedLogFile;
+
+public class MappedFileLogBackendTest extends BaseLogBackendTest {
+
+	private static final int REGION_SIZE = 4096;
+	private static final MappedFileLogBackendFactory baseFactory =
+			new MappedFileLogBackendFactory(new File("target/MappedFileLogBackendTest-base.log"), REGION_SIZE);
+
+	public MappedFileLogBackendTest() {
+		super(baseFactory);
+	}
+
+	@AfterClass
+	public static void afterClass() {
+		baseFactory.close();
+		baseFactory.getFile().delete();
+	}
+
+	@Test
+	public void testWriteAndClose() throws Exception {
+		File file = new File("target/MappedFileLogBackendTest-close.log");
+		file.delete();
+		MappedFileLogBackendFactory factory = new MappedFileLogBackendFactory(file, REGION_SIZE);
+		try {
+			LogBackend backend = factory.createLogBackend("com.foo.Bar");
+			backend.log(Level.INFO, "first");
+			backend.log(Level.ERROR, "second", new RuntimeException("ouch"));
+			// the whole region is mapped
+			assertEquals(REGION_SIZE, file.length());
+			factory.close();
+			List<String> lines = Files.readAllLines(file.toPath());
+			assertTrue(lines.get(0).endsWith(" [INFO] Bar first"));
+			assertTrue(lines.get(1).endsWith(" [ERROR] Bar second"));
+			assertEquals(RuntimeException.class.getName() + ": ouch", lines.get(2));
+			assertEquals(new String(Files.readAllBytes(file.toPath())).length(), file.length());
+
+			// logging again reopens and appends
+			backend.log(Level.INFO, "third");
+			factory.close();
+			lines = Files.readAllLines(file.toPath());
+			assertTrue(lines.get(0).endsWith("first"));
+			assertTrue(lines.get(lines.size() - 1).endsWith("third"));
+		} finally {
+			factory.close();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testRegionBoundaries() throws Exception {
+		File file = new File("target/MappedFileLogBackendTest-regions.log");
+		file.delete();
+		MappedLogFile logFile = new MappedLogFile(file, REGION_SIZE);
+		try {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < 100; i++) {
+				sb.append('x');
+			}
+			String line = sb.toString();
+			// enough lines to cross a number of regions
+			int numLines = REGION_SIZE * 3 / line.length();
+			for (int i = 0; i < numLines; i++) {
+				logFile.writeLine(line.getBytes());
+			}
+			// only the last regions are kept mapped
+			assertTrue(logFile.getNumWindowRegions() <= 2);
+			logFile.close();
+			List<String> lines = Files.readAllLines(file.toPath());
+			assertEquals(numLines, lines.size());
+			for (String fileLine : lines) {
+				assertEquals(line, fileLine);
+			}
+		} finally {
+			logFile.close();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testMapFailure() throws Exception {
+		File file = new File("target/MappedFileLogBackendTest-failure.log");
+		file.delete();
+		final AtomicBoolean fail = new AtomicBoolean(true);
+		MappedLogFile logFile = new MappedLogFile(file, REGION_SIZE) {
+			@Override
+			MappedByteBuffer mapRegion(int regionIndex) throws IOException {
+				if (fail.get()) {
+					throw new IOException("simulated");
+				}
+				return super.mapRegion(regionIndex);
+			}
+		};
+		boolean metricsEnabled = LoggingMetrics.isEnabled();
+		LoggingMetrics.setEnabled(true);
+		try {
+			long droppedCount = LoggingMetrics.getInstance().getDroppedCount();
+			// the line is dropped and counted instead of throwing to the logging call
+			logFile.writeLine("dropped".getBytes());
+			assertEquals(droppedCount + 1, LoggingMetrics.getInstance().getDroppedCount());
+			fail.set(false);
+			logFile.writeLine("written".getBytes());
+			assertEquals(droppedCount + 1, LoggingMetrics.getInstance().getDroppedCount());
+			logFile.close();
+			String contents = new String(Files.readAllBytes(file.toPath()));
+			assertTrue(contents.endsWith("written" + System.lineSeparator()));
+		} finally {
+			LoggingMetrics.setEnabled(metricsEnabled);
+			logFile.close();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testReopenAfterCrash() throws Exception {
+		File file = new File("target/MappedFileLogBackendTest-crash.log");
+		file.delete();
+		MappedLogFile logFile = new MappedLogFile(file, REGION_SIZE);
+		MappedLogFile reopened = null;
+		try {
+			logFile.writeLine("before".getBytes());
+			// not closed so the file still has the trailing zeros like after a crash
+			assertEquals(REGION_SIZE, file.length());
+			reopened = new MappedLogFile(file, REGION_SIZE);
+			assertEquals(logFile.getPosition(), reopened.getPosition());
+			reopened.writeLine("after".getBytes());
+			reopened.close();
+			List<String> lines = Files.readAllLines(file.toPath());
+			assertEquals(2, lines.size());
+			assertEquals("before", lines.get(0));
+			assertEquals("after", lines.get(1));
+		} finally {
+			logFile.close();
+			if (reopened != null) {
+				reopened.close();
+			}
+			file.delete();
+		}
+	}
+
+	@Test(timeout = 20000)
+	public void testThreads() throws Exception {
+		File file = new File("target/MappedFileLogBackendTest-threads.log");
+		file.delete();
+		final MappedLogFile logFile = new MappedLogFile(file, REGION_SIZE);
+		try {
+			final int numThreads = 4;
+			final int numLines = 1000;
+			Thread[] threads = new Thread[numThreads];
+			for (int i = 0; i < numThreads; i++) {
+				final int threadNum = i;
+				threads[i] = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						for (int j = 0; j < numLines; j++) {
+							logFile.writeLine(("thread " + threadNum + " line " + j).getBytes());
+						}
+					}
+				});
+				threads[i].start();
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			logFile.close();
+			List<String> lines = Files.readAllLines(file.toPath());
+			assertEquals(numThreads * numLines, lines.size());
+			Set<String> uniqueLines = new HashSet<String>(lines);
+			assertEquals(numThreads * numLines, uniqueLines.size());
+		} finally {
+			logFile.close();
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testPathProperty() {
+		System.setProperty(LoggerConstants.MAPPED_LOG_FILE_PROPERTY, "target/foo.log");
+		try {
+			assertEquals(new File("target/foo.log"), new MappedFileLogBackendFactory().getFile());
+		} finally {
+			System.clearProperty(LoggerConstants.MAPPED_LOG_FILE_PROPERTY);
+		}
+		assertEquals(new File(MappedFileLogBackend.DEFAULT_PATH), new MappedFileLogBackendFactory().getFile());
+		assertTrue(LogBackendType.MAPPED_FILE.isAvailable());
+	}
+}
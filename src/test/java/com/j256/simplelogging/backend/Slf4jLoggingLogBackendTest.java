@@ -1,5 +1,18 @@
 package com.j256.simplelogging.backend;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.Test;
+import org.slf4j.helpers.MessageFormatter;
+
+import com.j256.simplelogging.Level;
+import com.j256.simplelogging.LogArgumentCreator;
+import com.j256.simplelogging.MessageTemplate;
 import com.j256.simplelogging.backend.Slf4jLoggingLogBackend.Slf4jLoggingLogBackendFactory;
 
 public class Slf4jLoggingLogBackendTest extends BaseLogBackendTest {
@@ -7,4 +20,53 @@ public class Slf4jLoggingLogBackendTest extends BaseLogBackendTest {
 	public Slf4jLoggingLogBackendTest() {
 		super(new Slf4jLoggingLogBackendFactory());
 	}
+
+	@Test
+	public void testLogTemplate() {
+		Slf4jLoggingLogBackend backend = (Slf4jLoggingLogBackend) log;
+		Throwable throwable = new Throwable("template throwable");
+		for (Level level : Level.values()) {
+			backend.logTemplate(level, null, "template {} {}", new Object[] { level, 2 }, 2);
+			backend.logTemplate(level, throwable, "template {}", new Object[] { level }, 1);
+		}
+		backend.logTemplate(Level.INFO, null, "no args {}", null, 0);
+		// not safe so we format it
+		backend.logTemplate(Level.ERROR, throwable, "unsafe {} {}", new Object[] { new int[] { 1 } }, 1);
+	}
+
+	@Test
+	public void testSafeTemplate() {
+		assertTrue(isSafe("hello {} there {}", 1, "foo"));
+		assertTrue(isSafe("hello {}", (Object) null));
+		assertTrue(isSafe("hello {}", new Date()));
+		assertTrue(isSafe("hello {}", Arrays.asList(1, 2)));
+		// too few or too many arguments
+		assertFalse(isSafe("hello {} {}", 1));
+		assertFalse(isSafe("hello {}", 1, 2));
+		assertFalse(isSafe("hello", 1));
+		// escaped
+		assertFalse(isSafe("hello \\{}", 1));
+		// rendered differently
+		assertFalse(isSafe("hello {}", new int[] { 1 }));
+		assertFalse(isSafe("hello {}", new Throwable()));
+		assertFalse(isSafe("hello {}", new LogArgumentCreator() {
+			@Override
+			public String createLogArg() {
+				return "created";
+			}
+		}));
+	}
+
+	@Test
+	public void testSafeTemplateFormatsTheSame() {
+		String template = "a {} b {} c {} d {}";
+		Object[] args = new Object[] { "str", 10L, Arrays.asList(1, 2), null };
+		assertTrue(isSafe(template, args));
+		assertEquals(MessageFormatter.arrayFormat(template, args).getMessage(),
+				LogBackendUtil.formatTemplate(template, args, args.length));
+	}
+
+	private boolean isSafe(String template, Object... args) {
+		return Slf4jLoggingLogBackend.isSafeTemplate(MessageTemplate.fromMessage(template), args, args.length);
+	}
 }
@@ -0,0 +1,137 @@
+package com.j256.simplelogging.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class StackTraceRendererTest {
+
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	@Test
+	public void testSameAsPrintStackTrace() {
+		StackTraceRenderer renderer = new StackTraceRenderer(Integer.MAX_VALUE, Integer.MAX_VALUE, 16);
+		Exception cause = new IllegalStateException("cause");
+		Exception top = new RuntimeException("top", cause);
+		top.addSuppressed(new IllegalArgumentException("suppressed"));
+		assertEquals(printStackTrace(top), render(renderer, top));
+		// second time is from the cache
+		assertEquals(printStackTrace(top), render(renderer, top));
+		assertEquals(printStackTrace(cause), render(renderer, cause));
+	}
+
+	@Test
+	public void testNoCache() {
+		StackTraceRenderer renderer = new StackTraceRenderer(Integer.MAX_VALUE, Integer.MAX_VALUE, 0);
+		Throwable throwable = new Throwable("no cache", new Exception());
+		assertEquals(printStackTrace(throwable), render(renderer, throwable));
+	}
+
+	@Test
+	public void testAppendsToBuffer() {
+		StackTraceRenderer renderer = new StackTraceRenderer(Integer.MAX_VALUE, Integer.MAX_VALUE, 16);
+		Throwable throwable = new Throwable("append");
+		StringBuilder sb = new StringBuilder("prefix ");
+		renderer.append(sb, throwable);
+		assertEquals("prefix " + printStackTrace(throwable), sb.toString());
+		sb.setLength(0);
+		sb.append("again ");
+		renderer.append(sb, throwable);
+		assertEquals("again " + printStackTrace(throwable), sb.toString());
+	}
+
+	@Test
+	public void testFingerprint() {
+		StackTraceRenderer renderer = new StackTraceRenderer(Integer.MAX_VALUE, Integer.MAX_VALUE, 16);
+		Throwable[] throwables = new Throwable[2];
+		for (int i = 0; i < throwables.length; i++) {
+			// same line so the same stack trace
+			throwables[i] = new Throwable("same");
+		}
+		assertEquals(renderer.fingerprint(throwables[0]), renderer.fingerprint(throwables[1]));
+		assertNotEquals(renderer.fingerprint(throwables[0]), renderer.fingerprint(new Throwable("different")));
+		assertNotEquals(renderer.fingerprint(throwables[0]),
+				renderer.fingerprint(new Throwable("same", new Exception())));
+		Throwable withSuppressed = new Throwable("same");
+		Throwable withCause = new Throwable("same");
+		Exception enclosed = new Exception();
+		withSuppressed.addSuppressed(enclosed);
+		withCause.initCause(enclosed);
+		withSuppressed.setStackTrace(withCause.getStackTrace());
+		assertNotEquals(renderer.fingerprint(withSuppressed), renderer.fingerprint(withCause));
+	}
+
+	@Test
+	public void testDifferentMessagesNotCached() {
+		StackTraceRenderer renderer = new StackTraceRenderer(Integer.MAX_VALUE, Integer.MAX_VALUE, 1);
+		for (int i = 0; i < 3; i++) {
+			Throwable throwable = new Throwable("message " + i);
+			assertEquals(printStackTrace(throwable), render(renderer, throwable));
+		}
+	}
+
+	@Test
+	public void testMaxFrames() {
+		StackTraceRenderer renderer = new StackTraceRenderer(2, Integer.MAX_VALUE, 16);
+		Throwable throwable = new Throwable("frames");
+		int numFrames = throwable.getStackTrace().length;
+		String trace = render(renderer, throwable);
+		String[] lines = trace.split(LINE_SEPARATOR);
+		assertEquals(4, lines.length);
+		assertEquals(throwable.toString(), lines[0]);
+		assertEquals("\tat " + throwable.getStackTrace()[0], lines[1]);
+		assertEquals("\t... " + (numFrames - 2) + " frames truncated", lines[3]);
+	}
+
+	@Test
+	public void testMaxCauseDepth() {
+		StackTraceRenderer renderer = new StackTraceRenderer(Integer.MAX_VALUE, 1, 16);
+		Exception third = new Exception("third");
+		Exception second = new Exception("second", third);
+		Exception first = new Exception("first", second);
+		String trace = render(renderer, first);
+		assertTrue(trace, trace.contains("Caused by: " + second + LINE_SEPARATOR));
+		assertTrue(trace, trace.contains("Caused by: " + third + " [cause depth limit of 1 reached]" + LINE_SEPARATOR));
+		assertTrue(trace, trace.endsWith(" [cause depth limit of 1 reached]" + LINE_SEPARATOR));
+
+		// the frames past the limit are not part of the fingerprint
+		StackTraceRenderer unlimited = new StackTraceRenderer(Integer.MAX_VALUE, Integer.MAX_VALUE, 16);
+		Exception otherThird = new Exception("third");
+		Exception otherSecond = new Exception("second", otherThird);
+		Exception otherFirst = new Exception("first", otherSecond);
+		otherSecond.setStackTrace(second.getStackTrace());
+		otherFirst.setStackTrace(first.getStackTrace());
+		assertEquals(renderer.fingerprint(first), renderer.fingerprint(otherFirst));
+		assertNotEquals(unlimited.fingerprint(first), unlimited.fingerprint(otherFirst));
+	}
+
+	@Test
+	public void testCircularReference() {
+		StackTraceRenderer renderer = new StackTraceRenderer(Integer.MAX_VALUE, Integer.MAX_VALUE, 16);
+		Exception first = new Exception("first");
+		Exception second = new Exception("second", first);
+		first.initCause(second);
+		String trace = render(renderer, first);
+		assertTrue(trace, trace.endsWith("Caused by: [CIRCULAR REFERENCE: " + first + "]" + LINE_SEPARATOR));
+		assertEquals(trace, render(renderer, first));
+	}
+
+	private String render(StackTraceRenderer renderer, Throwable throwable) {
+		StringBuilder sb = new StringBuilder();
+		renderer.append(sb, throwable);
+		return sb.toString();
+	}
+
+	private String printStackTrace(Throwable throwable) {
+		StringWriter stringWriter = new StringWriter();
+		PrintWriter printWriter = new PrintWriter(stringWriter);
+		throwable.printStackTrace(printWriter);
+		printWriter.flush();
+		return stringWriter.toString();
+	}
+}
@@ -0,0 +1,97 @@
+package com.j256.simplelogging.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.junit.Test;
+
+public class TimestampFormatterTest {
+
+	@Test
+	public void testDefaultMatchesSimpleDateFormat() {
+		TimestampFormatter formatter = new TimestampFormatter(TimestampFormatter.DEFAULT_FORMAT);
+		SimpleDateFormat dateFormat = new SimpleDateFormat(TimestampFormatter.DEFAULT_FORMAT);
+		long millis = 1718000000000L;
+		for (int i = 0; i < 2500; i += 7) {
+			long time = millis + i;
+			StringBuilder sb = new StringBuilder();
+			formatter.appendTimestamp(sb, time / 1000, (int) (time % 1000) * 1000000);
+			assertEquals(dateFormat.format(new Date(time)), sb.toString());
+		}
+	}
+
+	@Test
+	public void testFractionDigits() {
+		long second = 1718000000L;
+		assertEquals(".005", format("'.'SSS", second, 5000000));
+		assertEquals(".000123", format("'.'SSSSSS", second, 123456));
+		assertEquals(".000123456", format("'.'SSSSSSSSS", second, 123456));
+		assertEquals(".9", format("'.'S", second, 987654321));
+		assertEquals(".000000000", format("'.'SSSSSSSSS", second, 0));
+	}
+
+	@Test
+	public void testSuffix() {
+		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy");
+		long second = 1718000000L;
+		String year = dateFormat.format(new Date(second * 1000));
+		assertEquals("012 S " + year, format("SSS 'S' yyyy", second, 12000000));
+		assertEquals("S 012", format("'S' SSS", second, 12000000));
+	}
+
+	@Test
+	public void testNoFraction() {
+		SimpleDateFormat dateFormat = new SimpleDateFormat("HH:mm:ss");
+		long second = 1718000000L;
+		assertEquals(dateFormat.format(new Date(second * 1000)), format("HH:mm:ss", second, 123000000));
+	}
+
+	@Test
+	public void testIso8601() {
+		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+		long millis = 1718000000123L;
+		assertEquals(dateFormat.format(new Date(millis)),
+				format(TimestampFormatter.ISO8601_FORMAT, millis / 1000, 123000000));
+	}
+
+	@Test
+	public void testEpoch() {
+		long second = 1718000000L;
+		int nanos = 123456789;
+		assertEquals("1718000000123", format(TimestampFormatter.EPOCH_MILLIS_FORMAT, second, nanos));
+		assertEquals("1718000000123456", format(TimestampFormatter.EPOCH_MICROS_FORMAT, second, nanos));
+		assertEquals("1718000000123456789", format(TimestampFormatter.EPOCH_NANOS_FORMAT, second, nanos));
+	}
+
+	@Test
+	public void testCurrentTime() {
+		TimestampFormatter formatter = new TimestampFormatter(TimestampFormatter.EPOCH_MILLIS_FORMAT);
+		long before = System.currentTimeMillis();
+		StringBuilder sb = new StringBuilder();
+		formatter.appendTimestamp(sb);
+		long after = System.currentTimeMillis();
+		long millis = Long.parseLong(sb.toString());
+		assertTrue(millis >= before && millis <= after);
+
+		formatter = new TimestampFormatter("ss.SSSSSS");
+		sb.setLength(0);
+		formatter.appendTimestamp(sb);
+		assertEquals(9, sb.length());
+		assertEquals(TimestampFormatter.EPOCH_MILLIS_FORMAT,
+				new TimestampFormatter(TimestampFormatter.EPOCH_MILLIS_FORMAT).getPattern());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPattern() {
+		new TimestampFormatter("yyyy-bb");
+	}
+
+	private String format(String pattern, long epochSecond, int nanos) {
+		StringBuilder sb = new StringBuilder();
+		new TimestampFormatter(pattern).appendTimestamp(sb, epochSecond, nanos);
+		return sb.toString();
+	}
+}